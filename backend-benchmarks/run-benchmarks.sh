@@ -0,0 +1,24 @@
+#!/usr/bin/env sh
+# Builds the backend classes jar and this module, then runs JMH and writes
+# results/<git-sha>.json so runs from different commits can be compared.
+#
+# Usage: ./run-benchmarks.sh [jmh args...]
+#   ./run-benchmarks.sh                          # everything
+#   ./run-benchmarks.sh RateLimitingBenchmark    # one class (regex)
+#   ./run-benchmarks.sh -f 3 -wi 5 -i 10         # steadier numbers for a release comparison
+
+set -eu
+
+cd "$(dirname "$0")"
+SHA=$(git rev-parse --short HEAD 2>/dev/null || echo local)
+if [ -n "$(git status --porcelain -- ../backend/src 2>/dev/null)" ]; then
+    SHA="${SHA}-dirty"
+fi
+OUT="results/${SHA}.json"
+
+mvn -q -B -f ../backend/pom.xml -Pbenchmarks install -DskipTests
+mvn -q -B package
+
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "$OUT" "$@"
+echo "JMH results written to $OUT"
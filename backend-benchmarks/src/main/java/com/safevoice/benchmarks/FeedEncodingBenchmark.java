@@ -0,0 +1,115 @@
+package com.safevoice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.safevoice.backend.api.dto.ProblemPageResponse;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.ResolvedPostResponse;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.infrastructure.config.MessageEncodingConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+// Bytes on the wire and encoding CPU of one GET /api/problems and /api/problems/resolved page per
+// negotiated format (JSON, Smile, CBOR), with and without the gzip that server.compression applies.
+// The encoded sizes are printed once per trial; the scores are the encoding time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedEncodingBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ProblemPageResponse problemPage;
+    private Page<ResolvedPostResponse> resolvedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> builder().build();
+            case "smile" -> MessageEncodingConfig.smileMapper(builder());
+            case "cbor" -> MessageEncodingConfig.cborMapper(builder());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        List<Problem> problems = FeedFixtures.problems(pageSize);
+        problemPage = ProblemPageResponse.builder()
+            .content(problems.stream().map(ProblemResponse::from).collect(Collectors.toList()))
+            .pageNumber(0)
+            .pageSize(pageSize)
+            .totalElements(10_000L)
+            .totalPages(10_000 / pageSize)
+            .isLast(false)
+            .build();
+        List<ResolvedPostResponse> posts = FeedFixtures.resolutions(problems).stream()
+            .map(ResolvedPostResponse::from)
+            .collect(Collectors.toList());
+        resolvedPage = new PageImpl<>(posts, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")),
+            10_000L);
+
+        System.out.printf("%n%s/%s page of %d: problems %d bytes, resolved posts %d bytes%n",
+            format, compression, pageSize, encodeProblemPage().length, encodeResolvedPage().length);
+    }
+
+    // Same date handling as the application's Boot-configured mapper
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] encodeProblemPage() throws JsonProcessingException {
+        return compress(objectMapper.writeValueAsBytes(problemPage));
+    }
+
+    @Benchmark
+    public byte[] encodeResolvedPage() throws JsonProcessingException {
+        return compress(objectMapper.writeValueAsBytes(resolvedPage));
+    }
+
+    private byte[] compress(byte[] body) {
+        if (!"gzip".equals(compression)) {
+            return body;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package com.safevoice.benchmarks;
+
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Resolution;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// One feed page of problems, each with one verified resolution, shaped like production rows
+final class FeedFixtures {
+
+    private FeedFixtures() {
+    }
+
+    static List<Problem> problems(int pageSize) {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 9, 30);
+        List<Problem> problems = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Problem problem = Problem.builder()
+                .id(UUID.randomUUID())
+                .imageUrl("https://example.supabase.co/storage/v1/object/public/safevoice-images/problems/"
+                    + UUID.randomUUID() + ".jpg")
+                .latitude(12.9716 + i * 0.001)
+                .longitude(77.5946 - i * 0.001)
+                .description("Overflowing garbage bin next to the market entrance, report #" + i)
+                .status(i % 3 == 0 ? Problem.ProblemStatus.RESOLVED : Problem.ProblemStatus.OPEN)
+                .aiModerationScore(0.05)
+                .moderationPassed(true)
+                .createdAt(now.minusHours(i))
+                .updatedAt(now.minusMinutes(i))
+                .resolutions(new ArrayList<>())
+                .build();
+
+            Resolution resolution = Resolution.builder()
+                .id(UUID.randomUUID())
+                .problem(problem)
+                .officialId(UUID.randomUUID())
+                .resolvedImageUrl("https://example.supabase.co/storage/v1/object/public/safevoice-images/resolutions/"
+                    + UUID.randomUUID() + ".jpg")
+                .officialDescription("Bin emptied and area cleaned by ward crew")
+                .officialLatitude(problem.getLatitude())
+                .officialLongitude(problem.getLongitude())
+                .aiSimilarityScore(0.41)
+                .deepfakeDetected(false)
+                .verificationStatus(Resolution.VerificationStatus.VERIFIED)
+                .verificationReason("Verified: location and description checks passed")
+                .createdAt(now.minusMinutes(i))
+                .build();
+            problem.getResolutions().add(resolution);
+
+            problems.add(problem);
+        }
+        return problems;
+    }
+
+    static List<Resolution> resolutions(List<Problem> problems) {
+        return problems.stream().flatMap(problem -> problem.getResolutions().stream()).toList();
+    }
+}
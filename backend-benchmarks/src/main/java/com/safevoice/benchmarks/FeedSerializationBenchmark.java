@@ -0,0 +1,86 @@
+package com.safevoice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.safevoice.backend.api.dto.ProblemPageResponse;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.ResolvedPostResponse;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Resolution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Entity-to-DTO mapping and JSON encoding of one GET /api/problems and /api/problems/resolved page
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private List<Problem> problems;
+    private List<Resolution> resolutions;
+    private ProblemPageResponse mappedPage;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        // Same date handling as the application's Boot-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        problems = FeedFixtures.problems(pageSize);
+        resolutions = FeedFixtures.resolutions(problems);
+        mappedPage = mapProblemPage();
+    }
+
+    @Benchmark
+    public ProblemPageResponse mapProblemPage() {
+        return ProblemPageResponse.builder()
+            .content(problems.stream().map(ProblemResponse::from).collect(Collectors.toList()))
+            .pageNumber(0)
+            .pageSize(pageSize)
+            .totalElements(10_000L)
+            .totalPages(10_000 / pageSize)
+            .isLast(false)
+            .build();
+    }
+
+    @Benchmark
+    public byte[] serializeProblemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mappedPage);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeProblemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapProblemPage());
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeResolvedPosts() throws JsonProcessingException {
+        List<ResolvedPostResponse> posts = resolutions.stream()
+            .map(ResolvedPostResponse::from)
+            .collect(Collectors.toList());
+        return objectMapper.writeValueAsBytes(posts);
+    }
+}
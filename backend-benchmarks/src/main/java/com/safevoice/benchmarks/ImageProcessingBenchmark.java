@@ -0,0 +1,68 @@
+package com.safevoice.benchmarks;
+
+import com.safevoice.backend.infrastructure.image.ImageProcessingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageProcessingBenchmark {
+
+    // Typical phone uploads, from a thumbnail-sized crop up to a 12 MP photo
+    @Param({"640x480", "1920x1080", "4000x3000"})
+    private String resolution;
+
+    private final ImageProcessingService imageProcessingService = new ImageProcessingService();
+    private MockMultipartFile jpeg;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] dimensions = resolution.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+
+        // Noise compresses poorly, so the encoded size is close to a real photo's
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", encoded);
+        jpeg = new MockMultipartFile("imageFile", "bench.jpg", "image/jpeg", encoded.toByteArray());
+    }
+
+    @Benchmark
+    public byte[] removeExifMetadata() {
+        return imageProcessingService.removeExifMetadata(jpeg);
+    }
+
+    @Benchmark
+    public void validateImage() {
+        imageProcessingService.validateImage(jpeg);
+    }
+}
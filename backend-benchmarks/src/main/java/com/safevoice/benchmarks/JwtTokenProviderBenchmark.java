@@ -0,0 +1,78 @@
+package com.safevoice.benchmarks;
+
+import com.safevoice.backend.domain.entity.Official;
+import com.safevoice.backend.infrastructure.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Every authenticated request validates the token and then parses it again for email and role
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    // HS512 needs at least 64 bytes of key material
+    private static final String SECRET =
+        "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+
+        Official official = Official.builder()
+            .id(UUID.randomUUID())
+            .email("official@example.com")
+            .fullName("Benchmark Official")
+            .role(Official.OfficialRole.OFFICIAL)
+            .build();
+        token = tokenProvider.generateToken(official);
+
+        char last = token.charAt(token.length() - 1);
+        tamperedToken = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return tokenProvider.validateToken(tamperedToken);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+        return tokenProvider.getEmailFromToken(token);
+    }
+
+    // What JwtAuthenticationFilter does per request today
+    @Benchmark
+    public String validateThenParseEmailAndRole() {
+        if (!tokenProvider.validateToken(token)) {
+            return null;
+        }
+        return tokenProvider.getEmailFromToken(token) + tokenProvider.getRoleFromToken(token);
+    }
+}
@@ -0,0 +1,66 @@
+package com.safevoice.benchmarks;
+
+import com.safevoice.backend.infrastructure.security.RateLimitingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// isAllowed runs on every request; eight threads share one service to expose bucket and map contention
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimitingBenchmark {
+
+    // 1 = every thread hits the same bucket (one busy client or a shared proxy address)
+    @Param({"1", "1024"})
+    private int distinctClients;
+
+    // The production limit exhausts quickly and measures the rejection path
+    @Param({"30", "1000000000"})
+    private int requestsPerMinute;
+
+    private RateLimitingService rateLimitingService;
+    private String[] clientAddresses;
+
+    @Setup
+    public void setUp() {
+        rateLimitingService = new RateLimitingService();
+        ReflectionTestUtils.setField(rateLimitingService, "requestsPerMinute", requestsPerMinute);
+
+        clientAddresses = new String[distinctClients];
+        for (int i = 0; i < distinctClients; i++) {
+            clientAddresses[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ClientCursor {
+        private int next;
+
+        int advance(int bound) {
+            next = next + 1 == bound ? 0 : next + 1;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public boolean isAllowed(ClientCursor cursor) {
+        return rateLimitingService.isAllowed(clientAddresses[cursor.advance(distinctClients)]);
+    }
+}
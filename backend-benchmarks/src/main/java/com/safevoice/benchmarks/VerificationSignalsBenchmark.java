@@ -0,0 +1,93 @@
+package com.safevoice.benchmarks;
+
+import com.safevoice.backend.application.service.DescriptionMatcher;
+import com.safevoice.backend.application.service.GeoDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Location and description checks run for every resolution upload
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificationSignalsBenchmark {
+
+    private static final String SHORT_PROBLEM = "Large pothole near the bus stop on Main Street";
+    private static final String SHORT_RESOLUTION = "Pothole on Main Street filled and resurfaced near bus stop";
+
+    private static final String LONG_PROBLEM = SHORT_PROBLEM
+        + ". Water collects after rain and two-wheelers keep swerving into oncoming traffic to avoid it."
+        + " The edge of the road has crumbled and the drainage grate beside the stop is blocked with debris,"
+        + " so the whole stretch floods every evening and pedestrians walk on the carriageway.";
+    private static final String LONG_RESOLUTION = SHORT_RESOLUTION
+        + ". Crew cleared the drainage grate, removed debris, rebuilt the crumbled road edge and"
+        + " resurfaced the carriageway so water no longer collects beside the bus stop.";
+
+    @Param({"short", "long"})
+    private String descriptionLength;
+
+    private String problemDescription;
+    private String resolutionDescription;
+    private int[] problemTokenIds;
+    private int[] resolutionTokenIds;
+
+    private double problemLatitude;
+    private double problemLongitude;
+    private double officialLatitude;
+    private double officialLongitude;
+
+    @Setup
+    public void setUp() {
+        boolean longText = "long".equals(descriptionLength);
+        problemDescription = longText ? LONG_PROBLEM : SHORT_PROBLEM;
+        resolutionDescription = longText ? LONG_RESOLUTION : SHORT_RESOLUTION;
+        problemTokenIds = DescriptionMatcher.tokenIds(problemDescription);
+        resolutionTokenIds = DescriptionMatcher.tokenIds(resolutionDescription);
+
+        // Non-final fields keep the JIT from constant-folding the trigonometry
+        problemLatitude = 12.9716;
+        problemLongitude = 77.5946;
+        officialLatitude = 12.9721;
+        officialLongitude = 77.5933;
+    }
+
+    @Benchmark
+    public double haversineKm() {
+        return GeoDistance.haversineKm(problemLatitude, problemLongitude, officialLatitude, officialLongitude);
+    }
+
+    @Benchmark
+    public int[] tokenIds() {
+        return DescriptionMatcher.tokenIds(problemDescription);
+    }
+
+    @Benchmark
+    public double jaccard() {
+        return DescriptionMatcher.jaccard(problemTokenIds, resolutionTokenIds);
+    }
+
+    // Upload path: problem ids were stored at creation, only the resolution text is tokenized
+    @Benchmark
+    public boolean isDescriptionMatched() {
+        return DescriptionMatcher.isMatched(problemTokenIds, resolutionDescription, 0.2);
+    }
+
+    // Fallback for problems created before token ids were stored
+    @Benchmark
+    public boolean isDescriptionMatchedWithoutStoredIds() {
+        return DescriptionMatcher.isMatched(DescriptionMatcher.tokenIds(problemDescription), resolutionDescription, 0.2);
+    }
+}
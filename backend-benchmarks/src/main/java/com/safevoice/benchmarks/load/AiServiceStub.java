@@ -0,0 +1,50 @@
+package com.safevoice.benchmarks.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stands in for the Python service's {@code /api/ai/moderate} and {@code /api/ai/verify}.
+ * {@code rejectRate} is the share of moderation calls that come back over the unsafe threshold.
+ */
+public final class AiServiceStub extends StubServer {
+
+    private static final byte[] SAFE = json(
+        "{\"nsfw_score\":0.02,\"violence_score\":0.01,\"ocr_flag\":false,\"final_confidence\":0.03}");
+    private static final byte[] UNSAFE = json(
+        "{\"nsfw_score\":0.91,\"violence_score\":0.12,\"ocr_flag\":false,\"final_confidence\":0.88}");
+    private static final byte[] VERIFIED = json(
+        "{\"similarity_score\":0.75,\"deepfake_detected\":false,"
+            + "\"verification_status\":\"VERIFIED\",\"confidence_score\":0.9}");
+
+    public AiServiceStub(int port, FaultProfile moderation, FaultProfile verification, double rejectRate)
+            throws IOException {
+        super("ai-stub", port);
+        route("/api/ai/moderate", exchange -> {
+            drain(exchange);
+            if (applyFaults(exchange, moderation)) {
+                boolean reject = ThreadLocalRandom.current().nextDouble() < rejectRate;
+                respond(exchange, 200, "application/json", reject ? UNSAFE : SAFE);
+            }
+        });
+        route("/api/ai/verify", exchange -> {
+            drain(exchange);
+            if (applyFaults(exchange, verification)) {
+                respond(exchange, 200, "application/json", VERIFIED);
+            }
+        });
+    }
+
+    public String moderationUrl() {
+        return baseUrl() + "/api/ai/moderate";
+    }
+
+    public String verificationUrl() {
+        return baseUrl() + "/api/ai/verify";
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.safevoice.benchmarks.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency and failure distribution for a stub endpoint, parsed from
+ * {@code median=120,p99=900,error=0.01,timeout=0.001,hang=35000} (milliseconds and ratios).
+ * Latency is log-normal with the given median and 99th percentile, which matches the long
+ * right tail of model inference and object-storage calls better than a uniform jitter.
+ */
+public final class FaultProfile {
+
+    private static final double Z_99 = 2.3263;
+
+    private final double medianMs;
+    private final double sigma;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final long hangMs;
+
+    private FaultProfile(double medianMs, double p99Ms, double errorRate, double timeoutRate, long hangMs) {
+        this.medianMs = medianMs;
+        this.sigma = p99Ms > medianMs && medianMs > 0 ? Math.log(p99Ms / medianMs) / Z_99 : 0;
+        this.errorRate = errorRate;
+        this.timeoutRate = timeoutRate;
+        this.hangMs = hangMs;
+    }
+
+    public static FaultProfile parse(String spec) {
+        double median = 0;
+        double p99 = 0;
+        double error = 0;
+        double timeout = 0;
+        long hang = 35_000;
+        if (spec != null && !spec.isBlank()) {
+            for (String pair : spec.split(",")) {
+                String[] kv = pair.trim().split("=", 2);
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("Expected key=value in fault profile: " + pair);
+                }
+                switch (kv[0].trim()) {
+                    case "median" -> median = Double.parseDouble(kv[1]);
+                    case "p99" -> p99 = Double.parseDouble(kv[1]);
+                    case "error" -> error = Double.parseDouble(kv[1]);
+                    case "timeout" -> timeout = Double.parseDouble(kv[1]);
+                    case "hang" -> hang = Long.parseLong(kv[1]);
+                    default -> throw new IllegalArgumentException("Unknown fault profile key: " + kv[0]);
+                }
+            }
+        }
+        return new FaultProfile(median, Math.max(p99, median), error, timeout, hang);
+    }
+
+    public Outcome next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        if (roll < timeoutRate) {
+            return new Outcome(hangMs, false);
+        }
+        long delay = Math.round(medianMs * Math.exp(sigma * random.nextGaussian()));
+        return new Outcome(delay, roll < timeoutRate + errorRate);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("median=%.0fms p99=%.0fms error=%.3f timeout=%.3f",
+            medianMs, medianMs * Math.exp(sigma * Z_99), errorRate, timeoutRate);
+    }
+
+    public static final class Outcome {
+        private final long delayMs;
+        private final boolean failed;
+
+        private Outcome(long delayMs, boolean failed) {
+            this.delayMs = delayMs;
+            this.failed = failed;
+        }
+
+        public long delayMs() {
+            return delayMs;
+        }
+
+        public boolean failed() {
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.safevoice.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microsecond resolution, up to two minutes) and status counts.
+ * Latency is measured from request start to full response, including failed responses, so
+ * overload shows up in the percentiles instead of disappearing into an error count.
+ */
+final class LatencyReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    // status 0 = transport failure (connection refused, client timeout)
+    void record(Operation operation, int status, long elapsedNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS);
+        histograms.get(operation).recordValue(micros);
+        statuses.get(operation).computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void print(PrintStream out, long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        out.printf("%-18s %9s %9s %9s %9s %9s %9s  %s%n",
+            "operation", "count", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "statuses");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            out.printf("%-18s %9d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                operation, count, count / seconds,
+                millis(histogram, 50), millis(histogram, 95), millis(histogram, 99),
+                histogram.getMaxValue() / 1000.0,
+                new TreeMap<>(statusCounts(operation)));
+        }
+        out.printf("%-18s %9d %9.1f%n", "TOTAL", total, total / seconds);
+    }
+
+    void writeJson(Path file, Map<String, Object> runInfo, long measuredNanos) throws IOException {
+        double seconds = measuredNanos / 1e9;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", count);
+            row.put("throughputPerSecond", count / seconds);
+            row.put("p50Ms", millis(histogram, 50));
+            row.put("p95Ms", millis(histogram, 95));
+            row.put("p99Ms", millis(histogram, 99));
+            row.put("maxMs", histogram.getMaxValue() / 1000.0);
+            row.put("statuses", new TreeMap<>(statusCounts(operation)));
+            operations.put(operation.name(), row);
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>(runInfo);
+        document.put("measuredSeconds", seconds);
+        document.put("operations", operations);
+
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    private Map<Integer, Long> statusCounts(Operation operation) {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        statuses.get(operation).forEach((status, adder) -> counts.put(status, adder.sum()));
+        return counts;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
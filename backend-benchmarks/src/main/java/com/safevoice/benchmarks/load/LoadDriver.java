@@ -0,0 +1,282 @@
+package com.safevoice.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop driver: each virtual user sends one request, waits for the response and repeats.
+ * Requests carry a random X-Forwarded-For from a pool of client addresses so the per-IP rate
+ * limiter sees many clients, as it would behind the load balancer.
+ */
+final class LoadDriver {
+
+    private static final String[] DESCRIPTIONS = {
+        "Large pothole near the bus stop on the main road",
+        "Overflowing garbage bin next to the market entrance",
+        "Streetlight not working at the junction for a week",
+        "Broken footpath slab outside the school gate",
+        "Water pipeline leaking onto the road near the park",
+    };
+
+    // Roughly the Bengaluru city limits
+    private static final double MIN_LAT = 12.85;
+    private static final double MAX_LAT = 13.10;
+    private static final double MIN_LON = 77.45;
+    private static final double MAX_LON = 77.75;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final byte[] image;
+    private final int clientAddresses;
+    private final Duration requestTimeout;
+    private final List<SeededProblem> problems = Collections.synchronizedList(new ArrayList<>());
+    private volatile String officialToken;
+
+    LoadDriver(String baseUrl, byte[] image, int clientAddresses, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.image = image;
+        this.clientAddresses = clientAddresses;
+        this.requestTimeout = requestTimeout;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    void register(String email, String password) throws IOException, InterruptedException {
+        String registration = objectMapper.createObjectNode()
+            .put("email", email)
+            .put("password", password)
+            .put("fullName", "Load Test Official")
+            .put("officialIdNumber", "LOAD-" + email.hashCode())
+            .put("department", "Public Works")
+            .toString();
+        // 400 = already registered from an earlier run against the same database
+        send(jsonPost("/api/auth/register", registration));
+    }
+
+    void login(String email, String password) throws IOException, InterruptedException {
+        String body = objectMapper.createObjectNode().put("email", email).put("password", password).toString();
+        HttpResponse<String> response = send(jsonPost("/api/auth/login", body));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Official login failed: " + response.statusCode() + " " + response.body());
+        }
+        officialToken = objectMapper.readTree(response.body()).path("accessToken").asText();
+    }
+
+    boolean hasOfficial() {
+        return officialToken != null;
+    }
+
+    void seed(int count) throws IOException, InterruptedException {
+        int failures = 0;
+        for (int i = 0; i < count; i++) {
+            if (execute(Operation.CREATE_PROBLEM) != 201) {
+                failures++;
+            }
+        }
+        if (failures == count && count > 0) {
+            throw new IllegalStateException("Could not create any seed problems; check the app log and stub settings");
+        }
+    }
+
+    LatencyReport run(LoadMix mix, int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        LatencyReport discarded = new LatencyReport();
+        LatencyReport report = new LatencyReport();
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch finished = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            Thread user = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        Operation operation = mix.next();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = execute(operation);
+                        } catch (IOException ex) {
+                            status = 0;
+                        }
+                        (measuring.get() ? report : discarded).record(operation, status, System.nanoTime() - start);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            }, "load-user-" + i);
+            user.setDaemon(true);
+            user.start();
+        }
+
+        Thread.sleep(warmup.toMillis());
+        measuring.set(true);
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        finished.await();
+        return report;
+    }
+
+    int problemCount() {
+        return problems.size();
+    }
+
+    private int execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE_PROBLEM -> createProblem();
+            case CREATE_PROBLEM_DIRECT -> createProblemDirect();
+            case LIST_FEED -> send(get("/api/problems?page=" + randomPage() + "&size=10")).statusCode();
+            case GET_PROBLEM -> send(get("/api/problems/" + randomProblem().id)).statusCode();
+            case LIST_RESOLVED -> send(get("/api/problems/resolved?page=0&size=10")).statusCode();
+            case UPLOAD_RESOLUTION -> uploadResolution();
+        };
+    }
+
+    private int createProblem() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+        double latitude = random.nextDouble(MIN_LAT, MAX_LAT);
+        double longitude = random.nextDouble(MIN_LON, MAX_LON);
+
+        MultipartBody body = new MultipartBody()
+            .field("description", description)
+            .field("latitude", Double.toString(latitude))
+            .field("longitude", Double.toString(longitude))
+            .file("imageFile", "load.jpg", "image/jpeg", image);
+        HttpResponse<String> response = send(multipartPost("/api/problems", body, null));
+
+        if (response.statusCode() == 201) {
+            JsonNode created = objectMapper.readTree(response.body());
+            problems.add(new SeededProblem(created.path("id").asText(), latitude, longitude, description));
+        }
+        return response.statusCode();
+    }
+
+    // Signed upload straight to the storage stub, then finalize; the backend never receives the image
+    private int createProblemDirect() throws IOException, InterruptedException {
+        String session = objectMapper.createObjectNode()
+            .put("length", image.length)
+            .put("contentType", "image/jpeg")
+            .put("fileName", "load.jpg")
+            .toString();
+        HttpResponse<String> created = send(jsonPost("/api/problems/direct-uploads", session));
+        if (created.statusCode() != 201) {
+            return created.statusCode();
+        }
+        JsonNode upload = objectMapper.readTree(created.body());
+
+        HttpRequest put = HttpRequest.newBuilder(URI.create(upload.path("uploadUrl").asText()))
+            .timeout(requestTimeout)
+            .header("Content-Type", "image/jpeg")
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(image))
+            .build();
+        int uploaded = send(put).statusCode();
+        if (uploaded != 200) {
+            return uploaded;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+        double latitude = random.nextDouble(MIN_LAT, MAX_LAT);
+        double longitude = random.nextDouble(MIN_LON, MAX_LON);
+        String details = objectMapper.createObjectNode()
+            .put("description", description)
+            .put("latitude", latitude)
+            .put("longitude", longitude)
+            .toString();
+        HttpResponse<String> response = send(jsonPost(
+            "/api/problems/direct-uploads/" + upload.path("uploadId").asText() + "/finalize", details));
+
+        if (response.statusCode() == 201) {
+            JsonNode problem = objectMapper.readTree(response.body());
+            problems.add(new SeededProblem(problem.path("id").asText(), latitude, longitude, description));
+        }
+        return response.statusCode();
+    }
+
+    private int uploadResolution() throws IOException, InterruptedException {
+        SeededProblem problem = randomProblem();
+        // Same place and wording as the report, so the resolution passes location and description checks
+        MultipartBody body = new MultipartBody()
+            .field("problemId", problem.id)
+            .field("description", problem.description + " has been fixed by the ward crew")
+            .field("latitude", Double.toString(problem.latitude + 0.0005))
+            .field("longitude", Double.toString(problem.longitude - 0.0005))
+            .file("resolvedImageFile", "resolved.jpg", "image/jpeg", image);
+        return send(multipartPost("/api/official/resolutions", body, officialToken)).statusCode();
+    }
+
+    private SeededProblem randomProblem() {
+        synchronized (problems) {
+            return problems.get(ThreadLocalRandom.current().nextInt(problems.size()));
+        }
+    }
+
+    private int randomPage() {
+        int pages = Math.max(1, problems.size() / 10);
+        // Most readers stay on the first pages of the feed
+        return Math.min(pages - 1, (int) Math.abs(ThreadLocalRandom.current().nextGaussian() * 2));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        int address = ThreadLocalRandom.current().nextInt(clientAddresses);
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(requestTimeout)
+            .header("X-Forwarded-For", "10." + (address >> 16 & 0xFF) + "." + (address >> 8 & 0xFF) + "." + (address & 0xFF));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest jsonPost(String path, String json) {
+        return request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private HttpRequest multipartPost(String path, MultipartBody body, String bearerToken) {
+        HttpRequest.Builder builder = request(path)
+            .header("Content-Type", body.contentType())
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body.build()));
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static final class SeededProblem {
+        private final String id;
+        private final double latitude;
+        private final double longitude;
+        private final String description;
+
+        private SeededProblem(String id, double latitude, double longitude, String description) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.safevoice.benchmarks.load;
+
+import com.safevoice.backend.SafeVoiceBackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * End-to-end load test of the upload and feed paths without the Python AI service or Supabase.
+ *
+ * <p>By default everything runs in this JVM: an embedded Postgres, stub AI and storage servers
+ * and the backend itself on a random port. With {@code --target=URL} only the driver runs, against
+ * an app started separately and pointed at stubs from {@code --stubs-only}.
+ *
+ * <p>See README.md for the options.
+ */
+public final class LoadHarness {
+
+    private static final String OFFICIAL_EMAIL = "load-official@example.com";
+    private static final String OFFICIAL_PASSWORD = "load-test-password";
+    private static final String JWT_SECRET =
+        "load-test-secret-load-test-secret-load-test-secret-load-test-secret-0123456789";
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        Map<String, String> appOverrides = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String[] kv = arg.substring(2).split("=", 2);
+            String value = kv.length > 1 ? kv[1] : "true";
+            if (kv[0].startsWith("app.")) {
+                appOverrides.put(kv[0].substring("app.".length()), value);
+            } else {
+                options.put(kv[0], value);
+            }
+        }
+
+        byte[] image = options.containsKey("image")
+            ? Files.readAllBytes(Path.of(options.get("image")))
+            : sampleJpeg(Integer.parseInt(options.getOrDefault("image-width", "1280")));
+
+        FaultProfile moderation = FaultProfile.parse(options.getOrDefault("ai-moderate", "median=150,p99=900"));
+        FaultProfile verification = FaultProfile.parse(options.getOrDefault("ai-verify", "median=400,p99=2500"));
+        FaultProfile upload = FaultProfile.parse(options.getOrDefault("storage-upload", "median=80,p99=600"));
+        FaultProfile download = FaultProfile.parse(options.getOrDefault("storage-download", "median=40,p99=300"));
+        double rejectRate = Double.parseDouble(options.getOrDefault("moderation-reject-rate", "0.02"));
+
+        boolean stubsOnly = options.containsKey("stubs-only");
+        String target = options.get("target");
+        int aiPort = Integer.parseInt(options.getOrDefault("ai-port", stubsOnly ? "8001" : "0"));
+        int storagePort = Integer.parseInt(options.getOrDefault("storage-port", stubsOnly ? "54321" : "0"));
+
+        try (AiServiceStub ai = (AiServiceStub) new AiServiceStub(aiPort, moderation, verification, rejectRate).start();
+             StorageStub storage = (StorageStub) new StorageStub(storagePort, upload, download, image).start()) {
+
+            System.out.printf("AI stub      %s  moderate[%s] verify[%s]%n", ai.baseUrl(), moderation, verification);
+            System.out.printf("Storage stub %s  upload[%s] download[%s]%n", storage.baseUrl(), upload, download);
+
+            if (stubsOnly) {
+                System.out.printf("Point the backend at the stubs:%n"
+                        + "  AI_MODERATION_URL=%s AI_VERIFICATION_URL=%s SUPABASE_URL=%s SUPABASE_SERVICE_KEY=stub%n"
+                        + "Ctrl-C to stop.%n",
+                    ai.moderationUrl(), ai.verificationUrl(), storage.baseUrl());
+                new CountDownLatch(1).await();
+                return;
+            }
+
+            if (target != null) {
+                drive(target, image, options, null);
+                return;
+            }
+
+            try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+                Map<String, String> appProperties = new LinkedHashMap<>();
+                appProperties.put("server.port", "0");
+                appProperties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+                appProperties.put("spring.datasource.username", "postgres");
+                appProperties.put("spring.datasource.password", "postgres");
+                appProperties.put("supabase.url", storage.baseUrl());
+                appProperties.put("supabase.service-key", "stub");
+                appProperties.put("jwt.secret", JWT_SECRET);
+                appProperties.put("ai.service.moderation-url", ai.moderationUrl());
+                appProperties.put("ai.service.verification-url", ai.verificationUrl());
+                // Clients are spread over many addresses, but the limiter itself is not what is measured
+                appProperties.put("rate-limiting.requests-per-minute", "1000000");
+                appProperties.put("logging.level.root", "WARN");
+                appProperties.put("logging.level.com.safevoice", "WARN");
+                appProperties.put("logging.file.name", "target/load-app.log");
+                appProperties.put("spring.jpa.properties.hibernate.format_sql", "false");
+                // Repeated command-line keys are joined rather than replaced, so overrides go into the map
+                appProperties.putAll(appOverrides);
+
+                String[] appArgs = appProperties.entrySet().stream()
+                    .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                    .toArray(String[]::new);
+
+                try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SafeVoiceBackendApplication.class)
+                        .run(appArgs)) {
+                    String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+                    System.out.printf("Backend      %s  (log: target/load-app.log)%n", baseUrl);
+                    drive(baseUrl, image, options, postgres.getPostgresDatabase());
+                }
+            }
+        }
+    }
+
+    private static void drive(String baseUrl, byte[] image, Map<String, String> options, DataSource database)
+            throws Exception {
+        LoadMix mix = LoadMix.parse(options.getOrDefault("mix", "mixed"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "15s"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+        int seedProblems = Integer.parseInt(options.getOrDefault("seed-problems", "100"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "5000"));
+        String label = options.getOrDefault("label", mix.name().toLowerCase() + "-c" + concurrency);
+
+        LoadDriver driver = new LoadDriver(baseUrl, image, clients, parseDuration(options.getOrDefault("timeout", "60s")));
+
+        if (mix.includes(Operation.UPLOAD_RESOLUTION)) {
+            if (database != null) {
+                driver.register(OFFICIAL_EMAIL, OFFICIAL_PASSWORD);
+                verifyOfficial(database, OFFICIAL_EMAIL);
+                driver.login(OFFICIAL_EMAIL, OFFICIAL_PASSWORD);
+            } else if (options.containsKey("official-email")) {
+                driver.login(options.get("official-email"), options.get("official-password"));
+            } else {
+                throw new IllegalArgumentException(
+                    "Mix " + mix + " uploads resolutions; pass --official-email and --official-password of a verified official");
+            }
+        }
+
+        System.out.printf("Seeding %d problems...%n", seedProblems);
+        driver.seed(Math.max(seedProblems, 1));
+
+        System.out.printf("Running %s with %d users: %ss warm-up, %ss measured%n",
+            mix, concurrency, warmup.toSeconds(), duration.toSeconds());
+        LatencyReport report = driver.run(mix, concurrency, warmup, duration);
+
+        System.out.println();
+        report.print(System.out, duration.toNanos());
+
+        Map<String, Object> runInfo = new LinkedHashMap<>();
+        runInfo.put("label", label);
+        runInfo.put("startedAt", Instant.now().minus(duration).minus(warmup).toString());
+        runInfo.put("target", baseUrl);
+        runInfo.put("mix", mix.name());
+        runInfo.put("concurrency", concurrency);
+        runInfo.put("warmupSeconds", warmup.toSeconds());
+        runInfo.put("problemsAtEnd", driver.problemCount());
+        runInfo.put("imageBytes", image.length);
+        Path output = Path.of("target", "load-results", label + ".json");
+        report.writeJson(output, runInfo, duration.toNanos());
+        System.out.printf("%nResults written to %s%n", output);
+    }
+
+    // Registration goes through the API; the admin approval step is done directly in the database
+    private static void verifyOfficial(DataSource database, String email) throws Exception {
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "UPDATE officials SET is_verified = true WHERE email = ?")) {
+            statement.setString(1, email);
+            if (statement.executeUpdate() != 1) {
+                throw new IllegalStateException("Official " + email + " was not registered");
+            }
+        }
+    }
+
+    // Noise keeps the JPEG close to the size of a real phone photo at the same resolution
+    private static byte[] sampleJpeg(int width) throws IOException {
+        int height = width * 3 / 4;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        return switch (trimmed.charAt(trimmed.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Use ms, s or m for durations: " + value);
+        };
+    }
+}
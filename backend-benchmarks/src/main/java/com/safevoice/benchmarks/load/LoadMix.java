@@ -0,0 +1,60 @@
+package com.safevoice.benchmarks.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted operation mixes. {@code mixed} approximates production traffic: mostly anonymous feed
+ * reads, a steady trickle of reports and occasional official resolutions.
+ */
+public enum LoadMix {
+    CREATE(Map.of(Operation.CREATE_PROBLEM, 100)),
+    CREATE_DIRECT(Map.of(Operation.CREATE_PROBLEM_DIRECT, 100)),
+    BROWSE(Map.of(Operation.LIST_FEED, 60, Operation.GET_PROBLEM, 30, Operation.LIST_RESOLVED, 10)),
+    RESOLVE(Map.of(Operation.UPLOAD_RESOLUTION, 100)),
+    MIXED(Map.of(
+        Operation.CREATE_PROBLEM, 10,
+        Operation.LIST_FEED, 50,
+        Operation.GET_PROBLEM, 25,
+        Operation.LIST_RESOLVED, 10,
+        Operation.UPLOAD_RESOLUTION, 5));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadMix(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        operations = ordered.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static LoadMix parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public Operation next() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public boolean includes(Operation operation) {
+        for (Operation candidate : operations) {
+            if (candidate == operation) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.safevoice.benchmarks.load;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+// Minimal multipart/form-data encoder for java.net.http, which has no built-in one
+final class MultipartBody {
+
+    private final String boundary = "safevoice-load-" + UUID.randomUUID();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    MultipartBody field(String name, String value) {
+        write("--" + boundary + "\r\n");
+        write("Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n");
+        write(value + "\r\n");
+        return this;
+    }
+
+    MultipartBody file(String name, String fileName, String contentType, byte[] content) {
+        write("--" + boundary + "\r\n");
+        write("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n");
+        write("Content-Type: " + contentType + "\r\n\r\n");
+        out.writeBytes(content);
+        write("\r\n");
+        return this;
+    }
+
+    byte[] build() {
+        write("--" + boundary + "--\r\n");
+        return out.toByteArray();
+    }
+
+    String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    private void write(String value) {
+        out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
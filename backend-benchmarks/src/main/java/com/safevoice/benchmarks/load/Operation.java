@@ -0,0 +1,10 @@
+package com.safevoice.benchmarks.load;
+
+public enum Operation {
+    CREATE_PROBLEM,
+    CREATE_PROBLEM_DIRECT,
+    LIST_FEED,
+    GET_PROBLEM,
+    LIST_RESOLVED,
+    UPLOAD_RESOLUTION
+}
@@ -0,0 +1,141 @@
+package com.safevoice.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stands in for the Supabase object API used by the backend:
+ * <ul>
+ *   <li>{@code POST /storage/v1/object/{bucket}/{path}} and {@code GET .../object/public/{bucket}/{path}}</li>
+ *   <li>{@code POST .../object/upload/sign/{bucket}/{path}}, then {@code PUT} to the returned URL</li>
+ *   <li>{@code GET .../object/authenticated/{bucket}/{path}}, {@code POST .../object/move},
+ *       {@code POST .../object/list/{bucket}} and {@code DELETE .../object/{bucket}/{path}}</li>
+ * </ul>
+ * Upload bodies are discarded and every known key is served the same sample image, so long runs
+ * don't grow the heap.
+ */
+public final class StorageStub extends StubServer {
+
+    private static final String OBJECT_PREFIX = "/storage/v1/object/";
+    private static final String PUBLIC_PREFIX = OBJECT_PREFIX + "public/";
+    private static final String AUTHENTICATED_PREFIX = OBJECT_PREFIX + "authenticated/";
+    private static final String SIGN_PREFIX = OBJECT_PREFIX + "upload/sign/";
+    private static final String LIST_PREFIX = OBJECT_PREFIX + "list/";
+    private static final String MOVE_PATH = OBJECT_PREFIX + "move";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> uploadTokens = new ConcurrentHashMap<>();
+
+    public StorageStub(int port, FaultProfile upload, FaultProfile download, byte[] sampleImage) throws IOException {
+        super("storage-stub", port);
+        route(OBJECT_PREFIX, exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            if ("GET".equals(method) && (path.startsWith(PUBLIC_PREFIX) || path.startsWith(AUTHENTICATED_PREFIX))) {
+                if (!applyFaults(exchange, download)) {
+                    return;
+                }
+                String prefix = path.startsWith(PUBLIC_PREFIX) ? PUBLIC_PREFIX : AUTHENTICATED_PREFIX;
+                if (keys.contains(path.substring(prefix.length()))) {
+                    respond(exchange, 200, "image/jpeg", sampleImage);
+                } else {
+                    notFound(exchange);
+                }
+            } else if ("POST".equals(method) && path.startsWith(SIGN_PREFIX)) {
+                drain(exchange);
+                String key = path.substring(SIGN_PREFIX.length());
+                String token = UUID.randomUUID().toString();
+                uploadTokens.put(token, key);
+                respond(exchange, 200, "application/json",
+                    json("{\"url\":\"/object/upload/sign/" + key + "?token=" + token + "\"}"));
+            } else if ("PUT".equals(method) && path.startsWith(SIGN_PREFIX)) {
+                drain(exchange);
+                if (!applyFaults(exchange, upload)) {
+                    return;
+                }
+                String key = uploadTokens.remove(queryToken(exchange));
+                if (key == null || !key.equals(path.substring(SIGN_PREFIX.length()))) {
+                    respond(exchange, 403, "application/json", json("{\"error\":\"invalid_signature\"}"));
+                    return;
+                }
+                keys.add(key);
+                respond(exchange, 200, "application/json", json("{\"Key\":\"" + key + "\"}"));
+            } else if ("POST".equals(method) && path.equals(MOVE_PATH)) {
+                JsonNode body = readJson(exchange);
+                String bucket = body.path("bucketId").asText() + "/";
+                if (!keys.remove(bucket + body.path("sourceKey").asText())) {
+                    notFound(exchange);
+                    return;
+                }
+                keys.add(bucket + body.path("destinationKey").asText());
+                respond(exchange, 200, "application/json", json("{\"message\":\"Successfully moved\"}"));
+            } else if ("POST".equals(method) && path.startsWith(LIST_PREFIX)) {
+                String folder = path.substring(LIST_PREFIX.length()) + "/" + readJson(exchange).path("prefix").asText() + "/";
+                StringBuilder names = new StringBuilder("[");
+                keys.stream()
+                    .filter(key -> key.startsWith(folder) && key.indexOf('/', folder.length()) < 0)
+                    .map(key -> key.substring(folder.length()))
+                    .sorted()
+                    .forEach(name -> names.append(names.length() > 1 ? "," : "").append("{\"name\":\"").append(name).append("\"}"));
+                respond(exchange, 200, "application/json", json(names.append(']').toString()));
+            } else if ("DELETE".equals(method)) {
+                if (keys.remove(path.substring(OBJECT_PREFIX.length()))) {
+                    respond(exchange, 200, "application/json", json("{\"message\":\"Successfully deleted\"}"));
+                } else {
+                    notFound(exchange);
+                }
+            } else if ("POST".equals(method)) {
+                drain(exchange);
+                if (!applyFaults(exchange, upload)) {
+                    return;
+                }
+                String key = path.substring(OBJECT_PREFIX.length());
+                keys.add(key);
+                respond(exchange, 200, "application/json", json("{\"Key\":\"" + key + "\"}"));
+            } else {
+                respond(exchange, 405, "application/json", json("{\"error\":\"method_not_allowed\"}"));
+            }
+        });
+    }
+
+    public int objectCount() {
+        return keys.size();
+    }
+
+    private static void notFound(HttpExchange exchange) {
+        respond(exchange, 404, "application/json", json("{\"error\":\"not_found\"}"));
+    }
+
+    private static String queryToken(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("token=")) {
+                    return parameter.substring("token=".length());
+                }
+            }
+        }
+        return "";
+    }
+
+    private static JsonNode readJson(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return JSON.readTree(body);
+        }
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package com.safevoice.benchmarks.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-JVM HTTP stand-in built on the JDK server. Each exchange gets its own thread so injected
+ * latency never queues requests behind each other; the backend's client pools stay the only limit.
+ */
+abstract class StubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    protected StubServer(String name, int port) throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.server.setExecutor(executor);
+    }
+
+    protected void route(String pathPrefix, ExchangeHandler handler) {
+        server.createContext(pathPrefix, exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (Exception ex) {
+                respond(exchange, 500, "text/plain", ex.toString().getBytes(StandardCharsets.UTF_8));
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    StubServer start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + port();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Reads and discards the upload so the client sees realistic back-pressure
+    protected static long drain(HttpExchange exchange) throws IOException {
+        long total = 0;
+        byte[] buffer = new byte[16 * 1024];
+        try (InputStream body = exchange.getRequestBody()) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    protected static boolean applyFaults(HttpExchange exchange, FaultProfile profile) throws IOException {
+        FaultProfile.Outcome outcome = profile.next();
+        if (outcome.delayMs() > 0) {
+            try {
+                Thread.sleep(outcome.delayMs());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        if (outcome.failed()) {
+            respond(exchange, 503, "application/json",
+                "{\"detail\":\"injected failure\"}".getBytes(StandardCharsets.UTF_8));
+            return false;
+        }
+        return true;
+    }
+
+    protected static void respond(HttpExchange exchange, int status, String contentType, byte[] body) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (IOException ignored) {
+            // Client gave up (timeout), nothing left to report
+        }
+    }
+
+    @FunctionalInterface
+    protected interface ExchangeHandler {
+        void handle(HttpExchange exchange) throws Exception;
+    }
+}
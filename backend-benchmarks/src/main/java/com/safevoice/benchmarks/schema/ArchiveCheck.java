@@ -0,0 +1,188 @@
+package com.safevoice.benchmarks.schema;
+
+import com.safevoice.backend.SafeVoiceBackendApplication;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.ResolvedPostResponse;
+import com.safevoice.backend.application.service.ProblemArchiveService;
+import com.safevoice.backend.application.service.ProblemService;
+import com.safevoice.backend.application.service.ResolutionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Runs the archival job (ProblemArchiveService) against a real database and checks what it moved.
+ *
+ * <p>Boots the backend on an embedded Postgres with a batch size of 2, seeds a handful of problems on
+ * both sides of the age cutoff, runs one archive pass and compares the archive tables with the rows
+ * the hot tables held before. Also checks that archived problems stay reachable by id and that their
+ * verified resolutions stay in the resolved-posts feed. Exits with status 1 on any mismatch.
+ */
+public final class ArchiveCheck {
+
+    private static final String PROBLEM_COLUMNS =
+        "id, image_url, latitude, longitude, description, status, ai_moderation_score, moderation_passed,"
+            + " created_at, updated_at";
+    private static final String RESOLUTION_COLUMNS =
+        "id, problem_id, official_id, resolved_image_url, official_description, ai_similarity_score,"
+            + " deepfake_detected, verification_reason, verification_status, created_at";
+
+    private ArchiveCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            String[] appArgs = {
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--storage.backend=local",
+                "--storage.local.root=target/archive-check-storage",
+                "--supabase.url=http://127.0.0.1:1",
+                "--supabase.service-key=unused",
+                "--jwt.secret=archive-check-secret-that-is-long-enough-for-hs512-signing-000000000000",
+                "--archive.min-age-days=30",
+                "--archive.batch-size=2",
+                // The scheduled run fires once at startup, before the seed; the check runs the next one itself
+                "--archive.interval-ms=3600000",
+                "--spring.task.scheduling.pool.size=1",
+                "--outbox.relay.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.safevoice=WARN",
+            };
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SafeVoiceBackendApplication.class)
+                    .run(appArgs)) {
+                List<String> failures = check(app, postgres.getPostgresDatabase());
+                System.out.println();
+                if (!failures.isEmpty()) {
+                    System.out.printf("%d archive checks failed:%n", failures.size());
+                    failures.forEach(failure -> System.out.println("  " + failure));
+                    System.exit(1);
+                }
+                System.out.println("Archival moved every row intact.");
+            }
+        }
+    }
+
+    private static List<String> check(ConfigurableApplicationContext app, DataSource database) throws Exception {
+        // Queued behind the runs fired at startup on the single scheduler thread, so those are done
+        app.getBean(ThreadPoolTaskScheduler.class).submit(() -> { }).get();
+
+        List<String> failures = new ArrayList<>();
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement()) {
+            seed(statement);
+
+            String archivable = "SELECT %s FROM problems WHERE status IN ('RESOLVED', 'REJECTED')"
+                + " AND updated_at < now() - interval '30 days' ORDER BY id";
+            List<String> problemsBefore = rows(statement, archivable.formatted(PROBLEM_COLUMNS));
+            List<String> resolutionsBefore = rows(statement, "SELECT " + RESOLUTION_COLUMNS + " FROM resolutions"
+                + " WHERE problem_id IN (" + archivable.formatted("id") + ") ORDER BY id");
+            List<String> keptProblems = rows(statement, "SELECT id FROM problems WHERE id NOT IN ("
+                + archivable.formatted("id") + ") ORDER BY id");
+
+            app.getBean(ProblemArchiveService.class).archive();
+
+            expect(failures, "problems_archive rows", problemsBefore,
+                rows(statement, "SELECT " + PROBLEM_COLUMNS + " FROM problems_archive ORDER BY id"));
+            expect(failures, "resolutions_archive rows", resolutionsBefore,
+                rows(statement, "SELECT " + RESOLUTION_COLUMNS + " FROM resolutions_archive ORDER BY id"));
+            expect(failures, "problems left in the hot table", keptProblems,
+                rows(statement, "SELECT id FROM problems ORDER BY id"));
+            expect(failures, "resolutions left behind for archived problems", List.of(),
+                rows(statement, "SELECT r.id FROM resolutions r JOIN problems_archive a ON a.id = r.problem_id"));
+            expect(failures, "rows without archived_at", List.of("0"),
+                rows(statement, "SELECT (SELECT count(*) FROM problems_archive WHERE archived_at IS NULL)"
+                    + " + (SELECT count(*) FROM resolutions_archive WHERE archived_at IS NULL)"));
+            // Batches of 2: three full batches, then an empty one ends the run
+            expect(failures, "PROBLEMS_ARCHIVED events", List.of("3"),
+                rows(statement, "SELECT count(*) FROM outbox_events WHERE event_type = 'PROBLEMS_ARCHIVED'"));
+
+            UUID archivedId = UUID.fromString(
+                rows(statement, "SELECT id FROM problems_archive ORDER BY id LIMIT 1").get(0).split("\\|")[0]);
+            ProblemResponse archived = app.getBean(ProblemService.class).getProblemById(archivedId);
+            expect(failures, "archived problem by id", List.of(archivedId.toString()),
+                List.of(String.valueOf(archived.getId())));
+
+            List<String> verified = rows(statement, "SELECT id FROM ("
+                + " SELECT id, created_at FROM resolutions WHERE verification_status = 'VERIFIED'"
+                + " UNION ALL SELECT id, created_at FROM resolutions_archive WHERE verification_status = 'VERIFIED'"
+                + ") r ORDER BY created_at DESC, id");
+            ResolutionService resolutionService = app.getBean(ResolutionService.class);
+            Page<ResolvedPostResponse> firstPage = resolutionService.getResolvedPosts(PageRequest.of(0, 4));
+            Page<ResolvedPostResponse> secondPage = resolutionService.getResolvedPosts(PageRequest.of(1, 4));
+            List<String> feed = new ArrayList<>();
+            firstPage.forEach(post -> feed.add(post.getResolutionId().toString()));
+            secondPage.forEach(post -> feed.add(post.getResolutionId().toString()));
+            expect(failures, "resolved-posts feed", verified, feed);
+            expect(failures, "resolved-posts total", List.of(String.valueOf(verified.size())),
+                List.of(String.valueOf(firstPage.getTotalElements())));
+        }
+        return failures;
+    }
+
+    // Six problems past the cutoff (five resolved with a verified and a rejected resolution, one rejected),
+    // one resolved too recently and one old but still open
+    private static void seed(Statement statement) throws SQLException {
+        statement.execute("""
+            INSERT INTO problems (id, image_url, latitude, longitude, description, status,
+                                  ai_moderation_score, moderation_passed, created_at, updated_at)
+            SELECT gen_random_uuid(), 'https://example.com/problems/' || g || '.jpg', 40 + g / 100.0, -74 - g / 100.0,
+                   'Pothole ' || g,
+                   CASE WHEN g = 6 THEN 'REJECTED' WHEN g = 8 THEN 'OPEN' ELSE 'RESOLVED' END,
+                   0.1, true,
+                   now() - interval '200 days' + g * interval '1 hour',
+                   CASE WHEN g = 7 THEN now() - interval '1 day' ELSE now() - interval '60 days' + g * interval '1 hour' END
+            FROM generate_series(1, 8) AS g
+            """);
+        statement.execute("""
+            INSERT INTO resolutions (id, problem_id, official_id, resolved_image_url, official_description,
+                                     ai_similarity_score, deepfake_detected, verification_reason,
+                                     verification_status, created_at)
+            SELECT gen_random_uuid(), p.id, gen_random_uuid(), p.image_url || '?resolved=' || v.status,
+                   'Fixed: ' || p.description, 0.9, false, 'Similarity check ' || v.status, v.status,
+                   p.created_at + v.delay
+            FROM problems p
+            CROSS JOIN (VALUES ('VERIFIED', interval '2 days'), ('REJECTED', interval '1 day')) AS v(status, delay)
+            WHERE p.status <> 'REJECTED'
+            """);
+    }
+
+    private static void expect(List<String> failures, String what, List<String> expected, List<String> actual) {
+        boolean matches = Objects.equals(expected, actual);
+        System.out.printf("%-4s %s (%d rows)%n", matches ? "OK" : "FAIL", what, actual.size());
+        if (!matches) {
+            failures.add(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    // Each row as its columns joined with '|', as Postgres renders them
+    private static List<String> rows(Statement statement, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 1; i <= columns; i++) {
+                    row.append(i > 1 ? "|" : "").append(rs.getString(i));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,312 @@
+package com.safevoice.benchmarks.schema;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks that every repository query is answered from an index on a realistically sized database.
+ *
+ * <p>Starts an embedded Postgres, applies the backend's Flyway migrations, seeds it, runs
+ * {@code VACUUM ANALYZE} and then {@code EXPLAIN}s the SQL each repository method issues. Any
+ * sequential scan of a table fails the check (exit code 1). Parameters are inlined, i.e. this checks
+ * the custom plans Postgres builds for the first executions of a prepared statement.
+ *
+ * <p>See README.md for the options.
+ */
+public final class QueryPlanCheck {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private record PlannedQuery(String repositoryMethod, String sql) {
+    }
+
+    private QueryPlanCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String[] kv = arg.substring(2).split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "true");
+        }
+        int problems = Integer.parseInt(options.getOrDefault("problems", "200000"));
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            DataSource database = postgres.getPostgresDatabase();
+            Flyway.configure()
+                .dataSource(database)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+            System.out.printf("Seeding %d problems...%n", problems);
+            try (Connection connection = database.getConnection();
+                 Statement statement = connection.createStatement()) {
+                seed(statement, problems);
+
+                List<String> failures = new ArrayList<>();
+                for (PlannedQuery query : queries(statement)) {
+                    String failure = check(statement, query);
+                    if (failure != null) {
+                        failures.add(failure);
+                    }
+                }
+
+                System.out.println();
+                if (!failures.isEmpty()) {
+                    System.out.printf("%d queries scan a table sequentially:%n", failures.size());
+                    failures.forEach(failure -> System.out.println("  " + failure));
+                    System.exit(1);
+                }
+                System.out.println("All repository queries use an index.");
+            }
+        }
+    }
+
+    // Distributions roughly follow production: most problems open, one resolution per resolved problem,
+    // outbox rows mostly published and spread a little past the 72h retention
+    private static void seed(Statement statement, int problems) throws SQLException {
+        statement.execute("""
+            INSERT INTO problems (id, image_url, latitude, longitude, description, status,
+                                  ai_moderation_score, moderation_passed, created_at, updated_at)
+            SELECT gen_random_uuid(), 'https://example.com/problems/' || g || '.jpg',
+                   40 + random(), -74 + random(),
+                   (ARRAY['Pothole', 'Streetlight out', 'Blocked drain', 'Graffiti', 'Overflowing garbage',
+                          'Broken sidewalk', 'Traffic signal down', 'Fallen tree'])[1 + g % 8]
+                       || ' near block b' || (g % 1000),
+                   (ARRAY['OPEN', 'OPEN', 'OPEN', 'UNDER_REVIEW', 'RESOLVED', 'RESOLVED', 'REJECTED'])[1 + floor(random() * 7)::int],
+                   random() * 0.3, true,
+                   now() - g * interval '1 minute', now() - g * interval '1 minute'
+            FROM generate_series(1, %d) AS g
+            """.formatted(problems));
+        statement.execute("""
+            INSERT INTO resolutions (id, problem_id, official_id, resolved_image_url, ai_similarity_score,
+                                     deepfake_detected, verification_status, created_at)
+            SELECT gen_random_uuid(), p.id, gen_random_uuid(), p.image_url, random(), false,
+                   (ARRAY['VERIFIED', 'VERIFIED', 'VERIFIED', 'REJECTED', 'PENDING'])[1 + floor(random() * 5)::int],
+                   p.created_at + interval '1 day'
+            FROM problems p
+            WHERE p.status = 'RESOLVED'
+            """);
+        statement.execute("""
+            INSERT INTO officials (id, email, password_hash, full_name, official_id_number, department,
+                                   role, is_verified, is_active, created_at)
+            SELECT gen_random_uuid(), 'official' || g || '@example.com', 'x', 'Official ' || g, 'ID-' || g,
+                   'Department ' || (g % 40), 'OFFICIAL', random() < 0.9, random() < 0.95,
+                   now() - g * interval '1 hour'
+            FROM generate_series(1, 5000) AS g
+            """);
+        statement.execute("""
+            INSERT INTO outbox_events (id, aggregate_type, aggregate_id, event_type, payload, attempts,
+                                       created_at, published_at)
+            SELECT gen_random_uuid(), 'Problem', gen_random_uuid(), 'PROBLEM_CREATED', '{}', 0,
+                   now() - g * interval '1 second' * (84 * 3600.0 / %d),
+                   CASE WHEN g > 50 THEN now() - g * interval '1 second' * (84 * 3600.0 / %d) END
+            FROM generate_series(1, %d) AS g
+            """.formatted(problems, problems, problems));
+        // Archive copies of the oldest rows; the hot rows stay, ids only need to be unique per table
+        statement.execute("""
+            INSERT INTO problems_archive (id, image_url, latitude, longitude, description, status,
+                                          ai_moderation_score, moderation_passed, created_at, updated_at, archived_at)
+            SELECT id, image_url, latitude, longitude, description, status,
+                   ai_moderation_score, moderation_passed, created_at, updated_at, now()
+            FROM problems
+            WHERE status IN ('RESOLVED', 'REJECTED')
+            ORDER BY updated_at
+            LIMIT %d
+            """.formatted(problems / 4));
+        statement.execute("""
+            INSERT INTO resolutions_archive (id, problem_id, official_id, resolved_image_url, ai_similarity_score,
+                                             deepfake_detected, verification_status, created_at, archived_at)
+            SELECT r.id, r.problem_id, r.official_id, r.resolved_image_url, r.ai_similarity_score,
+                   r.deepfake_detected, r.verification_status, r.created_at, now()
+            FROM resolutions r
+            JOIN problems_archive a ON a.id = r.problem_id
+            """);
+        statement.execute("VACUUM ANALYZE");
+    }
+
+    // SQL as Hibernate renders it for each repository method, with sampled ids as parameters. Kept by
+    // hand: a new or changed repository query (including its page count query) needs an entry here.
+    private static List<PlannedQuery> queries(Statement statement) throws SQLException {
+        String problemId = single(statement, "SELECT id FROM problems ORDER BY created_at DESC OFFSET 500 LIMIT 1");
+        String resolvedProblemId = single(statement, "SELECT problem_id FROM resolutions LIMIT 1");
+        String otherProblemId = single(statement, "SELECT id FROM problems ORDER BY created_at OFFSET 500 LIMIT 1");
+        String archivedProblemId = single(statement, "SELECT problem_id FROM resolutions_archive LIMIT 1");
+
+        return List.of(
+            new PlannedQuery("ProblemRepository.findAll(page sorted by createdAt desc)",
+                "SELECT * FROM problems ORDER BY created_at DESC LIMIT 10 OFFSET 20"),
+            new PlannedQuery("ProblemRepository.findAll / findAllFields (count)",
+                "SELECT count(p1_0.id) FROM problems p1_0"),
+            // Criteria projections for ?fields= (FieldProjections); resolutionCount is a correlated count
+            new PlannedQuery("ProblemRepository.findAllFields(id,status,createdAt,resolutionCount)",
+                "SELECT p1_0.id, p1_0.status, p1_0.created_at,"
+                    + " (SELECT count(1) FROM resolutions r1_0 WHERE p1_0.id = r1_0.problem_id)"
+                    + " FROM problems p1_0 ORDER BY p1_0.created_at DESC OFFSET 20 ROWS FETCH FIRST 10 ROWS ONLY"),
+            new PlannedQuery("ProblemRepository.findFieldsById(id,imageUrl,resolutionCount)",
+                "SELECT p1_0.id, p1_0.image_url,"
+                    + " (SELECT count(1) FROM resolutions r1_0 WHERE p1_0.id = r1_0.problem_id)"
+                    + " FROM problems p1_0 WHERE p1_0.id = '" + resolvedProblemId + "'"),
+            new PlannedQuery("ProblemRepository.findByStatus",
+                "SELECT * FROM problems WHERE status = 'UNDER_REVIEW' ORDER BY created_at DESC LIMIT 10"),
+            new PlannedQuery("ProblemRepository.findByStatus (count)",
+                "SELECT count(*) FROM problems WHERE status = 'UNDER_REVIEW'"),
+            new PlannedQuery("ProblemRepository.findById",
+                "SELECT * FROM problems WHERE id = '" + problemId + "'"),
+            new PlannedQuery("ProblemRepository.updateStatus",
+                "UPDATE problems SET status = 'RESOLVED', updated_at = now() WHERE id IN ('"
+                    + problemId + "', '" + otherProblemId + "')"),
+            new PlannedQuery("ProblemRepository.searchByDescription",
+                "SELECT hits.id, hits.rank FROM ("
+                    + " SELECT c.id AS id,"
+                    + " ts_rank_cd(c.description_tsv, websearch_to_tsquery('english', 'streetlight b42')) AS rank"
+                    + " FROM (SELECT p.id, p.description_tsv FROM problems p"
+                    + " WHERE p.description_tsv @@ websearch_to_tsquery('english', 'streetlight b42')"
+                    + " AND p.status = 'OPEN'"
+                    + " ORDER BY p.created_at DESC, p.id LIMIT 1000) c"
+                    + ") hits WHERE hits.rank < 'Infinity'::real OR (hits.rank = 'Infinity'::real"
+                    + " AND hits.id > '00000000-0000-0000-0000-000000000000'::uuid)"
+                    + " ORDER BY hits.rank DESC, hits.id LIMIT 21"),
+            // A term in every eighth description: the created_at index stops after 1000 matches
+            new PlannedQuery("ProblemRepository.searchByDescription(common term)",
+                "SELECT hits.id, hits.rank FROM ("
+                    + " SELECT c.id AS id,"
+                    + " ts_rank_cd(c.description_tsv, websearch_to_tsquery('english', 'pothole')) AS rank"
+                    + " FROM (SELECT p.id, p.description_tsv FROM problems p"
+                    + " WHERE p.description_tsv @@ websearch_to_tsquery('english', 'pothole')"
+                    + " ORDER BY p.created_at DESC, p.id LIMIT 1000) c"
+                    + ") hits WHERE hits.rank < 'Infinity'::real OR (hits.rank = 'Infinity'::real"
+                    + " AND hits.id > '00000000-0000-0000-0000-000000000000'::uuid)"
+                    + " ORDER BY hits.rank DESC, hits.id LIMIT 21"),
+            // Zoom 12 tile over the seeded area (lat 40..41, lon -74..-73)
+            new PlannedQuery("ProblemRepository.aggregateTile",
+                "SELECT CAST(floor((t.ty - 1539) * 16) AS integer) AS cy,"
+                    + " CAST(floor((t.tx - 1206) * 16) AS integer) AS cx, t.status, COUNT(*) FROM ("
+                    + " SELECT p.status AS status, (p.longitude + 180) / 360 * 4096 AS tx,"
+                    + " (1 - ln(tan(pi() / 4 + radians(GREATEST(LEAST(p.latitude, 85.0511287798), -85.0511287798)) / 2))"
+                    + " / pi()) / 2 * 4096 AS ty"
+                    + " FROM problems p WHERE p.latitude BETWEEN 40.7139 AND 40.7806"
+                    + " AND p.longitude BETWEEN -74.0040 AND -73.9160"
+                    + ") t WHERE floor(t.tx) = 1206 AND floor(t.ty) = 1539 GROUP BY 1, 2, 3"),
+            new PlannedQuery("ArchivedProblemRepository.findById",
+                "SELECT * FROM problems_archive WHERE id = '" + archivedProblemId + "'"),
+            new PlannedQuery("ArchivedProblemRepository.countResolutions",
+                "SELECT count(*) FROM resolutions_archive WHERE problem_id = '" + archivedProblemId + "'"),
+            new PlannedQuery("ArchivedProblemRepository.lockArchivable",
+                "SELECT id, status, latitude, longitude, created_at FROM problems"
+                    + " WHERE status IN ('RESOLVED', 'REJECTED') AND updated_at < now() - interval '30 days'"
+                    + " ORDER BY updated_at LIMIT 500 FOR UPDATE SKIP LOCKED"),
+            new PlannedQuery("ArchivedProblemRepository.copyProblems",
+                "INSERT INTO problems_archive SELECT id, image_url, latitude, longitude, description,"
+                    + " description_token_ids, status, ai_moderation_score, moderation_passed, reporter_ip_address,"
+                    + " created_at, updated_at, now() FROM problems WHERE id IN ('"
+                    + problemId + "', '" + otherProblemId + "')"),
+            new PlannedQuery("ArchivedProblemRepository.moveResolutions",
+                "WITH moved AS (DELETE FROM resolutions WHERE problem_id IN ('"
+                    + resolvedProblemId + "', '" + otherProblemId + "') RETURNING *)"
+                    + " INSERT INTO resolutions_archive SELECT *, now() FROM moved"),
+            new PlannedQuery("ArchivedProblemRepository.deleteProblems",
+                "DELETE FROM problems WHERE id IN ('" + problemId + "', '" + otherProblemId + "')"),
+            new PlannedQuery("ResolutionRepository.findByProblemId",
+                "SELECT * FROM resolutions WHERE problem_id = '" + resolvedProblemId + "'"),
+            // Page 3 of 10: each tier reads its first 30 rows
+            new PlannedQuery("ResolutionRepository.findVerifiedPosts",
+                "SELECT * FROM ("
+                    + " (SELECT p.id AS problem_id, r.id AS resolution_id, p.image_url, r.created_at AS resolved_at"
+                    + " FROM resolutions r JOIN problems p ON p.id = r.problem_id"
+                    + " WHERE r.verification_status = 'VERIFIED' ORDER BY r.created_at DESC LIMIT 30)"
+                    + " UNION ALL"
+                    + " (SELECT p.id, r.id, p.image_url, r.created_at"
+                    + " FROM resolutions_archive r JOIN problems_archive p ON p.id = r.problem_id"
+                    + " WHERE r.verification_status = 'VERIFIED' ORDER BY r.created_at DESC LIMIT 30)"
+                    + ") posts ORDER BY resolved_at DESC, resolution_id LIMIT 10 OFFSET 20"),
+            new PlannedQuery("ResolutionRepository.countVerifiedPosts",
+                "SELECT (SELECT count(*) FROM resolutions WHERE verification_status = 'VERIFIED')"
+                    + " + (SELECT count(*) FROM resolutions_archive WHERE verification_status = 'VERIFIED')"),
+            new PlannedQuery("OfficialRepository.findByEmail",
+                "SELECT * FROM officials WHERE email = 'official42@example.com'"),
+            new PlannedQuery("OfficialRepository.existsByOfficialIdNumber",
+                "SELECT id FROM officials WHERE official_id_number = 'ID-42' LIMIT 1"),
+            new PlannedQuery("OfficialRepository.findSummaries(verified=false, active=true)",
+                "SELECT id, email, full_name, official_id_number, department, role, is_verified, is_active, created_at"
+                    + " FROM officials WHERE is_verified = false AND is_active = true"
+                    + " ORDER BY created_at DESC LIMIT 20"),
+            new PlannedQuery("OfficialRepository.findSummaries(department)",
+                "SELECT id, email, full_name, official_id_number, department, role, is_verified, is_active, created_at"
+                    + " FROM officials WHERE department = 'Department 7' ORDER BY created_at DESC LIMIT 20"),
+            new PlannedQuery("OutboxEventRepository.lockNextBatch",
+                "SELECT * FROM outbox_events WHERE published_at IS NULL AND dead_lettered_at IS NULL"
+                    + " ORDER BY created_at LIMIT 100 FOR UPDATE SKIP LOCKED"),
+            new PlannedQuery("OutboxEventRepository.deletePublishedBefore",
+                "DELETE FROM outbox_events WHERE published_at < now() - interval '72 hours'"),
+            new PlannedQuery("OutboxEventRepository.deleteDeadLetteredBefore",
+                "DELETE FROM outbox_events WHERE dead_lettered_at < now() - interval '720 hours'")
+        );
+    }
+
+    // Returns a failure description, or null if no table is read with a sequential scan
+    private static String check(Statement statement, PlannedQuery query) throws SQLException {
+        JsonNode plan;
+        try (ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) " + query.sql())) {
+            rs.next();
+            plan = readJson(rs.getString(1)).get(0).get("Plan");
+        }
+
+        List<String> scans = new ArrayList<>();
+        List<String> seqScans = new ArrayList<>();
+        collectScans(plan, scans, seqScans);
+
+        String summary = String.join(", ", scans);
+        System.out.printf("%-4s %-70s %s%n", seqScans.isEmpty() ? "OK" : "FAIL", query.repositoryMethod(), summary);
+        return seqScans.isEmpty() ? null : query.repositoryMethod() + ": " + String.join(", ", seqScans);
+    }
+
+    private static void collectScans(JsonNode node, List<String> scans, List<String> seqScans) {
+        String nodeType = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText(null);
+        // Also matches Parallel Seq Scan
+        if (nodeType.endsWith("Seq Scan")) {
+            seqScans.add(nodeType + " on " + relation);
+            scans.add(nodeType + " on " + relation);
+        } else if (node.has("Index Name")) {
+            scans.add(nodeType + " using " + node.get("Index Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, scans, seqScans);
+        }
+    }
+
+    private static String single(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                throw new IllegalStateException("Seed data returned no row for: " + sql);
+            }
+            return rs.getString(1);
+        }
+    }
+
+    private static JsonNode readJson(String json) {
+        try {
+            return JSON.readTree(json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable EXPLAIN output", ex);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+#!/usr/bin/env sh
+# Compares how many slow uploads the backend can keep in flight.
+#
+# Run once against a platform-thread build and once against a virtual-thread
+# build (mvn -Pvirtual-threads, VIRTUAL_THREADS_ENABLED=true), keeping
+# TOMCAT_MAX_THREADS and the AI service latency the same, then diff the two
+# result files.
+#
+# Usage: scripts/concurrency-benchmark.sh <label> [image.jpg]
+# Env:   BASE_URL (default http://localhost:8080), LEVELS, DURATION
+# Needs: hey (https://github.com/rakyll/hey)
+
+set -eu
+
+LABEL=${1:?"usage: $0 <label> [image.jpg]"}
+IMAGE=${2:-}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+LEVELS=${LEVELS:-"10 50 100 200 400 800"}
+DURATION=${DURATION:-20s}
+OUT="target/concurrency-${LABEL}.txt"
+BOUNDARY="safevoice-bench-boundary"
+
+command -v hey >/dev/null 2>&1 || { echo "hey is required" >&2; exit 1; }
+mkdir -p target
+
+if [ -n "$IMAGE" ]; then
+    BODY=$(mktemp)
+    {
+        printf -- "--%s\r\n" "$BOUNDARY"
+        printf 'Content-Disposition: form-data; name="description"\r\n\r\nBenchmark pothole on Main Street\r\n'
+        printf -- "--%s\r\n" "$BOUNDARY"
+        printf 'Content-Disposition: form-data; name="latitude"\r\n\r\n12.9716\r\n'
+        printf -- "--%s\r\n" "$BOUNDARY"
+        printf 'Content-Disposition: form-data; name="longitude"\r\n\r\n77.5946\r\n'
+        printf -- "--%s\r\n" "$BOUNDARY"
+        printf 'Content-Disposition: form-data; name="imageFile"; filename="bench.jpg"\r\nContent-Type: image/jpeg\r\n\r\n'
+        cat "$IMAGE"
+        printf '\r\n--%s--\r\n' "$BOUNDARY"
+    } > "$BODY"
+    trap 'rm -f "$BODY"' EXIT
+fi
+
+echo "# $LABEL $(date -u +%Y-%m-%dT%H:%M:%SZ)" > "$OUT"
+for c in $LEVELS; do
+    if [ -n "$IMAGE" ]; then
+        result=$(hey -z "$DURATION" -c "$c" -m POST \
+            -T "multipart/form-data; boundary=$BOUNDARY" -D "$BODY" \
+            "$BASE_URL/api/problems")
+    else
+        result=$(hey -z "$DURATION" -c "$c" "$BASE_URL/api/problems?page=0&size=10")
+    fi
+    rps=$(echo "$result" | awk '/Requests\/sec/ {print $2}')
+    p99=$(echo "$result" | awk '/99% in/ {print $3}')
+    errors=$(echo "$result" | awk '/Error distribution/ {found=1; next} found && NF {n++} END {print n+0}')
+    echo "concurrency=$c rps=$rps p99=${p99}s error_kinds=$errors" | tee -a "$OUT"
+done
@@ -1,13 +1,16 @@
 package com.safevoice.backend.api.controller;
 
+import com.safevoice.backend.api.dto.OfficialPageResponse;
 import com.safevoice.backend.api.dto.OfficialProfileResponse;
 import com.safevoice.backend.application.service.OfficialAuthService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -16,6 +19,8 @@ import java.util.UUID;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OfficialAuthService officialAuthService;
 
     public AdminController(OfficialAuthService officialAuthService) {
@@ -23,9 +28,18 @@ public class AdminController {
     }
 
     @GetMapping("/officials")
-    public ResponseEntity<List<OfficialProfileResponse>> listOfficials() {
-        log.info("Fetching all officials for admin");
-        return ResponseEntity.ok(officialAuthService.getAllOfficials());
+    public ResponseEntity<OfficialPageResponse> listOfficials(
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) Boolean verified,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String department) {
+        log.info("Fetching officials for admin: page={}, size={}, verified={}, active={}, department={}",
+            page, size, verified, active, department);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+            Sort.by("createdAt").descending());
+        String departmentFilter = department == null || department.isBlank() ? null : department.trim();
+        return ResponseEntity.ok(officialAuthService.getOfficials(verified, active, departmentFilter, pageable));
     }
 
     @PutMapping("/officials/{id}")
@@ -0,0 +1,85 @@
+package com.safevoice.backend.api.controller;
+
+import com.safevoice.backend.api.dto.CreateUploadSessionRequest;
+import com.safevoice.backend.api.dto.DirectUploadResponse;
+import com.safevoice.backend.api.dto.FinalizeUploadRequest;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.application.service.DirectUploadService;
+import com.safevoice.backend.application.service.IdempotencyService;
+import com.safevoice.backend.infrastructure.security.RateLimitingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Reporting without sending the image through the backend: get a signed URL, PUT the image to
+// storage, then finalize with the description and location.
+@Slf4j
+@RestController
+@RequestMapping("/api/problems/direct-uploads")
+public class DirectUploadController {
+
+    private final DirectUploadService directUploadService;
+    private final RateLimitingService rateLimitingService;
+    private final IdempotencyService idempotencyService;
+
+    public DirectUploadController(
+            DirectUploadService directUploadService,
+            RateLimitingService rateLimitingService,
+            IdempotencyService idempotencyService) {
+        this.directUploadService = directUploadService;
+        this.rateLimitingService = rateLimitingService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    @PostMapping
+    public ResponseEntity<DirectUploadResponse> createUpload(
+            @Valid @RequestBody CreateUploadSessionRequest request,
+            HttpServletRequest httpRequest) {
+
+        String ipAddress = getClientIpAddress(httpRequest);
+        log.info("Direct upload request from IP: {}", ipAddress);
+
+        if (!rateLimitingService.isAllowed(ipAddress)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .build();
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(directUploadService.createUpload(request));
+    }
+
+    @PostMapping("/{uploadId}/finalize")
+    public ResponseEntity<ProblemResponse> finalizeUpload(
+            @PathVariable String uploadId,
+            @Valid @RequestBody FinalizeUploadRequest request,
+            HttpServletRequest httpRequest) {
+
+        String ipAddress = getClientIpAddress(httpRequest);
+        log.info("Finalizing direct upload {} from IP: {}", uploadId, ipAddress);
+
+        if (!rateLimitingService.isAllowed(ipAddress)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .build();
+        }
+
+        // Keyed by upload id: once promoted the quarantined object is gone, so a retried finalize
+        // has to replay the first result
+        IdempotencyService.Result<ProblemResponse> result = idempotencyService.execute(
+            "problem-direct-uploads",
+            uploadId,
+            IdempotencyService.fingerprint(request.getDescription(), request.getLatitude(), request.getLongitude()),
+            () -> directUploadService.finalizeUpload(uploadId, request, ipAddress));
+
+        return ResponseEntity.status(HttpStatus.CREATED).headers(result.headers()).body(result.getValue());
+    }
+
+    private String getClientIpAddress(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0];
+        }
+        return request.getRemoteAddr();
+    }
+}
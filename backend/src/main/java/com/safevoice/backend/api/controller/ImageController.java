@@ -0,0 +1,173 @@
+package com.safevoice.backend.api.controller;
+
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.storage.HotObjectCache;
+import com.safevoice.backend.infrastructure.storage.ServedObjectStore;
+import com.safevoice.backend.infrastructure.storage.StorageService;
+import com.safevoice.backend.infrastructure.storage.StoredObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Optional;
+
+// Serves stored images. Objects kept by this application (storage.backend=local) are streamed with
+// Range/ETag support; backends with their own public URLs get a redirect.
+@Slf4j
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    // Request attributes Tomcat's NIO connector reads to send a file with sendfile(2) after the
+    // servlet returns, without the bytes passing through the JVM
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final StorageService storageService;
+    private final Optional<ServedObjectStore> servedObjectStore;
+    private final HotObjectCache hotObjectCache;
+
+    @Value("${uploads.direct.quarantine-prefix:quarantine}")
+    private String quarantinePrefix;
+
+    @Value("${images.redirect-max-age-seconds:86400}")
+    private Long redirectMaxAgeSeconds;
+
+    public ImageController(
+            StorageService storageService,
+            Optional<ServedObjectStore> servedObjectStore,
+            HotObjectCache hotObjectCache) {
+        this.storageService = storageService;
+        this.servedObjectStore = servedObjectStore;
+        this.hotObjectCache = hotObjectCache;
+    }
+
+    @GetMapping("/{*key}")
+    public void getImage(
+            @PathVariable String key,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String objectKey = key.startsWith("/") ? key.substring(1) : key;
+        // Unmoderated direct uploads are never served
+        if (objectKey.contains("..") || objectKey.startsWith(quarantinePrefix + "/")) {
+            throw new ResourceNotFoundException("Image not found: " + objectKey);
+        }
+
+        Optional<String> externalUrl = storageService.externalUrl(objectKey);
+        if (externalUrl.isPresent()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + redirectMaxAgeSeconds);
+            response.sendRedirect(externalUrl.get());
+            return;
+        }
+
+        ServedObjectStore store = servedObjectStore
+            .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + objectKey));
+        StoredObject object = store.findObject(objectKey)
+            .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + objectKey));
+        String etag = "\"" + object.getEtag() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, object.getLastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, object.isImmutable() ? IMMUTABLE_CACHE_CONTROL : "no-cache");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long size = object.getSize();
+        long start = 0;
+        long end = size - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && size > 0 && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges = parseRanges(rangeHeader);
+            // Several ranges would need multipart/byteranges; for images the whole body is the better answer
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size);
+                if (start >= size || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(object.getContentType());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length <= 0) {
+            return;
+        }
+
+        if (hotObjectCache.admits(size)) {
+            byte[] body = hotObjectCache.get(objectKey, object.getEtag(), () -> readFully(store, objectKey, size));
+            response.getOutputStream().write(body, (int) start, (int) length);
+            return;
+        }
+
+        if (object.getLocalPath() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, object.getLocalPath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        store.transferTo(objectKey, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    private static byte[] readFully(ServedObjectStore store, String objectKey, long size) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) size);
+        try {
+            store.transferTo(objectKey, 0, size, Channels.newChannel(buffer));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read " + objectKey, ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    // A malformed Range header is ignored and the full body is sent
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ex) {
+            return List.of();
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
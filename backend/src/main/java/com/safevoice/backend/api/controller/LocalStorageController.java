@@ -0,0 +1,42 @@
+package com.safevoice.backend.api.controller;
+
+import com.safevoice.backend.infrastructure.storage.LocalStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Receives signed direct uploads when images are stored locally (the Supabase equivalent is its
+// /object/upload/sign endpoint)
+@Slf4j
+@RestController
+@RequestMapping("/api/storage/uploads")
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "local")
+public class LocalStorageController {
+
+    private final LocalStorageService localStorageService;
+
+    public LocalStorageController(LocalStorageService localStorageService) {
+        this.localStorageService = localStorageService;
+    }
+
+    @PutMapping("/{*key}")
+    public ResponseEntity<Map<String, String>> upload(
+            @PathVariable String key,
+            @RequestParam Long expires,
+            @RequestParam String signature,
+            HttpServletRequest httpRequest) throws IOException {
+        String objectKey = key.startsWith("/") ? key.substring(1) : key;
+        localStorageService.acceptSignedUpload(objectKey, expires, signature, httpRequest.getInputStream());
+        log.debug("Stored signed upload {}", objectKey);
+        return ResponseEntity.ok(Map.of("Key", objectKey));
+    }
+}
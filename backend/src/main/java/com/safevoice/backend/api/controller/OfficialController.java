@@ -2,6 +2,7 @@ package com.safevoice.backend.api.controller;
 
 import com.safevoice.backend.api.dto.ResolutionResponse;
 import com.safevoice.backend.api.dto.UploadResolutionRequest;
+import com.safevoice.backend.application.service.IdempotencyService;
 import com.safevoice.backend.application.service.OfficialAuthService;
 import com.safevoice.backend.application.service.ResolutionService;
 import com.safevoice.backend.domain.entity.Official;
@@ -12,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
 import java.util.UUID;
@@ -24,32 +26,43 @@ public class OfficialController {
 
     private final ResolutionService resolutionService;
     private final OfficialAuthService officialAuthService;
+    private final IdempotencyService idempotencyService;
 
     public OfficialController(
             ResolutionService resolutionService,
-            OfficialAuthService officialAuthService) {
+            OfficialAuthService officialAuthService,
+            IdempotencyService idempotencyService) {
         this.resolutionService = resolutionService;
         this.officialAuthService = officialAuthService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping("/resolutions")
     public ResponseEntity<ResolutionResponse> uploadResolution(
-            @Valid @ModelAttribute UploadResolutionRequest request) {
+            @Valid @ModelAttribute UploadResolutionRequest request,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
         UUID problemId = UUID.fromString(request.getProblemId());
         UUID officialId = getCurrentOfficialId();
 
         log.info("Official {} uploading resolution for problem {}", officialId, problemId);
 
-        ResolutionResponse response = resolutionService.uploadResolution(
-            problemId,
-            officialId,
-            request.getResolvedImageFile(),
-            request.getDescription(),
-            request.getLatitude(),
-            request.getLongitude());
+        MultipartFile imageFile = request.getResolvedImageFile();
+        IdempotencyService.Result<ResolutionResponse> result = idempotencyService.execute(
+            "resolutions:" + officialId,
+            idempotencyKey,
+            IdempotencyService.fingerprint(
+                problemId, request.getDescription(), request.getLatitude(), request.getLongitude(),
+                imageFile.getOriginalFilename(), imageFile.getSize(), imageFile.getContentType()),
+            () -> resolutionService.uploadResolution(
+                problemId,
+                officialId,
+                imageFile,
+                request.getDescription(),
+                request.getLatitude(),
+                request.getLongitude()));
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).headers(result.headers()).body(result.getValue());
     }
 
     private UUID getCurrentOfficialId() {
@@ -1,13 +1,22 @@
 package com.safevoice.backend.api.controller;
 
+import com.safevoice.backend.api.dto.BulkUpdateProblemStatusRequest;
+import com.safevoice.backend.api.dto.BulkUpdateProblemStatusResponse;
 import com.safevoice.backend.api.dto.CreateProblemRequest;
+import com.safevoice.backend.api.dto.MapTileResponse;
+import com.safevoice.backend.api.dto.ProblemField;
 import com.safevoice.backend.api.dto.ProblemPageResponse;
 import com.safevoice.backend.api.dto.ProblemResponse;
-import com.safevoice.backend.api.dto.ResolvedPostResponse;
+import com.safevoice.backend.api.dto.ProblemSearchResponse;
+import com.safevoice.backend.api.dto.ResolvedPostField;
 import com.safevoice.backend.api.dto.UpdateProblemStatusRequest;
+import com.safevoice.backend.application.service.IdempotencyService;
+import com.safevoice.backend.application.service.MapTileService;
 import com.safevoice.backend.application.service.ProblemService;
 import com.safevoice.backend.application.service.ResolutionService;
+import com.safevoice.backend.application.service.SparseFields;
 import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
 import com.safevoice.backend.infrastructure.security.RateLimitingService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -16,11 +25,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -28,24 +42,36 @@ import java.util.UUID;
 @RequestMapping("/api/problems")
 public class ProblemController {
 
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    // Tiles change as reports come in; a short max-age still absorbs map pans and re-renders
+    private static final Duration TILE_MAX_AGE = Duration.ofSeconds(30);
+
     private final ProblemService problemService;
     private final ResolutionService resolutionService;
     private final RateLimitingService rateLimitingService;
+    private final IdempotencyService idempotencyService;
+    private final MapTileService mapTileService;
 
     public ProblemController(
             ProblemService problemService,
             ResolutionService resolutionService,
-            RateLimitingService rateLimitingService) {
+            RateLimitingService rateLimitingService,
+            IdempotencyService idempotencyService,
+            MapTileService mapTileService) {
         this.problemService = problemService;
         this.resolutionService = resolutionService;
         this.rateLimitingService = rateLimitingService;
+        this.idempotencyService = idempotencyService;
+        this.mapTileService = mapTileService;
     }
 
     @PostMapping
     public ResponseEntity<ProblemResponse> createProblem(
             @Valid @ModelAttribute CreateProblemRequest request,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             HttpServletRequest httpRequest) {
-        
+
         String ipAddress = getClientIpAddress(httpRequest);
         log.info("Problem creation request from IP: {}", ipAddress);
 
@@ -55,36 +81,91 @@ public class ProblemController {
                 .build();
         }
 
-        ProblemResponse response = problemService.createProblem(request, ipAddress);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        // Not scoped by IP: a retry from a flaky mobile connection often arrives from a new address
+        MultipartFile imageFile = request.getImageFile();
+        IdempotencyService.Result<ProblemResponse> result = idempotencyService.execute(
+            "problems",
+            idempotencyKey,
+            IdempotencyService.fingerprint(
+                request.getDescription(), request.getLatitude(), request.getLongitude(),
+                imageFile.getOriginalFilename(), imageFile.getSize(), imageFile.getContentType()),
+            () -> problemService.createProblem(request, ipAddress));
+
+        return ResponseEntity.status(HttpStatus.CREATED).headers(result.headers()).body(result.getValue());
     }
 
+    // fields=id,imageUrl,status selects and returns only those fields (ProblemField lists them)
     @GetMapping
-    public ResponseEntity<ProblemPageResponse> getAllProblems(
+    public ResponseEntity<?> getAllProblems(
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String fields) {
         
-        log.info("Fetching problems: page={}, size={}", page, size);
+        log.info("Fetching problems: page={}, size={}, fields={}", page, size, fields);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        if (fields != null) {
+            return ResponseEntity.ok(
+                problemService.getAllProblems(pageable, SparseFields.parse(fields, ProblemField.values())));
+        }
         ProblemPageResponse response = problemService.getAllProblems(pageable);
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ProblemSearchResponse> searchProblems(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer limit) {
+
+        log.info("Searching problems: q={}, status={}", q, status);
+
+        if (q.isBlank() || q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new ValidationException("Search query must be 1-" + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        Problem.ProblemStatus statusFilter = status != null ? parseStatus(status) : null;
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SEARCH_PAGE_SIZE);
+
+        return ResponseEntity.ok(problemService.searchProblems(q.trim(), statusFilter, cursor, pageSize));
+    }
+
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public ResponseEntity<MapTileResponse> getMapTile(
+            @PathVariable Integer z,
+            @PathVariable Integer x,
+            @PathVariable Integer y) {
+        log.debug("Fetching map tile {}/{}/{}", z, x, y);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(TILE_MAX_AGE).cachePublic())
+            .body(mapTileService.getTile(z, x, y));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ProblemResponse> getProblemById(@PathVariable UUID id) {
+    public ResponseEntity<?> getProblemById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String fields) {
         log.info("Fetching problem with ID: {}", id);
+        if (fields != null) {
+            return ResponseEntity.ok(
+                problemService.getProblemById(id, SparseFields.parse(fields, ProblemField.values())));
+        }
         ProblemResponse response = problemService.getProblemById(id);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/resolved")
-    public ResponseEntity<Page<ResolvedPostResponse>> getResolvedPosts(
+    public ResponseEntity<? extends Page<?>> getResolvedPosts(
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Fetching resolved posts: page={}, size={}", page, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String fields) {
+        log.info("Fetching resolved posts: page={}, size={}, fields={}", page, size, fields);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        if (fields != null) {
+            return ResponseEntity.ok(
+                resolutionService.getResolvedPosts(pageable, SparseFields.parse(fields, ResolvedPostField.values())));
+        }
         return ResponseEntity.ok(resolutionService.getResolvedPosts(pageable));
     }
 
@@ -102,6 +183,31 @@ public class ProblemController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('OFFICIAL')")
+    public ResponseEntity<BulkUpdateProblemStatusResponse> updateProblemStatuses(
+            @Valid @RequestBody BulkUpdateProblemStatusRequest request) {
+
+        log.info("Bulk status update of {} problems", request.getUpdates().size());
+
+        Map<UUID, Problem.ProblemStatus> updates = new LinkedHashMap<>();
+        for (BulkUpdateProblemStatusRequest.Item item : request.getUpdates()) {
+            if (updates.put(item.getId(), parseStatus(item.getStatus())) != null) {
+                throw new ValidationException("Duplicate problem id in bulk update: " + item.getId());
+            }
+        }
+
+        return ResponseEntity.ok(problemService.updateProblemStatuses(updates));
+    }
+
+    private static Problem.ProblemStatus parseStatus(String status) {
+        try {
+            return Problem.ProblemStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Invalid status: " + status);
+        }
+    }
+
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -0,0 +1,137 @@
+package com.safevoice.backend.api.controller;
+
+import com.safevoice.backend.api.dto.CreateUploadSessionRequest;
+import com.safevoice.backend.api.dto.FinalizeUploadRequest;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.UploadSessionResponse;
+import com.safevoice.backend.application.service.IdempotencyService;
+import com.safevoice.backend.application.service.UploadSessionService;
+import com.safevoice.backend.infrastructure.security.RateLimitingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+// Resumable image uploads for slow or flaky connections: create a session, PATCH chunks at the
+// current Upload-Offset (HEAD tells where to resume), then finalize into the normal problem pipeline.
+@Slf4j
+@RestController
+@RequestMapping("/api/problems/uploads")
+public class ProblemUploadController {
+
+    static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+    static final String UPLOAD_LENGTH_HEADER = "Upload-Length";
+    static final String UPLOAD_EXPIRES_HEADER = "Upload-Expires";
+    static final String CHUNK_CONTENT_TYPE = "application/offset+octet-stream";
+
+    private final UploadSessionService uploadSessionService;
+    private final RateLimitingService rateLimitingService;
+    private final IdempotencyService idempotencyService;
+
+    public ProblemUploadController(
+            UploadSessionService uploadSessionService,
+            RateLimitingService rateLimitingService,
+            IdempotencyService idempotencyService) {
+        this.uploadSessionService = uploadSessionService;
+        this.rateLimitingService = rateLimitingService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> createSession(
+            @Valid @RequestBody CreateUploadSessionRequest request,
+            HttpServletRequest httpRequest) {
+
+        String ipAddress = getClientIpAddress(httpRequest);
+        log.info("Upload session request from IP: {}", ipAddress);
+
+        if (!rateLimitingService.isAllowed(ipAddress)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .build();
+        }
+
+        UploadSessionResponse response = uploadSessionService.createSession(request, ipAddress);
+        return ResponseEntity.created(URI.create("/api/problems/uploads/" + response.getUploadId()))
+            .headers(uploadHeaders(response))
+            .body(response);
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getUploadOffset(@PathVariable UUID id) {
+        UploadSessionResponse response = uploadSessionService.getSession(id);
+        return ResponseEntity.ok()
+            .headers(uploadHeaders(response))
+            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .build();
+    }
+
+    // Not rate limited: one upload takes many chunks, and clients behind a shared address would be cut
+    // off mid-upload. Live sessions are already bounded by the per-instance session caps.
+    @PatchMapping(value = "/{id}", consumes = CHUNK_CONTENT_TYPE)
+    public ResponseEntity<Void> appendChunk(
+            @PathVariable UUID id,
+            @RequestHeader(UPLOAD_OFFSET_HEADER) Long offset,
+            HttpServletRequest httpRequest) throws IOException {
+
+        // Streamed straight from the request body to disk, the chunk is never buffered in memory
+        UploadSessionResponse response = uploadSessionService.appendChunk(id, offset, httpRequest.getInputStream());
+        return ResponseEntity.noContent()
+            .headers(uploadHeaders(response))
+            .build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable UUID id) {
+        log.info("Cancelling upload session {}", id);
+        uploadSessionService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/finalize")
+    public ResponseEntity<ProblemResponse> finalizeUpload(
+            @PathVariable UUID id,
+            @Valid @RequestBody FinalizeUploadRequest request,
+            HttpServletRequest httpRequest) {
+
+        String ipAddress = getClientIpAddress(httpRequest);
+        log.info("Finalizing upload {} from IP: {}", id, ipAddress);
+
+        if (!rateLimitingService.isAllowed(ipAddress)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .build();
+        }
+
+        // The upload id doubles as the idempotency key: a finalize retried after the response was
+        // lost replays the created problem instead of failing on the already consumed session
+        IdempotencyService.Result<ProblemResponse> result = idempotencyService.execute(
+            "problem-uploads",
+            id.toString(),
+            IdempotencyService.fingerprint(request.getDescription(), request.getLatitude(), request.getLongitude()),
+            () -> uploadSessionService.finalizeUpload(id, request));
+
+        return ResponseEntity.status(HttpStatus.CREATED).headers(result.headers()).body(result.getValue());
+    }
+
+    private HttpHeaders uploadHeaders(UploadSessionResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(UPLOAD_OFFSET_HEADER, String.valueOf(response.getOffset()));
+        headers.set(UPLOAD_LENGTH_HEADER, String.valueOf(response.getLength()));
+        headers.set(UPLOAD_EXPIRES_HEADER, response.getExpiresAt().toString());
+        return headers;
+    }
+
+    private String getClientIpAddress(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0];
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,30 @@
+package com.safevoice.backend.api.controller;
+
+import com.safevoice.backend.api.dto.StatsResponse;
+import com.safevoice.backend.application.service.ProblemStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private static final int MAX_DAYS = 365;
+
+    private final ProblemStatsService problemStatsService;
+
+    public StatsController(ProblemStatsService problemStatsService) {
+        this.problemStatsService = problemStatsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StatsResponse> getStats(@RequestParam(defaultValue = "30") Integer days) {
+        log.debug("Fetching stats for the last {} days", days);
+        return ResponseEntity.ok(problemStatsService.getStats(Math.min(Math.max(days, 1), MAX_DAYS)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.safevoice.backend.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateProblemStatusRequest {
+
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 500, message = "At most 500 updates per request")
+    private List<@Valid Item> updates;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+
+        @NotNull(message = "Problem id is required")
+        private UUID id;
+
+        @NotBlank(message = "Status is required")
+        private String status;
+    }
+}
@@ -0,0 +1,41 @@
+package com.safevoice.backend.api.dto;
+
+import com.safevoice.backend.domain.entity.Problem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateProblemStatusResponse {
+
+    private int updated;
+    private int unchanged;
+    private int notFound;
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+
+        private UUID id;
+        private Outcome outcome;
+        // Null when the problem was not found
+        private Problem.ProblemStatus previousStatus;
+        private Problem.ProblemStatus status;
+    }
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND
+    }
+}
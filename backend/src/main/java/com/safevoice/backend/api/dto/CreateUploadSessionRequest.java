@@ -0,0 +1,27 @@
+package com.safevoice.backend.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateUploadSessionRequest {
+
+    @NotNull(message = "Upload length is required")
+    @Positive(message = "Upload length must be positive")
+    private Long length;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @Size(max = 255, message = "File name must be at most 255 characters")
+    private String fileName;
+}
@@ -0,0 +1,20 @@
+package com.safevoice.backend.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DirectUploadResponse {
+    private String uploadId;
+    private String uploadUrl;
+    private String uploadMethod;
+    private String contentType;
+    private Instant expiresAt;
+}
@@ -0,0 +1,42 @@
+package com.safevoice.backend.api.dto;
+
+import com.safevoice.backend.domain.entity.Problem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MapTileResponse {
+
+    private Integer z;
+    private Integer x;
+    private Integer y;
+    // The tile is split into gridSize x gridSize cells in Web Mercator space
+    private Integer gridSize;
+    private Double north;
+    private Double south;
+    private Double west;
+    private Double east;
+    // Only cells containing at least one problem
+    private List<Cell> cells;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Cell {
+
+        // Row 0 is the northern edge, column 0 the western edge
+        private Integer row;
+        private Integer col;
+        private Long total;
+        private Map<Problem.ProblemStatus, Long> counts;
+    }
+}
@@ -1,6 +1,7 @@
 package com.safevoice.backend.api.dto;
 
 import com.safevoice.backend.domain.entity.Official;
+import com.safevoice.backend.domain.repository.OfficialSummary;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -37,4 +38,18 @@ public class OfficialProfileResponse {
             .createdAt(official.getCreatedAt())
             .build();
     }
+
+    public static OfficialProfileResponse from(OfficialSummary official) {
+        return OfficialProfileResponse.builder()
+            .id(official.getId())
+            .email(official.getEmail())
+            .fullName(official.getFullName())
+            .officialIdNumber(official.getOfficialIdNumber())
+            .department(official.getDepartment())
+            .role(official.getRole())
+            .isVerified(official.getIsVerified())
+            .isActive(official.getIsActive())
+            .createdAt(official.getCreatedAt())
+            .build();
+    }
 }
@@ -0,0 +1,43 @@
+package com.safevoice.backend.api.dto;
+
+import java.util.function.Function;
+
+// The fields of ProblemResponse that can be requested with fields=...
+public enum ProblemField implements SparseField {
+
+    ID("id", "id", ProblemResponse::getId),
+    IMAGE_URL("imageUrl", "imageUrl", ProblemResponse::getImageUrl),
+    LATITUDE("latitude", "latitude", ProblemResponse::getLatitude),
+    LONGITUDE("longitude", "longitude", ProblemResponse::getLongitude),
+    DESCRIPTION("description", "description", ProblemResponse::getDescription),
+    STATUS("status", "status", ProblemResponse::getStatus),
+    AI_MODERATION_SCORE("aiModerationScore", "aiModerationScore", ProblemResponse::getAiModerationScore),
+    CREATED_AT("createdAt", "createdAt", ProblemResponse::getCreatedAt),
+    UPDATED_AT("updatedAt", "updatedAt", ProblemResponse::getUpdatedAt),
+    RESOLUTION_COUNT("resolutionCount", "resolutions", ProblemResponse::getResolutionCount);
+
+    private final String fieldName;
+    private final String attributePath;
+    private final Function<ProblemResponse, Object> getter;
+
+    ProblemField(String fieldName, String attributePath, Function<ProblemResponse, Object> getter) {
+        this.fieldName = fieldName;
+        this.attributePath = attributePath;
+        this.getter = getter;
+    }
+
+    @Override
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    @Override
+    public String getAttributePath() {
+        return attributePath;
+    }
+
+    // For responses that were not built from a projection (archived problems)
+    public Object valueOf(ProblemResponse response) {
+        return getter.apply(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.safevoice.backend.api.dto;
 
+import com.safevoice.backend.domain.entity.ArchivedProblem;
 import com.safevoice.backend.domain.entity.Problem;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,4 +26,34 @@ public class ProblemResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer resolutionCount;
+
+    public static ProblemResponse from(Problem problem) {
+        return ProblemResponse.builder()
+            .id(problem.getId())
+            .imageUrl(problem.getImageUrl())
+            .latitude(problem.getLatitude())
+            .longitude(problem.getLongitude())
+            .description(problem.getDescription())
+            .status(problem.getStatus())
+            .aiModerationScore(problem.getAiModerationScore())
+            .createdAt(problem.getCreatedAt())
+            .updatedAt(problem.getUpdatedAt())
+            .resolutionCount(problem.getResolutions() != null ? problem.getResolutions().size() : 0)
+            .build();
+    }
+
+    public static ProblemResponse from(ArchivedProblem problem, long resolutionCount) {
+        return ProblemResponse.builder()
+            .id(problem.getId())
+            .imageUrl(problem.getImageUrl())
+            .latitude(problem.getLatitude())
+            .longitude(problem.getLongitude())
+            .description(problem.getDescription())
+            .status(problem.getStatus())
+            .aiModerationScore(problem.getAiModerationScore())
+            .createdAt(problem.getCreatedAt())
+            .updatedAt(problem.getUpdatedAt())
+            .resolutionCount((int) resolutionCount)
+            .build();
+    }
 }
@@ -0,0 +1,20 @@
+package com.safevoice.backend.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProblemSearchResponse {
+
+    // Best match first
+    private List<ProblemResponse> content;
+    // Pass as cursor to get the next page; null on the last page
+    private String nextCursor;
+}
@@ -27,4 +27,21 @@ public class ResolutionResponse {
     private Resolution.VerificationStatus verificationStatus;
     private String verificationReason;
     private LocalDateTime createdAt;
+
+    public static ResolutionResponse from(Resolution resolution) {
+        return ResolutionResponse.builder()
+            .id(resolution.getId())
+            .problemId(resolution.getProblem().getId())
+            .officialId(resolution.getOfficialId())
+            .resolvedImageUrl(resolution.getResolvedImageUrl())
+            .officialDescription(resolution.getOfficialDescription())
+            .officialLatitude(resolution.getOfficialLatitude())
+            .officialLongitude(resolution.getOfficialLongitude())
+            .aiSimilarityScore(resolution.getAiSimilarityScore())
+            .deepfakeDetected(resolution.getDeepfakeDetected())
+            .verificationStatus(resolution.getVerificationStatus())
+            .verificationReason(resolution.getVerificationReason())
+            .createdAt(resolution.getCreatedAt())
+            .build();
+    }
 }
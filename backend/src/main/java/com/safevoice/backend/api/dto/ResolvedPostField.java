@@ -0,0 +1,46 @@
+package com.safevoice.backend.api.dto;
+
+import java.util.function.Function;
+
+// The fields of ResolvedPostResponse that can be requested with fields=...
+public enum ResolvedPostField implements SparseField {
+
+    PROBLEM_ID("problemId", "problem.id", ResolvedPostResponse::getProblemId),
+    RESOLUTION_ID("resolutionId", "id", ResolvedPostResponse::getResolutionId),
+    ORIGINAL_IMAGE_URL("originalImageUrl", "problem.imageUrl", ResolvedPostResponse::getOriginalImageUrl),
+    RESOLVED_IMAGE_URL("resolvedImageUrl", "resolvedImageUrl", ResolvedPostResponse::getResolvedImageUrl),
+    ORIGINAL_DESCRIPTION("originalDescription", "problem.description", ResolvedPostResponse::getOriginalDescription),
+    OFFICIAL_DESCRIPTION("officialDescription", "officialDescription", ResolvedPostResponse::getOfficialDescription),
+    PROBLEM_LATITUDE("problemLatitude", "problem.latitude", ResolvedPostResponse::getProblemLatitude),
+    PROBLEM_LONGITUDE("problemLongitude", "problem.longitude", ResolvedPostResponse::getProblemLongitude),
+    OFFICIAL_LATITUDE("officialLatitude", "officialLatitude", ResolvedPostResponse::getOfficialLatitude),
+    OFFICIAL_LONGITUDE("officialLongitude", "officialLongitude", ResolvedPostResponse::getOfficialLongitude),
+    AI_SIMILARITY_SCORE("aiSimilarityScore", "aiSimilarityScore", ResolvedPostResponse::getAiSimilarityScore),
+    VERIFICATION_REASON("verificationReason", "verificationReason", ResolvedPostResponse::getVerificationReason),
+    RESOLVED_AT("resolvedAt", "createdAt", ResolvedPostResponse::getResolvedAt);
+
+    private final String fieldName;
+    private final String attributePath;
+    private final Function<ResolvedPostResponse, Object> getter;
+
+    ResolvedPostField(String fieldName, String attributePath, Function<ResolvedPostResponse, Object> getter) {
+        this.fieldName = fieldName;
+        this.attributePath = attributePath;
+        this.getter = getter;
+    }
+
+    @Override
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    @Override
+    public String getAttributePath() {
+        return attributePath;
+    }
+
+    // The feed unions the hot and archive tables, so rows are built whole and then narrowed
+    public Object valueOf(ResolvedPostResponse response) {
+        return getter.apply(response);
+    }
+}
@@ -1,5 +1,8 @@
 package com.safevoice.backend.api.dto;
 
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Resolution;
+import com.safevoice.backend.domain.repository.ResolvedPostRow;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,4 +29,41 @@ public class ResolvedPostResponse {
     private Double aiSimilarityScore;
     private String verificationReason;
     private LocalDateTime resolvedAt;
+
+    public static ResolvedPostResponse from(Resolution resolution) {
+        Problem problem = resolution.getProblem();
+        return ResolvedPostResponse.builder()
+            .problemId(problem.getId())
+            .resolutionId(resolution.getId())
+            .originalImageUrl(problem.getImageUrl())
+            .resolvedImageUrl(resolution.getResolvedImageUrl())
+            .originalDescription(problem.getDescription())
+            .officialDescription(resolution.getOfficialDescription())
+            .problemLatitude(problem.getLatitude())
+            .problemLongitude(problem.getLongitude())
+            .officialLatitude(resolution.getOfficialLatitude())
+            .officialLongitude(resolution.getOfficialLongitude())
+            .aiSimilarityScore(resolution.getAiSimilarityScore())
+            .verificationReason(resolution.getVerificationReason())
+            .resolvedAt(resolution.getCreatedAt())
+            .build();
+    }
+
+    public static ResolvedPostResponse from(ResolvedPostRow row) {
+        return ResolvedPostResponse.builder()
+            .problemId(row.getProblemId())
+            .resolutionId(row.getResolutionId())
+            .originalImageUrl(row.getOriginalImageUrl())
+            .resolvedImageUrl(row.getResolvedImageUrl())
+            .originalDescription(row.getOriginalDescription())
+            .officialDescription(row.getOfficialDescription())
+            .problemLatitude(row.getProblemLatitude())
+            .problemLongitude(row.getProblemLongitude())
+            .officialLatitude(row.getOfficialLatitude())
+            .officialLongitude(row.getOfficialLongitude())
+            .aiSimilarityScore(row.getAiSimilarityScore())
+            .verificationReason(row.getVerificationReason())
+            .resolvedAt(row.getResolvedAt())
+            .build();
+    }
 }
@@ -0,0 +1,9 @@
+package com.safevoice.backend.api.dto;
+
+// A field clients may request with fields=..., and the entity attribute path it is read from
+public interface SparseField {
+
+    String getFieldName();
+
+    String getAttributePath();
+}
@@ -0,0 +1,24 @@
+package com.safevoice.backend.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// ProblemPageResponse for a fields=... request: each row holds only the requested fields
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SparseProblemPageResponse {
+
+    private List<Map<String, Object>> content;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean isLast;
+}
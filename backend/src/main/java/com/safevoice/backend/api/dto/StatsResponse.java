@@ -0,0 +1,40 @@
+package com.safevoice.backend.api.dto;
+
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Resolution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatsResponse {
+
+    private Long totalProblems;
+    private Map<Problem.ProblemStatus, Long> problemsByStatus;
+    // Share of all problems currently RESOLVED
+    private Double resolutionRate;
+    // Mean time from report to resolution of the currently resolved problems; null if there are none
+    private Double averageHoursToResolve;
+    private Map<Resolution.VerificationStatus, Long> resolutionsByVerificationStatus;
+    private List<DailyStats> daily;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DailyStats {
+
+        private LocalDate day;
+        // Problems reported that day, and how many of them are resolved now
+        private long reported;
+        private long resolved;
+    }
+}
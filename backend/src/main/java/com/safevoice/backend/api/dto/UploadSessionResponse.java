@@ -0,0 +1,20 @@
+package com.safevoice.backend.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionResponse {
+    private UUID uploadId;
+    private Long offset;
+    private Long length;
+    private Instant expiresAt;
+}
@@ -0,0 +1,37 @@
+package com.safevoice.backend.application.event;
+
+import com.safevoice.backend.domain.entity.Problem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProblemChangePayload {
+
+    private UUID problemId;
+    private Problem.ProblemStatus previousStatus;
+    private Problem.ProblemStatus status;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime createdAt;
+    private LocalDateTime occurredAt;
+
+    public static ProblemChangePayload of(Problem problem, Problem.ProblemStatus previousStatus, LocalDateTime occurredAt) {
+        return ProblemChangePayload.builder()
+            .problemId(problem.getId())
+            .previousStatus(previousStatus)
+            .status(problem.getStatus())
+            .latitude(problem.getLatitude())
+            .longitude(problem.getLongitude())
+            .createdAt(problem.getCreatedAt())
+            .occurredAt(occurredAt)
+            .build();
+    }
+}
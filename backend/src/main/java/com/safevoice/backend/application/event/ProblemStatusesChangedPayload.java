@@ -0,0 +1,20 @@
+package com.safevoice.backend.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One event for a bulk status update, carrying every problem whose status actually changed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProblemStatusesChangedPayload {
+
+    private List<ProblemChangePayload> changes;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,21 @@
+package com.safevoice.backend.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One event per archival batch. Each change has the archived status as previousStatus and a null
+// status: the problem left the hot tables.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProblemsArchivedPayload {
+
+    private List<ProblemChangePayload> changes;
+    private LocalDateTime occurredAt;
+}
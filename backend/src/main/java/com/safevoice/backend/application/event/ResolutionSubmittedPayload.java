@@ -0,0 +1,35 @@
+package com.safevoice.backend.application.event;
+
+import com.safevoice.backend.domain.entity.Resolution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResolutionSubmittedPayload {
+
+    private UUID resolutionId;
+    private UUID problemId;
+    private UUID officialId;
+    private Resolution.VerificationStatus verificationStatus;
+    private Double aiSimilarityScore;
+    private LocalDateTime occurredAt;
+
+    public static ResolutionSubmittedPayload of(Resolution resolution) {
+        return ResolutionSubmittedPayload.builder()
+            .resolutionId(resolution.getId())
+            .problemId(resolution.getProblem().getId())
+            .officialId(resolution.getOfficialId())
+            .verificationStatus(resolution.getVerificationStatus())
+            .aiSimilarityScore(resolution.getAiSimilarityScore())
+            .occurredAt(resolution.getCreatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.safevoice.backend.application.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+// Compares problem and resolution descriptions as sets of normalized token ids. Tokens are
+// lower-cased, accent-folded, stripped of stopwords and light-stemmed, then hashed (FNV-1a) into a
+// sorted, de-duplicated int[]. Problems store their ids at creation time, so a resolution upload only
+// tokenizes its own description and merges two primitive arrays.
+//
+// Stored ids are only comparable with ids from the same normalization: after changing it, clear
+// problems.description_token_ids (rows without ids are re-tokenized on demand).
+public final class DescriptionMatcher {
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int[] EMPTY = new int[0];
+
+    private static final int[] STOPWORD_IDS = Arrays.stream(new String[] {
+            "a", "about", "above", "after", "again", "all", "also", "an", "and", "any", "are", "as", "at",
+            "be", "been", "before", "being", "below", "but", "by", "can", "could", "did", "do", "does",
+            "done", "for", "from", "has", "have", "here", "how", "in", "into", "is", "it", "its", "just",
+            "many", "more", "most", "much", "my", "near", "no", "not", "of", "on", "onto", "or", "our",
+            "over", "please", "should", "so", "some", "still", "such", "than", "that", "the", "their",
+            "them", "then", "there", "these", "they", "this", "those", "to", "under", "up", "very", "was",
+            "we", "were", "what", "when", "where", "which", "who", "why", "will", "with", "would", "you",
+            "your"
+        })
+        .mapToInt(word -> fnv1a(word.toCharArray(), word.length()))
+        .sorted()
+        .distinct()
+        .toArray();
+
+    private DescriptionMatcher() {
+    }
+
+    public static boolean isMatched(int[] problemTokenIds, String resolutionDescription, double minJaccard) {
+        return isMatched(problemTokenIds, tokenIds(resolutionDescription), minJaccard);
+    }
+
+    public static boolean isMatched(int[] problemTokenIds, int[] resolutionTokenIds, double minJaccard) {
+        if (problemTokenIds == null || problemTokenIds.length == 0 || resolutionTokenIds.length == 0) {
+            return false;
+        }
+        return jaccard(problemTokenIds, resolutionTokenIds) >= minJaccard;
+    }
+
+    // Both arrays must be sorted and de-duplicated, as returned by tokenIds
+    public static double jaccard(int[] left, int[] right) {
+        int i = 0;
+        int j = 0;
+        int intersection = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = left.length + right.length - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+
+    public static int[] tokenIds(String text) {
+        if (text == null || text.isBlank()) {
+            return EMPTY;
+        }
+        String source = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFKD);
+
+        char[] token = new char[MAX_TOKEN_LENGTH];
+        int[] ids = new int[16];
+        int count = 0;
+        int length = 0;
+
+        for (int i = 0, n = source.length(); i <= n; i++) {
+            char c = i < n ? source.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (length < MAX_TOKEN_LENGTH) {
+                    token[length++] = Character.toLowerCase(c);
+                }
+                continue;
+            }
+            // Combining accents left over from NFKD fold into the preceding letter
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (length == 0) {
+                continue;
+            }
+
+            if (Arrays.binarySearch(STOPWORD_IDS, fnv1a(token, length)) < 0) {
+                int stemmedLength = stem(token, length);
+                if (stemmedLength >= MIN_TOKEN_LENGTH) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = fnv1a(token, stemmedLength);
+                }
+            }
+            length = 0;
+        }
+
+        if (count == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(ids, 0, count);
+        int unique = 1;
+        for (int k = 1; k < count; k++) {
+            if (ids[k] != ids[unique - 1]) {
+                ids[unique++] = ids[k];
+            }
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+
+    // Light English suffix stripping: enough to line up "fixed"/"fix", "potholes"/"pothole",
+    // "cleaning"/"cleaned" and "resurfaced"/"resurface" without a full Porter stemmer
+    static int stem(char[] token, int length) {
+        if (length <= 3 || !Character.isLetter(token[length - 1])) {
+            return length;
+        }
+        if (endsWith(token, length, "ies") && length > 4) {
+            token[length - 3] = 'y';
+            return length - 2;
+        }
+        if (endsWith(token, length, "sses")) {
+            return length - 2;
+        }
+        if (endsWith(token, length, "ing") && length - 3 >= 3) {
+            return trimEnding(token, length - 3);
+        }
+        if (endsWith(token, length, "ed") && length - 2 >= 3) {
+            return trimEnding(token, length - 2);
+        }
+        if (endsWith(token, length, "es") && length > 4 && isSibilantEnding(token, length - 2)) {
+            return length - 2;
+        }
+        if (token[length - 1] == 's' && token[length - 2] != 's' && token[length - 2] != 'u'
+                && token[length - 2] != 'i') {
+            return trimEnding(token, length - 1);
+        }
+        return trimEnding(token, length);
+    }
+
+    private static int trimEnding(char[] token, int length) {
+        // "running" -> "runn" -> "run", but keep "fill", "pass", "buzz"
+        if (length >= 4 && token[length - 1] == token[length - 2] && !isVowel(token[length - 1])
+                && token[length - 1] != 'l' && token[length - 1] != 's' && token[length - 1] != 'z') {
+            return length - 1;
+        }
+        // Silent e: "resurface" and "resurfaced" both end as "resurfac"
+        if (length > 4 && token[length - 1] == 'e') {
+            return length - 1;
+        }
+        return length;
+    }
+
+    private static boolean isSibilantEnding(char[] token, int length) {
+        char last = token[length - 1];
+        return last == 's' || last == 'x' || last == 'z'
+            || ((last == 'h') && (token[length - 2] == 'c' || token[length - 2] == 's'));
+    }
+
+    private static boolean endsWith(char[] token, int length, String suffix) {
+        int offset = length - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (token[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int fnv1a(char[] chars, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash ^= chars[i];
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+}
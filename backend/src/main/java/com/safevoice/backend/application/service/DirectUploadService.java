@@ -0,0 +1,133 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.CreateUploadSessionRequest;
+import com.safevoice.backend.api.dto.DirectUploadResponse;
+import com.safevoice.backend.api.dto.FinalizeUploadRequest;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.infrastructure.exception.ExternalServiceException;
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import com.safevoice.backend.infrastructure.image.ImageProcessingService;
+import com.safevoice.backend.infrastructure.storage.StorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Two-step reporting where the image goes from the client straight to storage: the backend signs an
+// upload into the quarantine prefix, and finalize moderates the stored object before promoting it.
+// Upload ids carry their own expiry ("<epoch seconds>-<uuid>"), so no session state is kept and any
+// instance can finalize or clean up.
+@Slf4j
+@Service
+public class DirectUploadService {
+
+    private static final Pattern UPLOAD_ID_PATTERN = Pattern.compile("^(\\d{10})-[0-9a-f]{32}$");
+    // A finalize that started just before expiry may still be moderating; don't delete under it
+    private static final Duration CLEANUP_GRACE = Duration.ofMinutes(5);
+
+    private final StorageService storageService;
+    private final ImageProcessingService imageProcessingService;
+    private final ProblemService problemService;
+
+    @Value("${uploads.direct.quarantine-prefix:quarantine}")
+    private String quarantinePrefix;
+
+    @Value("${uploads.direct.ttl-minutes:15}")
+    private Long ttlMinutes;
+
+    @Value("${uploads.direct.max-bytes:5242880}")
+    private Long maxBytes;
+
+    @Value("${uploads.direct.cleanup-batch-size:500}")
+    private Integer cleanupBatchSize;
+
+    public DirectUploadService(
+            StorageService storageService,
+            ImageProcessingService imageProcessingService,
+            ProblemService problemService) {
+        this.storageService = storageService;
+        this.imageProcessingService = imageProcessingService;
+        this.problemService = problemService;
+    }
+
+    public DirectUploadResponse createUpload(CreateUploadSessionRequest request) {
+        if (request.getLength() > maxBytes) {
+            throw new ValidationException("Image file size exceeds " + (maxBytes / (1024 * 1024)) + "MB limit");
+        }
+        if (!imageProcessingService.isValidImageFormat(request.getContentType())) {
+            throw new ValidationException("Invalid image format. Allowed: JPEG, PNG, WebP, GIF");
+        }
+
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(ttlMinutes)).truncatedTo(ChronoUnit.SECONDS);
+        String uploadId = expiresAt.getEpochSecond() + "-" + UUID.randomUUID().toString().replace("-", "");
+        String uploadUrl = storageService.createSignedUploadUrl(quarantineKey(uploadId));
+
+        log.info("Issued direct upload {} for {} bytes", uploadId, request.getLength());
+        return DirectUploadResponse.builder()
+            .uploadId(uploadId)
+            .uploadUrl(uploadUrl)
+            .uploadMethod("PUT")
+            .contentType(request.getContentType())
+            .expiresAt(expiresAt)
+            .build();
+    }
+
+    public ProblemResponse finalizeUpload(String uploadId, FinalizeUploadRequest request, String ipAddress) {
+        Matcher matcher = UPLOAD_ID_PATTERN.matcher(uploadId);
+        if (!matcher.matches()) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+        if (Instant.ofEpochSecond(Long.parseLong(matcher.group(1))).isBefore(Instant.now())) {
+            throw new ResourceNotFoundException("Upload expired: " + uploadId);
+        }
+
+        return problemService.createProblemFromQuarantine(quarantineKey(uploadId), request, ipAddress);
+    }
+
+    // Removes quarantined objects that were never finalized (or whose finalize failed for good)
+    @Scheduled(fixedDelayString = "${uploads.direct.cleanup-interval-ms:900000}")
+    public void purgeExpiredUploads() {
+        long cutoff = Instant.now().minus(CLEANUP_GRACE).getEpochSecond();
+        List<String> names;
+        try {
+            names = storageService.listObjectNames(quarantinePrefix, cleanupBatchSize);
+        } catch (ExternalServiceException ex) {
+            log.warn("Skipping quarantine cleanup: {}", ex.getMessage());
+            return;
+        }
+
+        int deleted = 0;
+        for (String name : names) {
+            Matcher matcher = UPLOAD_ID_PATTERN.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            // Listed by name, and names start with the expiry, so the rest are newer still
+            if (Long.parseLong(matcher.group(1)) >= cutoff) {
+                break;
+            }
+            try {
+                storageService.deleteObject(quarantineKey(name));
+                deleted++;
+            } catch (ExternalServiceException ex) {
+                log.warn("Could not delete expired upload {}: {}", name, ex.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired direct uploads from quarantine", deleted);
+        }
+    }
+
+    private String quarantineKey(String uploadId) {
+        return quarantinePrefix + "/" + uploadId;
+    }
+}
@@ -0,0 +1,185 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.infrastructure.exception.ConflictException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// In-memory Idempotency-Key store. The first request with a key runs the pipeline; retries with the
+// same key get its stored response, or wait for it while it is still running. Failed attempts are
+// forgotten so the client can retry. Entries are per instance and expire after the TTL.
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private Long ttlMinutes;
+
+    @Value("${idempotency.max-entries:10000}")
+    private Integer maxEntries;
+
+    @Value("${idempotency.wait-timeout-seconds:90}")
+    private Long waitTimeoutSeconds;
+
+    public <T> Result<T> execute(String scope, String key, String fingerprint, Supplier<T> action) {
+        if (key == null) {
+            return new Result<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(IDEMPOTENCY_KEY_HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        String storeKey = scope + ":" + key;
+        long now = System.nanoTime();
+        Entry created = new Entry(fingerprint, now + TimeUnit.MINUTES.toNanos(ttlMinutes));
+        Entry entry = entries.compute(storeKey, (k, existing) ->
+            existing == null || existing.isExpired(now) ? created : existing);
+
+        if (entry != created) {
+            return replay(entry, fingerprint);
+        }
+
+        if (entries.size() > maxEntries) {
+            evict(now);
+        }
+
+        try {
+            T value = action.get();
+            entry.result.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException ex) {
+            entry.result.completeExceptionally(ex);
+            entries.remove(storeKey, entry);
+            throw ex;
+        }
+    }
+
+    public static String fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(Objects.toString(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.debug("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> replay(Entry entry, String fingerprint) {
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new ValidationException(
+                IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+        }
+        try {
+            T value = (T) entry.result.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+            log.info("Replaying stored response for idempotent retry");
+            return new Result<>(value, true);
+        } catch (TimeoutException ex) {
+            throw new ConflictException("A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+        } catch (ExecutionException ex) {
+            // The first attempt failed and has been forgotten; surface its error so the client retries
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for the original request", ex);
+        }
+    }
+
+    // Over capacity: drop expired keys first, then the oldest completed ones. In-flight keys are
+    // kept so a retry never starts a second pipeline.
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        Iterator<Entry> iterator = entries.values().stream()
+            .filter(entry -> entry.result.isDone())
+            .sorted((left, right) -> Long.compare(left.expiresAt, right.expiresAt))
+            .limit(Math.max(0, entries.size() - maxEntries))
+            .iterator();
+        while (iterator.hasNext()) {
+            Entry oldest = iterator.next();
+            entries.values().remove(oldest);
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+
+    public static final class Result<T> {
+        private final T value;
+        private final boolean replayed;
+
+        private Result(T value, boolean replayed) {
+            this.value = value;
+            this.replayed = replayed;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isReplayed() {
+            return replayed;
+        }
+
+        public HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            if (replayed) {
+                headers.set(REPLAYED_HEADER, "true");
+            }
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.MapTileResponse;
+import com.safevoice.backend.application.event.ProblemChangePayload;
+import com.safevoice.backend.application.event.ProblemStatusesChangedPayload;
+import com.safevoice.backend.application.event.ProblemsArchivedPayload;
+import com.safevoice.backend.domain.entity.OutboxEvent;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.repository.ProblemRepository;
+import com.safevoice.backend.domain.repository.TileCellCount;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Heatmap tiles for the map view: per-status problem counts in a grid over each Web Mercator tile.
+// Tiles are aggregated in the database on a miss and kept in a per-instance LRU. Freshness comes from
+// the short TTL: relayed problem events are only delivered on the instance that relayed them, so the
+// patching below keeps that instance's tiles current sooner but other instances wait for expiry.
+@Slf4j
+@Service
+public class MapTileService {
+
+    public static final int MAX_ZOOM = 20;
+
+    // Web Mercator is only defined up to this latitude; the tile grid ends there
+    private static final double MAX_LATITUDE = 85.0511287798;
+    private static final double EDGE_PADDING_DEGREES = 1e-9;
+    private static final Problem.ProblemStatus[] STATUSES = Problem.ProblemStatus.values();
+
+    private final ProblemRepository problemRepository;
+    private final OutboxService outboxService;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access order, so iteration starts at the least recently used tile
+    private final LinkedHashMap<TileKey, CachedTile> tiles = new LinkedHashMap<>(256, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${map.tiles.grid-size:16}")
+    private Integer gridSize;
+
+    @Value("${map.tiles.cache-max-tiles:2000}")
+    private Integer maxTiles;
+
+    @Value("${map.tiles.cache-ttl-seconds:60}")
+    private Long ttlSeconds;
+
+    // Upper bound on how long a writing transaction stays open after recording its event time
+    @Value("${map.tiles.max-transaction-ms:10000}")
+    private Long maxTransactionMillis;
+
+    public MapTileService(ProblemRepository problemRepository, OutboxService outboxService, MeterRegistry registry) {
+        this.problemRepository = problemRepository;
+        this.outboxService = outboxService;
+        this.hits = Counter.builder("map.tiles.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("map.tiles.cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("map.tiles.cache.size", tiles, Map::size).register(registry);
+    }
+
+    private record TileKey(int z, int x, int y) {
+    }
+
+    // counts[row * gridSize + col][status ordinal]. loadedAt/queriedAt bracket the aggregation query.
+    private record CachedTile(long[][] counts, LocalDateTime loadedAt, LocalDateTime queriedAt, long expiresAtNanos) {
+    }
+
+    public MapTileResponse getTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new ValidationException("Zoom must be between 0 and " + MAX_ZOOM);
+        }
+        int tilesPerSide = 1 << z;
+        if (x < 0 || x >= tilesPerSide || y < 0 || y >= tilesPerSide) {
+            throw new ValidationException("Tile " + z + "/" + x + "/" + y + " does not exist");
+        }
+        TileKey key = new TileKey(z, x, y);
+
+        lock.lock();
+        try {
+            CachedTile cached = tiles.get(key);
+            if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+                hits.increment();
+                return toResponse(key, cached);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Aggregated outside the lock; two concurrent misses both query, which is harmless
+        misses.increment();
+        CachedTile loaded = load(key);
+        lock.lock();
+        try {
+            tiles.put(key, loaded);
+            Iterator<TileKey> eldest = tiles.keySet().iterator();
+            while (tiles.size() > maxTiles && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return toResponse(key, loaded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case PROBLEM_CREATED, PROBLEM_STATUS_CHANGED ->
+                apply(outboxService.readPayload(event, ProblemChangePayload.class));
+            case PROBLEM_STATUSES_CHANGED ->
+                outboxService.readPayload(event, ProblemStatusesChangedPayload.class).getChanges().forEach(this::apply);
+            // Tiles aggregate the hot table only, so archived problems drop off the map
+            case PROBLEMS_ARCHIVED ->
+                outboxService.readPayload(event, ProblemsArchivedPayload.class).getChanges().forEach(this::apply);
+            default -> {
+            }
+        }
+    }
+
+    // A change is patched into a cached tile only if it certainly committed after the tile's query, and
+    // ignored if it certainly committed before. Anything in between evicts the tile.
+    private void apply(ProblemChangePayload change) {
+        if (change.getLatitude() == null || change.getLongitude() == null || change.getOccurredAt() == null) {
+            return;
+        }
+        LocalDateTime occurredAt = change.getOccurredAt();
+
+        lock.lock();
+        try {
+            if (tiles.isEmpty()) {
+                return;
+            }
+            for (int z = 0; z <= MAX_ZOOM; z++) {
+                double tileX = tileX(change.getLongitude(), z);
+                double tileY = tileY(change.getLatitude(), z);
+                int x = (int) Math.floor(tileX);
+                int y = (int) Math.floor(tileY);
+                TileKey key = new TileKey(z, x, y);
+                CachedTile tile = tiles.get(key);
+                if (tile == null) {
+                    continue;
+                }
+
+                if (occurredAt.isAfter(tile.queriedAt())) {
+                    long[] cell = tile.counts()[cellIndex(tileX - x, tileY - y)];
+                    if (change.getPreviousStatus() != null) {
+                        cell[change.getPreviousStatus().ordinal()]--;
+                    }
+                    if (change.getStatus() != null) {
+                        cell[change.getStatus().ordinal()]++;
+                    }
+                } else if (!occurredAt.plusNanos(maxTransactionMillis * 1_000_000L).isBefore(tile.loadedAt())) {
+                    tiles.remove(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CachedTile load(TileKey key) {
+        double scale = 1 << key.z();
+        LocalDateTime loadedAt = LocalDateTime.now();
+        List<TileCellCount> rows = problemRepository.aggregateTile(
+            scale, key.x(), key.y(), gridSize,
+            latitudeOfTileY(key.y() + 1, scale) - EDGE_PADDING_DEGREES,
+            latitudeOfTileY(key.y(), scale) + EDGE_PADDING_DEGREES,
+            longitudeOfTileX(key.x(), scale) - EDGE_PADDING_DEGREES,
+            longitudeOfTileX(key.x() + 1, scale) + EDGE_PADDING_DEGREES);
+        LocalDateTime queriedAt = LocalDateTime.now();
+
+        long[][] counts = new long[gridSize * gridSize][STATUSES.length];
+        for (TileCellCount row : rows) {
+            int cell = clamp(row.getCy()) * gridSize + clamp(row.getCx());
+            counts[cell][Problem.ProblemStatus.valueOf(row.getStatus()).ordinal()] += row.getTotal();
+        }
+        return new CachedTile(counts, loadedAt, queriedAt, System.nanoTime() + ttlSeconds * 1_000_000_000L);
+    }
+
+    // Called with the lock held; copies, since cached counts keep changing
+    private MapTileResponse toResponse(TileKey key, CachedTile tile) {
+        double scale = 1 << key.z();
+        List<MapTileResponse.Cell> cells = new ArrayList<>();
+        for (int index = 0; index < tile.counts().length; index++) {
+            Map<Problem.ProblemStatus, Long> counts = new EnumMap<>(Problem.ProblemStatus.class);
+            long total = 0;
+            for (Problem.ProblemStatus status : STATUSES) {
+                long count = tile.counts()[index][status.ordinal()];
+                if (count > 0) {
+                    counts.put(status, count);
+                    total += count;
+                }
+            }
+            if (total > 0) {
+                cells.add(MapTileResponse.Cell.builder()
+                    .row(index / gridSize)
+                    .col(index % gridSize)
+                    .total(total)
+                    .counts(counts)
+                    .build());
+            }
+        }
+
+        return MapTileResponse.builder()
+            .z(key.z())
+            .x(key.x())
+            .y(key.y())
+            .gridSize(gridSize)
+            .north(latitudeOfTileY(key.y(), scale))
+            .south(latitudeOfTileY(key.y() + 1, scale))
+            .west(longitudeOfTileX(key.x(), scale))
+            .east(longitudeOfTileX(key.x() + 1, scale))
+            .cells(cells)
+            .build();
+    }
+
+    private int cellIndex(double fractionX, double fractionY) {
+        return clamp((int) Math.floor(fractionY * gridSize)) * gridSize + clamp((int) Math.floor(fractionX * gridSize));
+    }
+
+    private int clamp(int cell) {
+        return Math.min(Math.max(cell, 0), gridSize - 1);
+    }
+
+    // Same formulas as ProblemRepository.aggregateTile
+    private static double tileX(double longitude, int z) {
+        return (longitude + 180) / 360 * (1 << z);
+    }
+
+    private static double tileY(double latitude, int z) {
+        double radians = Math.toRadians(Math.max(Math.min(latitude, MAX_LATITUDE), -MAX_LATITUDE));
+        return (1 - Math.log(Math.tan(Math.PI / 4 + radians / 2)) / Math.PI) / 2 * (1 << z);
+    }
+
+    private static double longitudeOfTileX(int x, double scale) {
+        return x / scale * 360 - 180;
+    }
+
+    private static double latitudeOfTileY(int y, double scale) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y / scale))));
+    }
+}
@@ -2,19 +2,25 @@ package com.safevoice.backend.application.service;
 
 import com.safevoice.backend.api.dto.AuthResponse;
 import com.safevoice.backend.api.dto.LoginRequest;
+import com.safevoice.backend.api.dto.OfficialPageResponse;
 import com.safevoice.backend.api.dto.OfficialProfileResponse;
 import com.safevoice.backend.api.dto.OfficialRegisterRequest;
 import com.safevoice.backend.domain.entity.Official;
 import com.safevoice.backend.domain.repository.OfficialRepository;
+import com.safevoice.backend.domain.repository.OfficialSummary;
 import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
 import com.safevoice.backend.infrastructure.exception.ValidationException;
 import com.safevoice.backend.infrastructure.security.JwtTokenProvider;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -25,14 +31,17 @@ public class OfficialAuthService {
     private final OfficialRepository officialRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final EntityManagerFactory entityManagerFactory;
 
     public OfficialAuthService(
             OfficialRepository officialRepository,
             PasswordEncoder passwordEncoder,
-            JwtTokenProvider jwtTokenProvider) {
+            JwtTokenProvider jwtTokenProvider,
+            EntityManagerFactory entityManagerFactory) {
         this.officialRepository = officialRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     public void registerOfficial(OfficialRegisterRequest request) {
@@ -103,10 +112,18 @@ public class OfficialAuthService {
             .orElseThrow(() -> new ValidationException("Official not found"));
     }
 
-    public List<OfficialProfileResponse> getAllOfficials() {
-        return officialRepository.findAll().stream()
-            .map(OfficialProfileResponse::from)
-            .toList();
+    @Transactional(readOnly = true)
+    public OfficialPageResponse getOfficials(Boolean verified, Boolean active, String department, Pageable pageable) {
+        Page<OfficialSummary> page = officialRepository.findSummaries(verified, active, department, pageable);
+
+        return OfficialPageResponse.builder()
+            .content(page.getContent().stream().map(OfficialProfileResponse::from).toList())
+            .pageNumber(page.getNumber())
+            .pageSize(page.getSize())
+            .totalElements(page.getTotalElements())
+            .totalPages(page.getTotalPages())
+            .isLast(page.isLast())
+            .build();
     }
 
     public OfficialProfileResponse updateOfficialVerification(UUID officialId, boolean verified) {
@@ -115,6 +132,20 @@ public class OfficialAuthService {
 
         official.setIsVerified(verified);
         Official savedOfficial = officialRepository.save(official);
+        evictAfterCommit(officialId);
         return OfficialProfileResponse.from(savedOfficial);
     }
+
+    // Verification gates login, so the cached entity is dropped once the change is visible rather than
+    // trusting a copy that may have been loaded from the replica. The email -> id entry stays valid
+    // because email is an immutable natural id. This only evicts this instance's cache; other instances
+    // pick the change up when their entry expires (the officials region TTL in ehcache.xml).
+    private void evictAfterCommit(UUID officialId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Official.class, officialId);
+            }
+        });
+    }
 }
@@ -0,0 +1,97 @@
+package com.safevoice.backend.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safevoice.backend.application.event.ProblemChangePayload;
+import com.safevoice.backend.application.event.ProblemStatusesChangedPayload;
+import com.safevoice.backend.application.event.ProblemsArchivedPayload;
+import com.safevoice.backend.application.event.ResolutionSubmittedPayload;
+import com.safevoice.backend.domain.entity.OutboxEvent;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Resolution;
+import com.safevoice.backend.domain.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class OutboxService {
+
+    public static final String PROBLEM_AGGREGATE = "Problem";
+    public static final String RESOLUTION_AGGREGATE = "Resolution";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProblemCreated(Problem problem) {
+        record(PROBLEM_AGGREGATE, problem.getId(), OutboxEvent.EventType.PROBLEM_CREATED,
+            ProblemChangePayload.of(problem, null, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProblemStatusChanged(Problem problem, Problem.ProblemStatus previousStatus) {
+        record(PROBLEM_AGGREGATE, problem.getId(), OutboxEvent.EventType.PROBLEM_STATUS_CHANGED,
+            ProblemChangePayload.of(problem, previousStatus, LocalDateTime.now()));
+    }
+
+    // A bulk change spans many aggregates, so the event has no single aggregate id
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProblemStatusesChanged(List<ProblemChangePayload> changes, LocalDateTime occurredAt) {
+        record(PROBLEM_AGGREGATE, null, OutboxEvent.EventType.PROBLEM_STATUSES_CHANGED,
+            ProblemStatusesChangedPayload.builder().changes(changes).occurredAt(occurredAt).build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProblemsArchived(List<ProblemChangePayload> changes, LocalDateTime occurredAt) {
+        record(PROBLEM_AGGREGATE, null, OutboxEvent.EventType.PROBLEMS_ARCHIVED,
+            ProblemsArchivedPayload.builder().changes(changes).occurredAt(occurredAt).build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordResolutionSubmitted(Resolution resolution) {
+        record(RESOLUTION_AGGREGATE, resolution.getId(), OutboxEvent.EventType.RESOLUTION_SUBMITTED,
+            ResolutionSubmittedPayload.of(resolution));
+    }
+
+    // Must join the caller's transaction so the event commits or rolls back with the entity change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, UUID aggregateId, OutboxEvent.EventType eventType, Object payload) {
+        OutboxEvent event = OutboxEvent.builder()
+            .aggregateType(aggregateType)
+            .aggregateId(aggregateId)
+            .eventType(eventType)
+            .payload(toJson(payload))
+            .build();
+
+        outboxEventRepository.save(event);
+        log.debug("Recorded outbox event {} for {} {}", eventType, aggregateType, aggregateId);
+    }
+
+    public <T> T readPayload(OutboxEvent event, Class<T> payloadType) {
+        try {
+            return objectMapper.readValue(event.getPayload(), payloadType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for outbox event " + event.getId(), e);
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.application.event.ProblemChangePayload;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.repository.ArchivableProblem;
+import com.safevoice.backend.domain.repository.ArchivedProblemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Moves problems that have been RESOLVED or REJECTED for longer than min-age-days, with their
+// resolutions, into problems_archive/resolutions_archive so the hot tables and their indexes only hold
+// live reports. Throttled: each run moves at most max-batches-per-run batches, each in its own short
+// transaction. The job shares the scheduler thread with the outbox relay, so it never sleeps between
+// batches; interval-ms paces it instead.
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProblemArchiveService {
+
+    private final ArchivedProblemRepository archivedProblemRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${archive.min-age-days:180}")
+    private Integer minAgeDays;
+
+    @Value("${archive.batch-size:500}")
+    private Integer batchSize;
+
+    @Value("${archive.max-batches-per-run:10}")
+    private Integer maxBatchesPerRun;
+
+    public ProblemArchiveService(
+            ArchivedProblemRepository archivedProblemRepository,
+            OutboxService outboxService,
+            TransactionTemplate transactionTemplate) {
+        this.archivedProblemRepository = archivedProblemRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${archive.interval-ms:60000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(tx -> archiveBatch(cutoff));
+            total += moved != null ? moved : 0;
+            if (moved == null || moved < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} problems last changed before {}", total, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<ArchivableProblem> candidates = archivedProblemRepository.lockArchivable(cutoff, batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = candidates.stream().map(ArchivableProblem::getId).toList();
+        LocalDateTime archivedAt = LocalDateTime.now();
+
+        int problems = archivedProblemRepository.copyProblems(ids, archivedAt);
+        int resolutions = archivedProblemRepository.moveResolutions(ids, archivedAt);
+        archivedProblemRepository.deleteProblems(ids);
+
+        List<ProblemChangePayload> changes = candidates.stream()
+            .map(candidate -> ProblemChangePayload.builder()
+                .problemId(candidate.getId())
+                .previousStatus(Problem.ProblemStatus.valueOf(candidate.getStatus()))
+                .latitude(candidate.getLatitude())
+                .longitude(candidate.getLongitude())
+                .createdAt(candidate.getCreatedAt())
+                .occurredAt(archivedAt)
+                .build())
+            .toList();
+        outboxService.recordProblemsArchived(changes, archivedAt);
+
+        log.debug("Archived batch of {} problems and {} resolutions", problems, resolutions);
+        return problems;
+    }
+}
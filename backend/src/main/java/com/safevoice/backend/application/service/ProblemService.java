@@ -1,65 +1,189 @@
 package com.safevoice.backend.application.service;
 
 import com.safevoice.backend.api.dto.AIModerationResponse;
+import com.safevoice.backend.api.dto.BulkUpdateProblemStatusResponse;
 import com.safevoice.backend.api.dto.CreateProblemRequest;
+import com.safevoice.backend.api.dto.FinalizeUploadRequest;
+import com.safevoice.backend.api.dto.ProblemField;
 import com.safevoice.backend.api.dto.ProblemPageResponse;
 import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.ProblemSearchResponse;
+import com.safevoice.backend.api.dto.SparseProblemPageResponse;
+import com.safevoice.backend.application.event.ProblemChangePayload;
 import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.repository.ArchivedProblemRepository;
 import com.safevoice.backend.domain.repository.ProblemRepository;
+import com.safevoice.backend.domain.repository.ProblemSearchHit;
 import com.safevoice.backend.infrastructure.exception.ExternalServiceException;
 import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
 import com.safevoice.backend.infrastructure.exception.ValidationException;
 import com.safevoice.backend.infrastructure.http.AIServiceClient;
 import com.safevoice.backend.infrastructure.image.ImageProcessingService;
-import com.safevoice.backend.infrastructure.storage.SupabaseStorageService;
+import com.safevoice.backend.infrastructure.metrics.PipelineMetrics;
+import com.safevoice.backend.infrastructure.storage.DownloadedObject;
+import com.safevoice.backend.infrastructure.storage.StorageService;
+import jakarta.persistence.Tuple;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.safevoice.backend.infrastructure.metrics.PipelineMetrics.PROBLEM_PIPELINE;
+
 @Slf4j
 @Service
-@Transactional
 public class ProblemService {
 
     private final ProblemRepository problemRepository;
-    private final SupabaseStorageService storageService;
+    private final ArchivedProblemRepository archivedProblemRepository;
+    private final StorageService storageService;
     private final ImageProcessingService imageProcessingService;
     private final AIServiceClient aiServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+    private final ProblemStatsService problemStatsService;
+    private final PipelineMetrics pipelineMetrics;
 
     @Value("${ai.service.moderation-threshold:0.45}")
     private Double moderationThreshold;
 
+    @Value("${uploads.direct.max-bytes:5242880}")
+    private Long maxImageBytes;
+
+    @Value("${search.max-candidates:1000}")
+    private Integer maxSearchCandidates;
+
     public ProblemService(
             ProblemRepository problemRepository,
-            SupabaseStorageService storageService,
+            ArchivedProblemRepository archivedProblemRepository,
+            StorageService storageService,
             ImageProcessingService imageProcessingService,
-            AIServiceClient aiServiceClient) {
+            AIServiceClient aiServiceClient,
+            TransactionTemplate transactionTemplate,
+            OutboxService outboxService,
+            ProblemStatsService problemStatsService,
+            PipelineMetrics pipelineMetrics) {
         this.problemRepository = problemRepository;
+        this.archivedProblemRepository = archivedProblemRepository;
         this.storageService = storageService;
         this.imageProcessingService = imageProcessingService;
         this.aiServiceClient = aiServiceClient;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxService = outboxService;
+        this.problemStatsService = problemStatsService;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
+    // Deliberately not @Transactional: moderation and the storage upload can take seconds, so only
+    // the final insert runs in a transaction and no pooled connection is held across external calls.
     public ProblemResponse createProblem(CreateProblemRequest request, String ipAddress) {
+        return pipelineMetrics.time(PROBLEM_PIPELINE, "total", () -> runCreateProblem(request, ipAddress));
+    }
+
+    private ProblemResponse runCreateProblem(CreateProblemRequest request, String ipAddress) {
         log.info("Creating new problem from IP: {}", ipAddress);
+        MultipartFile imageFile = request.getImageFile();
 
         // Validate image
-        imageProcessingService.validateImage(request.getImageFile());
+        pipelineMetrics.time(PROBLEM_PIPELINE, "validation", () -> imageProcessingService.validateImage(imageFile));
 
         // Strip metadata
-        byte[] cleanImageData = imageProcessingService.removeExifMetadata(request.getImageFile());
+        byte[] cleanImageData = pipelineMetrics.time(PROBLEM_PIPELINE, "metadata_strip",
+            () -> imageProcessingService.removeExifMetadata(imageFile));
 
         // Call AI Moderation Service
-        AIModerationResponse moderationResult;
+        AIModerationResponse moderationResult = moderate(imageFile);
+
+        // Upload image to Supabase Storage
+        String imageUrl = pipelineMetrics.time(PROBLEM_PIPELINE, "storage_upload",
+            () -> storageService.uploadImage(imageFile, "problems"));
+
+        return saveProblem(imageUrl, request.getDescription(), request.getLatitude(), request.getLongitude(),
+            moderationResult, ipAddress);
+    }
+
+    // Direct uploads: the client has already put the image under the quarantine prefix. It is moderated
+    // from there and only moved under problems/ once it passes; an invalid or rejected image is deleted.
+    public ProblemResponse createProblemFromQuarantine(
+            String quarantineKey,
+            FinalizeUploadRequest request,
+            String ipAddress) {
+        return pipelineMetrics.time(PROBLEM_PIPELINE, "total",
+            () -> runCreateProblemFromQuarantine(quarantineKey, request, ipAddress));
+    }
+
+    private ProblemResponse runCreateProblemFromQuarantine(
+            String quarantineKey,
+            FinalizeUploadRequest request,
+            String ipAddress) {
+        log.info("Creating new problem from quarantined upload {} from IP: {}", quarantineKey, ipAddress);
+
+        try (DownloadedObject image = pipelineMetrics.time(PROBLEM_PIPELINE, "quarantine_download",
+                () -> storageService.downloadObject(quarantineKey, maxImageBytes))) {
+            MultipartFile imageFile = image.asMultipartFile("imageFile");
+
+            pipelineMetrics.time(PROBLEM_PIPELINE, "validation", () -> imageProcessingService.validateImage(imageFile));
+
+            AIModerationResponse moderationResult = moderate(imageFile);
+
+            // Promote out of quarantine only after moderation passed. Promotion copies, and the quarantined
+            // original is only dropped once the problem row is committed, so a failed save can be retried.
+            String imageUrl = pipelineMetrics.time(PROBLEM_PIPELINE, "storage_promote",
+                () -> storageService.promoteObject(quarantineKey, "problems"));
+
+            ProblemResponse response;
+            try {
+                response = saveProblem(imageUrl, request.getDescription(), request.getLatitude(),
+                    request.getLongitude(), moderationResult, ipAddress);
+            } catch (DataAccessException | TransactionException ex) {
+                log.error("Failed to save problem for quarantined upload {}", quarantineKey, ex);
+                throw new ExternalServiceException("Failed to save problem, retry the finalize request", ex);
+            }
+            deleteQuarantined(quarantineKey);
+            return response;
+        } catch (ValidationException ex) {
+            // Oversized, not an allowed image, or rejected by moderation: retrying can't succeed
+            storageService.deleteObject(quarantineKey);
+            throw ex;
+        } catch (IllegalArgumentException ex) {
+            storageService.deleteObject(quarantineKey);
+            throw new ValidationException(ex.getMessage());
+        }
+    }
+
+    // Leftovers are removed by the quarantine cleanup, so this must not fail a finalize that already saved
+    private void deleteQuarantined(String quarantineKey) {
+        try {
+            storageService.deleteObject(quarantineKey);
+        } catch (RuntimeException ex) {
+            log.warn("Could not delete promoted upload {} from quarantine: {}", quarantineKey, ex.getMessage());
+        }
+    }
+
+    private AIModerationResponse moderate(MultipartFile imageFile) {
         try {
-            moderationResult = aiServiceClient.callModerationService(request.getImageFile());
+            AIModerationResponse moderationResult = pipelineMetrics.time(PROBLEM_PIPELINE, "moderation",
+                () -> aiServiceClient.callModerationService(imageFile));
             log.info("Moderation result - NSFW: {}, Violence: {}, OCR: {}, Confidence: {}",
                 moderationResult.getNsfwScore(),
                 moderationResult.getViolenceScore(),
@@ -78,41 +202,58 @@ public class ProblemService {
                     moderationResult.getViolenceScore(),
                     moderationResult.getOcrFlag(),
                     moderationResult.getFinalConfidence());
+                pipelineMetrics.recordModerationOutcome(PROBLEM_PIPELINE, "rejected");
                 throw new ValidationException("Content rejected due to moderation policy violation");
             }
+            pipelineMetrics.recordModerationOutcome(PROBLEM_PIPELINE, "passed");
+            return moderationResult;
         } catch (ExternalServiceException e) {
             log.error("AI moderation service unavailable. Upload blocked for safety: {}", e.getMessage());
+            pipelineMetrics.recordModerationOutcome(PROBLEM_PIPELINE, "error");
             throw e;
         }
+    }
 
-        // Upload image to Supabase Storage
-        String imageUrl = storageService.uploadImage(request.getImageFile(), "problems");
-
+    private ProblemResponse saveProblem(
+            String imageUrl,
+            String description,
+            Double latitude,
+            Double longitude,
+            AIModerationResponse moderationResult,
+            String ipAddress) {
         // Save problem to database
         Problem problem = Problem.builder()
             .imageUrl(imageUrl)
-            .latitude(request.getLatitude())
-            .longitude(request.getLongitude())
-            .description(request.getDescription())
+            .latitude(latitude)
+            .longitude(longitude)
+            .description(description)
+            .descriptionTokenIds(DescriptionMatcher.tokenIds(description))
             .status(Problem.ProblemStatus.OPEN)
             .aiModerationScore(moderationResult.getFinalConfidence())
             .moderationPassed(true)
             .reporterIpAddress(ipAddress)
             .build();
 
-        Problem savedProblem = problemRepository.save(problem);
+        Problem savedProblem = pipelineMetrics.time(PROBLEM_PIPELINE, "db_save",
+            () -> transactionTemplate.execute(status -> {
+                Problem inserted = problemRepository.saveAndFlush(problem);
+                outboxService.recordProblemCreated(inserted);
+                problemStatsService.recordProblemCreated(inserted);
+                return inserted;
+            }));
         log.info("Problem created successfully with ID: {}", savedProblem.getId());
 
-        return mapToResponse(savedProblem);
+        return ProblemResponse.from(savedProblem);
     }
 
+    @Transactional(readOnly = true)
     public ProblemPageResponse getAllProblems(Pageable pageable) {
         log.debug("Fetching problems with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
 
         Page<Problem> page = problemRepository.findAll(pageable);
 
         return ProblemPageResponse.builder()
-            .content(page.getContent().stream().map(this::mapToResponse).collect(Collectors.toList()))
+            .content(page.getContent().stream().map(ProblemResponse::from).collect(Collectors.toList()))
             .pageNumber(page.getNumber())
             .pageSize(page.getSize())
             .totalElements(page.getTotalElements())
@@ -121,40 +262,203 @@ public class ProblemService {
             .build();
     }
 
+    @Transactional(readOnly = true)
+    public SparseProblemPageResponse getAllProblems(Pageable pageable, List<ProblemField> fields) {
+        log.debug("Fetching fields {} of problems: page={}, size={}", fields, pageable.getPageNumber(), pageable.getPageSize());
+
+        Page<Tuple> page = problemRepository.findAllFields(SparseFields.attributePaths(fields), pageable);
+
+        return SparseProblemPageResponse.builder()
+            .content(page.getContent().stream().map(tuple -> SparseFields.toRow(tuple, fields)).collect(Collectors.toList()))
+            .pageNumber(page.getNumber())
+            .pageSize(page.getSize())
+            .totalElements(page.getTotalElements())
+            .totalPages(page.getTotalPages())
+            .isLast(page.isLast())
+            .build();
+    }
+
+    @Transactional(readOnly = true)
     public ProblemResponse getProblemById(UUID problemId) {
         log.debug("Fetching problem with ID: {}", problemId);
 
-        Problem problem = problemRepository.findById(problemId)
+        Optional<Problem> problem = problemRepository.findById(problemId);
+        if (problem.isPresent()) {
+            return ProblemResponse.from(problem.get());
+        }
+        return findArchived(problemId)
+            .orElseThrow(() -> new ResourceNotFoundException("Problem not found with ID: " + problemId));
+    }
+
+    // Only the requested columns are selected; archived problems are rare enough to load whole
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProblemById(UUID problemId, List<ProblemField> fields) {
+        log.debug("Fetching fields {} of problem with ID: {}", fields, problemId);
+
+        Optional<Tuple> tuple = problemRepository.findFieldsById(problemId, SparseFields.attributePaths(fields));
+        if (tuple.isPresent()) {
+            return SparseFields.toRow(tuple.get(), fields);
+        }
+        ProblemResponse archived = findArchived(problemId)
             .orElseThrow(() -> new ResourceNotFoundException("Problem not found with ID: " + problemId));
+        Map<String, Object> row = new LinkedHashMap<>();
+        fields.forEach(field -> row.put(field.getFieldName(), field.valueOf(archived)));
+        return row;
+    }
+
+    // Old resolved/rejected problems live in the archive (ProblemArchiveService)
+    private Optional<ProblemResponse> findArchived(UUID problemId) {
+        return archivedProblemRepository.findById(problemId)
+            .map(archived -> ProblemResponse.from(archived, archivedProblemRepository.countResolutions(problemId)));
+    }
+
+    // Ranked full-text search over the newest search.max-candidates matches; the cursor is the (rank, id)
+    // of the last hit of the previous page
+    @Transactional(readOnly = true)
+    public ProblemSearchResponse searchProblems(String query, Problem.ProblemStatus status, String cursor, int limit) {
+        log.debug("Searching problems: query={}, status={}, limit={}", query, status, limit);
 
-        return mapToResponse(problem);
+        // The first page starts above every possible rank
+        SearchCursor after = cursor != null
+            ? SearchCursor.decode(cursor)
+            : new SearchCursor(Float.POSITIVE_INFINITY, new UUID(0L, 0L));
+
+        // One extra hit tells whether there is a next page
+        List<ProblemSearchHit> hits = problemRepository.searchByDescription(
+            query, status != null ? status.name() : null, after.rank(), after.id(), maxSearchCandidates, limit + 1);
+        boolean hasMore = hits.size() > limit;
+        List<ProblemSearchHit> page = hasMore ? hits.subList(0, limit) : hits;
+
+        Map<UUID, Problem> problems = problemRepository.findAllById(page.stream().map(ProblemSearchHit::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(Problem::getId, Function.identity()));
+
+        ProblemSearchHit last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return ProblemSearchResponse.builder()
+            .content(page.stream()
+                .map(hit -> problems.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .map(ProblemResponse::from)
+                .toList())
+            .nextCursor(hasMore ? new SearchCursor(last.getRank(), last.getId()).encode() : null)
+            .build();
     }
 
+    private record SearchCursor(float rank, UUID id) {
+
+        String encode() {
+            String position = Float.toString(rank) + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SearchCursor decode(String cursor) {
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = position.indexOf('|');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Missing separator");
+                }
+                return new SearchCursor(Float.parseFloat(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+            } catch (IllegalArgumentException ex) {
+                throw new ValidationException("Invalid search cursor");
+            }
+        }
+    }
+
+    @Transactional
     public ProblemResponse updateProblemStatus(UUID problemId, Problem.ProblemStatus newStatus) {
         log.info("Updating problem {} status to {}", problemId, newStatus);
 
         Problem problem = problemRepository.findById(problemId)
             .orElseThrow(() -> new ResourceNotFoundException("Problem not found with ID: " + problemId));
 
+        Problem.ProblemStatus previousStatus = problem.getStatus();
+        LocalDateTime previousUpdatedAt = problem.getUpdatedAt();
         problem.setStatus(newStatus);
-        Problem updatedProblem = problemRepository.save(problem);
+        // Flushed so updatedAt holds the value @UpdateTimestamp wrote, which the stats count from
+        Problem updatedProblem = problemRepository.saveAndFlush(problem);
+
+        if (previousStatus != newStatus) {
+            outboxService.recordProblemStatusChanged(updatedProblem, previousStatus);
+            problemStatsService.recordStatusChanges(List.of(new ProblemStatsService.StatusChange(
+                problem.getCreatedAt(), previousStatus, previousUpdatedAt, newStatus, updatedProblem.getUpdatedAt())));
+        }
 
         log.info("Problem status updated successfully");
-        return mapToResponse(updatedProblem);
-    }
-
-    private ProblemResponse mapToResponse(Problem problem) {
-        return ProblemResponse.builder()
-            .id(problem.getId())
-            .imageUrl(problem.getImageUrl())
-            .latitude(problem.getLatitude())
-            .longitude(problem.getLongitude())
-            .description(problem.getDescription())
-            .status(problem.getStatus())
-            .aiModerationScore(problem.getAiModerationScore())
-            .createdAt(problem.getCreatedAt())
-            .updatedAt(problem.getUpdatedAt())
-            .resolutionCount(problem.getResolutions() != null ? problem.getResolutions().size() : 0)
+        return ProblemResponse.from(updatedProblem);
+    }
+
+    // Applies many status changes in one transaction: one load for all ids, then one set-based UPDATE
+    // per distinct target status, and a single outbox event for everything that changed.
+    // updates is iterated in order and determines the order of the results.
+    @Transactional
+    public BulkUpdateProblemStatusResponse updateProblemStatuses(Map<UUID, Problem.ProblemStatus> updates) {
+        log.info("Bulk updating status of {} problems", updates.size());
+
+        Map<UUID, Problem> problems = problemRepository.findAllById(updates.keySet()).stream()
+            .collect(Collectors.toMap(Problem::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Problem.ProblemStatus, List<UUID>> idsByStatus = new EnumMap<>(Problem.ProblemStatus.class);
+        List<ProblemChangePayload> changes = new ArrayList<>();
+        List<ProblemStatsService.StatusChange> statusChanges = new ArrayList<>();
+        List<BulkUpdateProblemStatusResponse.ItemResult> results = new ArrayList<>(updates.size());
+        int unchanged = 0;
+        int notFound = 0;
+
+        for (Map.Entry<UUID, Problem.ProblemStatus> update : updates.entrySet()) {
+            UUID id = update.getKey();
+            Problem.ProblemStatus newStatus = update.getValue();
+            Problem problem = problems.get(id);
+            if (problem == null) {
+                notFound++;
+                results.add(itemResult(id, BulkUpdateProblemStatusResponse.Outcome.NOT_FOUND, null, null));
+                continue;
+            }
+
+            Problem.ProblemStatus previousStatus = problem.getStatus();
+            if (previousStatus == newStatus) {
+                unchanged++;
+                results.add(itemResult(id, BulkUpdateProblemStatusResponse.Outcome.UNCHANGED, previousStatus, newStatus));
+                continue;
+            }
+
+            // The loaded entity is left untouched so dirty checking doesn't issue a row-by-row UPDATE
+            idsByStatus.computeIfAbsent(newStatus, status -> new ArrayList<>()).add(id);
+            ProblemChangePayload change = ProblemChangePayload.of(problem, previousStatus, now);
+            change.setStatus(newStatus);
+            changes.add(change);
+            statusChanges.add(new ProblemStatsService.StatusChange(
+                problem.getCreatedAt(), previousStatus, problem.getUpdatedAt(), newStatus, now));
+            results.add(itemResult(id, BulkUpdateProblemStatusResponse.Outcome.UPDATED, previousStatus, newStatus));
+        }
+
+        idsByStatus.forEach((status, ids) -> problemRepository.updateStatus(ids, status, now));
+        if (!changes.isEmpty()) {
+            outboxService.recordProblemStatusesChanged(changes, now);
+            problemStatsService.recordStatusChanges(statusChanges);
+        }
+
+        log.info("Bulk status update: {} updated, {} unchanged, {} not found", changes.size(), unchanged, notFound);
+        return BulkUpdateProblemStatusResponse.builder()
+            .updated(changes.size())
+            .unchanged(unchanged)
+            .notFound(notFound)
+            .results(results)
+            .build();
+    }
+
+    private static BulkUpdateProblemStatusResponse.ItemResult itemResult(
+            UUID id,
+            BulkUpdateProblemStatusResponse.Outcome outcome,
+            Problem.ProblemStatus previousStatus,
+            Problem.ProblemStatus status) {
+        return BulkUpdateProblemStatusResponse.ItemResult.builder()
+            .id(id)
+            .outcome(outcome)
+            .previousStatus(previousStatus)
+            .status(status)
             .build();
     }
 }
@@ -0,0 +1,221 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.StatsResponse;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Resolution;
+import com.safevoice.backend.domain.entity.StatsCounter;
+import com.safevoice.backend.domain.repository.StatsCounterRepository;
+import com.safevoice.backend.domain.repository.StatsCounterTotal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Counters behind GET /api/stats. They are bumped in the transaction that makes the change, so they
+// commit or roll back with it, and are checked against the tables on a schedule to repair any drift.
+// Problems are bucketed by the day they were reported and their current status.
+@Slf4j
+@Service
+public class ProblemStatsService {
+
+    // Cells are always upserted in this order so concurrent transactions can't deadlock on them
+    private static final Comparator<Cell> CELL_ORDER = Comparator.comparing(Cell::metric)
+        .thenComparing(Cell::day)
+        .thenComparing(Cell::bucket);
+
+    // pg advisory lock key for reconcile, shared by all instances
+    private static final long RECONCILE_LOCK_KEY = 0x5346_5354_4154_5331L;
+
+    private final StatsCounterRepository statsCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+
+    public ProblemStatsService(
+            StatsCounterRepository statsCounterRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.statsCounterRepository = statsCounterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // previousUpdatedAt is when the problem last changed, i.e. when it was resolved if previousStatus
+    // is RESOLVED. changedAt must be the updated_at written with this change, so that the seconds
+    // added on resolve are the ones subtracted on reopen and the ones reconcile counts.
+    public record StatusChange(
+            LocalDateTime createdAt,
+            Problem.ProblemStatus previousStatus,
+            LocalDateTime previousUpdatedAt,
+            Problem.ProblemStatus newStatus,
+            LocalDateTime changedAt) {
+    }
+
+    private record Cell(String metric, LocalDate day, String bucket) {
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProblemCreated(Problem problem) {
+        statsCounterRepository.increment(StatsCounter.PROBLEMS, problem.getCreatedAt().toLocalDate(),
+            problem.getStatus().name(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(List<StatusChange> changes) {
+        Map<Cell, Long> deltas = new TreeMap<>(CELL_ORDER);
+        for (StatusChange change : changes) {
+            LocalDate day = change.createdAt().toLocalDate();
+            deltas.merge(new Cell(StatsCounter.PROBLEMS, day, change.previousStatus().name()), -1L, Long::sum);
+            deltas.merge(new Cell(StatsCounter.PROBLEMS, day, change.newStatus().name()), 1L, Long::sum);
+            if (change.previousStatus() == Problem.ProblemStatus.RESOLVED) {
+                deltas.merge(resolveSecondsCell(day),
+                    -secondsBetween(change.createdAt(), change.previousUpdatedAt()), Long::sum);
+            }
+            if (change.newStatus() == Problem.ProblemStatus.RESOLVED) {
+                deltas.merge(resolveSecondsCell(day),
+                    secondsBetween(change.createdAt(), change.changedAt()), Long::sum);
+            }
+        }
+
+        deltas.forEach((cell, delta) -> {
+            if (delta != 0) {
+                statsCounterRepository.increment(cell.metric(), cell.day(), cell.bucket(), delta);
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordResolutionSubmitted(Resolution resolution) {
+        statsCounterRepository.increment(StatsCounter.RESOLUTIONS, resolution.getCreatedAt().toLocalDate(),
+            resolution.getVerificationStatus().name(), 1);
+    }
+
+    // Reads only the counters: a few rows per day, however many problems there are
+    @Transactional(readOnly = true)
+    public StatsResponse getStats(int days) {
+        Map<Problem.ProblemStatus, Long> problemsByStatus = new EnumMap<>(Problem.ProblemStatus.class);
+        for (Problem.ProblemStatus status : Problem.ProblemStatus.values()) {
+            problemsByStatus.put(status, 0L);
+        }
+        Map<Resolution.VerificationStatus, Long> resolutionsByStatus = new EnumMap<>(Resolution.VerificationStatus.class);
+        for (Resolution.VerificationStatus status : Resolution.VerificationStatus.values()) {
+            resolutionsByStatus.put(status, 0L);
+        }
+        long resolveSeconds = 0;
+
+        for (StatsCounterTotal total : statsCounterRepository.sumByMetricAndBucket()) {
+            switch (total.getMetric()) {
+                case StatsCounter.PROBLEMS ->
+                    problemsByStatus.put(Problem.ProblemStatus.valueOf(total.getBucket()), total.getTotal());
+                case StatsCounter.RESOLUTIONS ->
+                    resolutionsByStatus.put(Resolution.VerificationStatus.valueOf(total.getBucket()), total.getTotal());
+                case StatsCounter.RESOLVE_SECONDS -> resolveSeconds += total.getTotal();
+                default -> log.warn("Ignoring unknown stats metric {}", total.getMetric());
+            }
+        }
+
+        long totalProblems = problemsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        long resolved = problemsByStatus.get(Problem.ProblemStatus.RESOLVED);
+
+        return StatsResponse.builder()
+            .totalProblems(totalProblems)
+            .problemsByStatus(problemsByStatus)
+            .resolutionRate(totalProblems > 0 ? (double) resolved / totalProblems : 0.0)
+            .averageHoursToResolve(resolved > 0 ? resolveSeconds / 3600.0 / resolved : null)
+            .resolutionsByVerificationStatus(resolutionsByStatus)
+            .daily(daily(days))
+            .build();
+    }
+
+    // One entry per day, oldest first, including days without reports
+    private List<StatsResponse.DailyStats> daily(int days) {
+        LocalDate from = LocalDate.now().minusDays(days - 1L);
+        Map<LocalDate, StatsResponse.DailyStats> byDay = new HashMap<>();
+        for (StatsCounter counter : statsCounterRepository.findFromDay(from)) {
+            if (!StatsCounter.PROBLEMS.equals(counter.getId().getMetric())) {
+                continue;
+            }
+            StatsResponse.DailyStats day = byDay.computeIfAbsent(counter.getId().getDay(),
+                d -> StatsResponse.DailyStats.builder().day(d).build());
+            day.setReported(day.getReported() + counter.getTotal());
+            if (Problem.ProblemStatus.RESOLVED.name().equals(counter.getId().getBucket())) {
+                day.setResolved(day.getResolved() + counter.getTotal());
+            }
+        }
+
+        List<StatsResponse.DailyStats> daily = new ArrayList<>(days);
+        for (LocalDate day = from; !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            daily.add(byDay.getOrDefault(day, StatsResponse.DailyStats.builder().day(day).build()));
+        }
+        return daily;
+    }
+
+    // Hands the run to the task executor so the full aggregate never holds up the outbox relay and the
+    // other jobs on the scheduler thread; a run still in progress is not started again
+    @Scheduled(
+        initialDelayString = "${stats.reconcile-initial-delay-ms:600000}",
+        fixedDelayString = "${stats.reconcile-interval-ms:3600000}")
+    public void scheduleReconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    reconcile();
+                } finally {
+                    reconciling.set(false);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            reconciling.set(false);
+            log.warn("Stats reconcile not started: {}", ex.getMessage());
+        }
+    }
+
+    // Only one instance corrects at a time; the others skip the run instead of repeating the scan
+    public void reconcile() {
+        Integer corrected = transactionTemplate.execute(tx -> statsCounterRepository.tryAdvisoryLock(RECONCILE_LOCK_KEY)
+            ? statsCounterRepository.correctDriftFromTables()
+            : null);
+        if (corrected == null) {
+            log.debug("Stats reconcile skipped: another instance is running it");
+        } else if (corrected > 0) {
+            log.warn("Corrected {} drifted stats counter cells", corrected);
+        } else {
+            log.info("Stats counters match the tables");
+        }
+    }
+
+    private static Cell resolveSecondsCell(LocalDate day) {
+        return new Cell(StatsCounter.RESOLVE_SECONDS, day, Problem.ProblemStatus.RESOLVED.name());
+    }
+
+    // Whole seconds between the values as stored in the TIMESTAMP(6) columns, the same per-row floor as
+    // correctDriftFromTables. Timestamps generated in the JVM carry nanoseconds, which the driver rounds
+    // to microseconds on write.
+    private static long secondsBetween(LocalDateTime from, LocalDateTime to) {
+        return Math.floorDiv(ChronoUnit.MICROS.between(asStored(from), asStored(to)), 1_000_000L);
+    }
+
+    private static LocalDateTime asStored(LocalDateTime value) {
+        return value.plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+    }
+}
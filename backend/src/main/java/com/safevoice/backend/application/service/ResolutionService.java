@@ -2,6 +2,7 @@ package com.safevoice.backend.application.service;
 
 import com.safevoice.backend.api.dto.AIVerificationResponse;
 import com.safevoice.backend.api.dto.AIModerationResponse;
+import com.safevoice.backend.api.dto.ResolvedPostField;
 import com.safevoice.backend.api.dto.ResolvedPostResponse;
 import com.safevoice.backend.api.dto.ResolutionResponse;
 import com.safevoice.backend.domain.entity.Problem;
@@ -13,38 +14,55 @@ import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
 import com.safevoice.backend.infrastructure.exception.ValidationException;
 import com.safevoice.backend.infrastructure.http.AIServiceClient;
 import com.safevoice.backend.infrastructure.image.ImageProcessingService;
-import com.safevoice.backend.infrastructure.storage.SupabaseStorageService;
+import com.safevoice.backend.infrastructure.metrics.PipelineMetrics;
+import com.safevoice.backend.infrastructure.profiling.ImageDownloadEvent;
+import com.safevoice.backend.infrastructure.storage.StorageService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+
+import static com.safevoice.backend.infrastructure.metrics.PipelineMetrics.RESOLUTION_PIPELINE;
 
 @Slf4j
 @Service
-@Transactional
 public class ResolutionService {
 
     private final ResolutionRepository resolutionRepository;
     private final ProblemRepository problemRepository;
-    private final SupabaseStorageService storageService;
+    private final StorageService storageService;
     private final ImageProcessingService imageProcessingService;
     private final AIServiceClient aiServiceClient;
     private final RestTemplate restTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+    private final ProblemStatsService problemStatsService;
+    private final PipelineMetrics pipelineMetrics;
 
     @Value("${ai.service.verification-threshold:0.60}")
     private Double verificationThreshold;
@@ -60,18 +78,30 @@ public class ResolutionService {
     public ResolutionService(
             ResolutionRepository resolutionRepository,
             ProblemRepository problemRepository,
-            SupabaseStorageService storageService,
+            StorageService storageService,
             ImageProcessingService imageProcessingService,
             AIServiceClient aiServiceClient,
-            RestTemplate restTemplate) {
+            RestTemplate restTemplate,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+            TransactionTemplate transactionTemplate,
+            OutboxService outboxService,
+            ProblemStatsService problemStatsService,
+            PipelineMetrics pipelineMetrics) {
         this.resolutionRepository = resolutionRepository;
         this.problemRepository = problemRepository;
         this.storageService = storageService;
         this.imageProcessingService = imageProcessingService;
         this.aiServiceClient = aiServiceClient;
         this.restTemplate = restTemplate;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxService = outboxService;
+        this.problemStatsService = problemStatsService;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
+    // Deliberately not @Transactional: moderation, the original download, verification and the
+    // storage upload all happen before the short transaction that writes the outcome.
     public ResolutionResponse uploadResolution(
             UUID problemId,
             UUID officialId,
@@ -79,13 +109,40 @@ public class ResolutionService {
             String resolutionDescription,
             Double officialLatitude,
             Double officialLongitude) {
+        return pipelineMetrics.time(RESOLUTION_PIPELINE, "total", () -> runUploadResolution(
+            problemId, officialId, resolvedImage, resolutionDescription, officialLatitude, officialLongitude));
+    }
+
+    private ResolutionResponse runUploadResolution(
+            UUID problemId,
+            UUID officialId,
+            MultipartFile resolvedImage,
+            String resolutionDescription,
+            Double officialLatitude,
+            Double officialLongitude) {
         log.info("Official {} uploading resolution for problem {}", officialId, problemId);
 
         // Validate image
-        imageProcessingService.validateImage(resolvedImage);
+        pipelineMetrics.time(RESOLUTION_PIPELINE, "validation", () -> imageProcessingService.validateImage(resolvedImage));
+
+        // Fetch original problem (detached snapshot; re-read inside the write transaction below)
+        Problem problem = problemRepository.findById(problemId)
+            .orElseThrow(() -> new ResourceNotFoundException("Problem not found with ID: " + problemId));
+
+        // Moderate the resolution image (no unsafe content in resolved feed) while the
+        // original image is downloaded from storage; the two calls are independent.
+        Mono<AIModerationResponse> moderation = aiServiceClient.moderate(resolvedImage)
+            .doOnError(ex -> pipelineMetrics.recordModerationOutcome(RESOLUTION_PIPELINE, "error"));
+        Mono<MultipartFile> originalDownload = Mono.fromCallable(() -> downloadImageFromUrl(problem.getImageUrl()))
+            .subscribeOn(Schedulers.fromExecutor(taskExecutor));
+
+        Tuple2<AIModerationResponse, MultipartFile> fanOut = Mono.zip(
+                pipelineMetrics.time(RESOLUTION_PIPELINE, "moderation", moderation),
+                pipelineMetrics.time(RESOLUTION_PIPELINE, "original_download", originalDownload))
+            .block();
+        AIModerationResponse resolutionModeration = fanOut.getT1();
+        MultipartFile originalImageFile = fanOut.getT2();
 
-        // Moderate official resolution image as well (no unsafe content in resolved feed)
-        AIModerationResponse resolutionModeration = aiServiceClient.callModerationService(resolvedImage);
         boolean unsafeResolvedImage = Boolean.TRUE.equals(resolutionModeration.getOcrFlag())
             || resolutionModeration.getNsfwScore() > resolutionModerationThreshold
             || resolutionModeration.getViolenceScore() > resolutionModerationThreshold
@@ -99,19 +156,14 @@ public class ResolutionService {
                 resolutionModeration.getFinalConfidence()
             );
             log.warn(moderationReason);
+            pipelineMetrics.recordModerationOutcome(RESOLUTION_PIPELINE, "rejected");
             throw new ValidationException(moderationReason);
         }
-
-        // Fetch original problem
-        Problem problem = problemRepository.findById(problemId)
-            .orElseThrow(() -> new ResourceNotFoundException("Problem not found with ID: " + problemId));
-
-        // Download original image from storage
-        MultipartFile originalImageFile = downloadImageFromUrl(problem.getImageUrl());
+        pipelineMetrics.recordModerationOutcome(RESOLUTION_PIPELINE, "passed");
 
         // Call AI Verification Service
-        AIVerificationResponse verificationResult = aiServiceClient.callVerificationService(
-            originalImageFile, resolvedImage);
+        AIVerificationResponse verificationResult = pipelineMetrics.time(RESOLUTION_PIPELINE, "verification",
+            () -> aiServiceClient.callVerificationService(originalImageFile, resolvedImage));
 
         log.info("Verification result - Similarity: {}, Deepfake: {}, Status: {}",
             verificationResult.getSimilarityScore(),
@@ -119,19 +171,26 @@ public class ResolutionService {
             verificationResult.getVerificationStatus());
 
         // Upload resolved image to Supabase Storage
-        String resolvedImageUrl = storageService.uploadImage(resolvedImage, "resolutions");
+        String resolvedImageUrl = pipelineMetrics.time(RESOLUTION_PIPELINE, "storage_upload",
+            () -> storageService.uploadImage(resolvedImage, "resolutions"));
 
         // Determine verification status from multiple signals
         Resolution.VerificationStatus status;
         String verificationReason;
+        String outcomeTag;
         boolean locationMatched = isLocationMatched(
             problem.getLatitude(), problem.getLongitude(), officialLatitude, officialLongitude);
-        boolean descriptionMatched = isDescriptionMatched(problem.getDescription(), resolutionDescription);
+        int[] problemTokenIds = problem.getDescriptionTokenIds() != null
+            ? problem.getDescriptionTokenIds()
+            : DescriptionMatcher.tokenIds(problem.getDescription());
+        boolean descriptionMatched = DescriptionMatcher.isMatched(
+            problemTokenIds, resolutionDescription, minDescriptionJaccard);
         boolean meaningfulChange = verificationResult.getSimilarityScore() < maxSimilarityForResolved;
 
         if (verificationResult.getDeepfakeDetected()) {
             status = Resolution.VerificationStatus.REJECTED;
             verificationReason = "Rejected: deepfake detected in resolution image";
+            outcomeTag = "deepfake";
             log.warn("Resolution rejected due to deepfake detection");
         } else if (locationMatched
                 && meaningfulChange
@@ -140,13 +199,12 @@ public class ResolutionService {
             verificationReason = descriptionMatched
                 ? "Verified: location and description checks passed"
                 : "Verified: location and image similarity checks passed";
-            problem.setStatus(Problem.ProblemStatus.RESOLVED);
-            problemRepository.save(problem);
-            log.info("Problem marked as RESOLVED");
+            outcomeTag = descriptionMatched ? "description_match" : "similarity_match";
         } else {
             status = Resolution.VerificationStatus.REJECTED;
             if (!locationMatched) {
                 verificationReason = "location too far from issue";
+                outcomeTag = "location";
             } else {
                 StringBuilder reason = new StringBuilder("Rejected: ");
                 if (!descriptionMatched) {
@@ -159,31 +217,55 @@ public class ResolutionService {
                     reason.append("resolved image is too similar to original; ");
                 }
                 verificationReason = reason.toString().trim();
+                outcomeTag = "checks_failed";
             }
             log.warn("Resolution rejected. {}", verificationReason);
         }
+        pipelineMetrics.recordVerificationOutcome(status.name(), outcomeTag);
+
+        // Persist the outcome in one short transaction
+        return pipelineMetrics.time(RESOLUTION_PIPELINE, "db_save", () -> transactionTemplate.execute(tx -> {
+            Problem managedProblem = problemRepository.findById(problemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Problem not found with ID: " + problemId));
+
+            Problem.ProblemStatus previousStatus = managedProblem.getStatus();
+            if (status == Resolution.VerificationStatus.VERIFIED && previousStatus != Problem.ProblemStatus.RESOLVED) {
+                LocalDateTime previousUpdatedAt = managedProblem.getUpdatedAt();
+                managedProblem.setStatus(Problem.ProblemStatus.RESOLVED);
+                // Flushed so updatedAt holds the value @UpdateTimestamp wrote, which the stats count from
+                problemRepository.saveAndFlush(managedProblem);
+                outboxService.recordProblemStatusChanged(managedProblem, previousStatus);
+                problemStatsService.recordStatusChanges(List.of(new ProblemStatsService.StatusChange(
+                    managedProblem.getCreatedAt(), previousStatus, previousUpdatedAt,
+                    Problem.ProblemStatus.RESOLVED, managedProblem.getUpdatedAt())));
+                log.info("Problem marked as RESOLVED");
+            }
 
-        // Save resolution
-        Resolution resolution = Resolution.builder()
-            .problem(problem)
-            .officialId(officialId)
-            .resolvedImageUrl(resolvedImageUrl)
-            .officialDescription(resolutionDescription)
-            .officialLatitude(officialLatitude)
-            .officialLongitude(officialLongitude)
-            .aiSimilarityScore(verificationResult.getSimilarityScore())
-            .deepfakeDetected(verificationResult.getDeepfakeDetected())
-            .verificationStatus(status)
-            .verificationReason(verificationReason)
-            .build();
-
-        Resolution savedResolution = resolutionRepository.save(resolution);
-        log.info("Resolution saved successfully with ID: {}", savedResolution.getId());
-
-        return mapToResponse(savedResolution);
+            Resolution resolution = Resolution.builder()
+                .problem(managedProblem)
+                .officialId(officialId)
+                .resolvedImageUrl(resolvedImageUrl)
+                .officialDescription(resolutionDescription)
+                .officialLatitude(officialLatitude)
+                .officialLongitude(officialLongitude)
+                .aiSimilarityScore(verificationResult.getSimilarityScore())
+                .deepfakeDetected(verificationResult.getDeepfakeDetected())
+                .verificationStatus(status)
+                .verificationReason(verificationReason)
+                .build();
+
+            Resolution savedResolution = resolutionRepository.saveAndFlush(resolution);
+            outboxService.recordResolutionSubmitted(savedResolution);
+            problemStatsService.recordResolutionSubmitted(savedResolution);
+            log.info("Resolution saved successfully with ID: {}", savedResolution.getId());
+
+            return ResolutionResponse.from(savedResolution);
+        }));
     }
 
     private MultipartFile downloadImageFromUrl(String imageUrl) {
+        ImageDownloadEvent event = new ImageDownloadEvent();
+        event.begin();
         try {
             ResponseEntity<byte[]> response = restTemplate.getForEntity(toSafeUri(imageUrl), byte[].class);
             byte[] imageBytes = response.getBody();
@@ -195,17 +277,37 @@ public class ResolutionService {
             String contentType = resolveContentType(response.getHeaders(), imageUrl);
             String fileName = extractFileName(imageUrl);
 
+            event.bytes = imageBytes.length;
+            event.succeeded = true;
             return new InMemoryMultipartFile("original", fileName, contentType, imageBytes);
         } catch (IllegalArgumentException | RestClientException ex) {
             log.error("Failed to download original image from URL: {}", imageUrl, ex);
             throw new ExternalServiceException("Failed to download original image", ex);
+        } finally {
+            event.url = imageUrl;
+            event.commit();
         }
     }
 
+    // Includes resolutions moved to resolutions_archive (ProblemArchiveService); the feed is ordered by
+    // resolution time regardless of the pageable's sort
+    @Transactional(readOnly = true)
     public Page<ResolvedPostResponse> getResolvedPosts(Pageable pageable) {
-        return resolutionRepository
-            .findByVerificationStatusOrderByCreatedAtDesc(Resolution.VerificationStatus.VERIFIED, pageable)
-            .map(this::mapToResolvedPostResponse);
+        List<ResolvedPostResponse> posts = resolutionRepository
+            .findVerifiedPosts(pageable.getOffset() + pageable.getPageSize(), pageable.getPageSize(), pageable.getOffset())
+            .stream()
+            .map(ResolvedPostResponse::from)
+            .toList();
+        return PageableExecutionUtils.getPage(posts, pageable, resolutionRepository::countVerifiedPosts);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getResolvedPosts(Pageable pageable, List<ResolvedPostField> fields) {
+        return getResolvedPosts(pageable).map(post -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            fields.forEach(field -> row.put(field.getFieldName(), field.valueOf(post)));
+            return row;
+        });
     }
 
     private URI toSafeUri(String rawUrl) {
@@ -302,42 +404,6 @@ public class ResolutionService {
         }
     }
 
-    private ResolutionResponse mapToResponse(Resolution resolution) {
-        return ResolutionResponse.builder()
-            .id(resolution.getId())
-            .problemId(resolution.getProblem().getId())
-            .officialId(resolution.getOfficialId())
-            .resolvedImageUrl(resolution.getResolvedImageUrl())
-            .officialDescription(resolution.getOfficialDescription())
-            .officialLatitude(resolution.getOfficialLatitude())
-            .officialLongitude(resolution.getOfficialLongitude())
-            .aiSimilarityScore(resolution.getAiSimilarityScore())
-            .deepfakeDetected(resolution.getDeepfakeDetected())
-            .verificationStatus(resolution.getVerificationStatus())
-            .verificationReason(resolution.getVerificationReason())
-            .createdAt(resolution.getCreatedAt())
-            .build();
-    }
-
-    private ResolvedPostResponse mapToResolvedPostResponse(Resolution resolution) {
-        Problem problem = resolution.getProblem();
-        return ResolvedPostResponse.builder()
-            .problemId(problem.getId())
-            .resolutionId(resolution.getId())
-            .originalImageUrl(problem.getImageUrl())
-            .resolvedImageUrl(resolution.getResolvedImageUrl())
-            .originalDescription(problem.getDescription())
-            .officialDescription(resolution.getOfficialDescription())
-            .problemLatitude(problem.getLatitude())
-            .problemLongitude(problem.getLongitude())
-            .officialLatitude(resolution.getOfficialLatitude())
-            .officialLongitude(resolution.getOfficialLongitude())
-            .aiSimilarityScore(resolution.getAiSimilarityScore())
-            .verificationReason(resolution.getVerificationReason())
-            .resolvedAt(resolution.getCreatedAt())
-            .build();
-    }
-
     private boolean isLocationMatched(
             Double problemLatitude,
             Double problemLongitude,
@@ -347,46 +413,7 @@ public class ResolutionService {
             return false;
         }
 
-        double distanceKm = haversineKm(problemLatitude, problemLongitude, officialLatitude, officialLongitude);
+        double distanceKm = GeoDistance.haversineKm(problemLatitude, problemLongitude, officialLatitude, officialLongitude);
         return distanceKm <= maxDistanceKm;
     }
-
-    private double haversineKm(double lat1, double lon1, double lat2, double lon2) {
-        final double earthRadiusKm = 6371.0;
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return earthRadiusKm * c;
-    }
-
-    private boolean isDescriptionMatched(String problemDescription, String resolutionDescription) {
-        Set<String> problemTokens = tokenize(problemDescription);
-        Set<String> resolutionTokens = tokenize(resolutionDescription);
-
-        if (problemTokens.isEmpty() || resolutionTokens.isEmpty()) {
-            return false;
-        }
-
-        Set<String> intersection = problemTokens.stream()
-            .filter(resolutionTokens::contains)
-            .collect(Collectors.toSet());
-
-        Set<String> union = problemTokens.stream().collect(Collectors.toSet());
-        union.addAll(resolutionTokens);
-
-        double jaccard = (double) intersection.size() / (double) union.size();
-        return jaccard >= minDescriptionJaccard;
-    }
-
-    private Set<String> tokenize(String text) {
-        if (text == null || text.isBlank()) {
-            return Set.of();
-        }
-        return java.util.Arrays.stream(text.toLowerCase().split("\\W+"))
-            .filter(token -> token.length() >= 4)
-            .collect(Collectors.toSet());
-    }
 }
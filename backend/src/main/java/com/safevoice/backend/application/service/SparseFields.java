@@ -0,0 +1,49 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.SparseField;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import jakarta.persistence.Tuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// fields=a,b,c handling shared by the feed and detail endpoints
+public final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    // Keeps the requested order and drops repeats; unknown names are rejected with the allowed list
+    public static <F extends SparseField> List<F> parse(String fields, F[] allowed) {
+        List<F> parsed = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            F field = Arrays.stream(allowed)
+                .filter(candidate -> candidate.getFieldName().equals(trimmed))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Unknown field '" + trimmed + "'; allowed fields: "
+                    + Arrays.stream(allowed).map(SparseField::getFieldName).collect(Collectors.joining(", "))));
+            if (!parsed.contains(field)) {
+                parsed.add(field);
+            }
+        }
+        return parsed;
+    }
+
+    public static List<String> attributePaths(List<? extends SparseField> fields) {
+        return fields.stream().map(SparseField::getAttributePath).collect(Collectors.toList());
+    }
+
+    // Tuple elements are in the order of the fields they were selected for
+    public static Map<String, Object> toRow(Tuple tuple, List<? extends SparseField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(fields.get(i).getFieldName(), tuple.get(i));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,313 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.CreateProblemRequest;
+import com.safevoice.backend.api.dto.CreateUploadSessionRequest;
+import com.safevoice.backend.api.dto.FinalizeUploadRequest;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.UploadSessionResponse;
+import com.safevoice.backend.infrastructure.exception.ConflictException;
+import com.safevoice.backend.infrastructure.exception.ExternalServiceException;
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import com.safevoice.backend.infrastructure.image.ImageProcessingService;
+import com.safevoice.backend.infrastructure.storage.FileBackedMultipartFile;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Resumable (tus-like) uploads in front of ProblemService.createProblem: a session is created with the
+// final length, chunks are appended at the current offset straight from the request stream into a temp
+// file, and finalize hands the assembled file to the normal pipeline. Sessions live on this instance only.
+// Temp disk is bounded: live sessions and their declared bytes are capped, and a session expires after
+// idle-timeout-minutes without a chunk as well as session-ttl-minutes after creation.
+@Slf4j
+@Service
+public class UploadSessionService {
+
+    private final ProblemService problemService;
+    private final ImageProcessingService imageProcessingService;
+    private final Map<UUID, UploadSession> sessions = new ConcurrentHashMap<>();
+    // Guarded by this; declared lengths of all live sessions
+    private long reservedBytes;
+
+    @Value("${uploads.resumable.temp-dir:${java.io.tmpdir}/safevoice-uploads}")
+    private Path tempDir;
+
+    @Value("${uploads.resumable.max-bytes:5242880}")
+    private Long maxBytes;
+
+    @Value("${uploads.resumable.session-ttl-minutes:1440}")
+    private Long sessionTtlMinutes;
+
+    @Value("${uploads.resumable.idle-timeout-minutes:30}")
+    private Long idleTimeoutMinutes;
+
+    @Value("${uploads.resumable.max-sessions:200}")
+    private Integer maxSessions;
+
+    @Value("${uploads.resumable.max-total-bytes:536870912}")
+    private Long maxTotalBytes;
+
+    public UploadSessionService(ProblemService problemService, ImageProcessingService imageProcessingService) {
+        this.problemService = problemService;
+        this.imageProcessingService = imageProcessingService;
+    }
+
+    @PostConstruct
+    void prepareTempDir() throws IOException {
+        Files.createDirectories(tempDir);
+        // Sessions are in memory, so parts left by a previous run can never be resumed
+        try (Stream<Path> leftovers = Files.list(tempDir)) {
+            leftovers.filter(path -> path.getFileName().toString().endsWith(".part")).forEach(this::deleteQuietly);
+        }
+    }
+
+    public UploadSessionResponse createSession(CreateUploadSessionRequest request, String ipAddress) {
+        if (request.getLength() > maxBytes) {
+            throw new ValidationException("Image file size exceeds " + (maxBytes / (1024 * 1024)) + "MB limit");
+        }
+        if (!imageProcessingService.isValidImageFormat(request.getContentType())) {
+            throw new ValidationException("Invalid image format. Allowed: JPEG, PNG, WebP, GIF");
+        }
+
+        if (!reserve(request.getLength())) {
+            // Expired sessions still hold their reservation until the next purge
+            purgeExpiredSessions();
+            if (!reserve(request.getLength())) {
+                throw new ExternalServiceException("Too many uploads in progress, retry later");
+            }
+        }
+
+        UUID uploadId = UUID.randomUUID();
+        Path file = tempDir.resolve(uploadId + ".part");
+        try {
+            Files.createFile(file);
+        } catch (IOException ex) {
+            release(request.getLength());
+            throw new UncheckedIOException("Failed to create upload session file", ex);
+        }
+
+        Instant now = Instant.now();
+        UploadSession session = new UploadSession(
+            file,
+            request.getLength(),
+            request.getContentType(),
+            request.getFileName() == null || request.getFileName().isBlank() ? "upload" : request.getFileName(),
+            ipAddress,
+            now.plus(Duration.ofMinutes(sessionTtlMinutes)));
+        session.touch(now, Duration.ofMinutes(idleTimeoutMinutes));
+        sessions.put(uploadId, session);
+
+        log.info("Created upload session {} for {} bytes", uploadId, request.getLength());
+        return toResponse(uploadId, session);
+    }
+
+    public UploadSessionResponse getSession(UUID uploadId) {
+        return toResponse(uploadId, requireSession(uploadId));
+    }
+
+    // Appends one chunk at expectedOffset. If the connection drops mid-chunk, whatever reached the disk
+    // is kept and reported by the next HEAD, so the client resumes from there instead of from zero.
+    public UploadSessionResponse appendChunk(UUID uploadId, long expectedOffset, InputStream body) {
+        UploadSession session = requireSession(uploadId);
+        if (!session.lock.tryLock()) {
+            throw new ConflictException("Another chunk is being written to upload " + uploadId);
+        }
+        try {
+            if (expectedOffset != session.offset) {
+                throw new ConflictException(
+                    "Upload-Offset " + expectedOffset + " does not match current offset " + session.offset);
+            }
+            session.touch(Instant.now(), Duration.ofMinutes(idleTimeoutMinutes));
+
+            long startOffset = session.offset;
+            try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(body);
+                try {
+                    long position = startOffset;
+                    while (position < session.length) {
+                        long transferred = channel.transferFrom(source, position, session.length - position);
+                        if (transferred <= 0) {
+                            break;
+                        }
+                        position += transferred;
+                    }
+                } finally {
+                    session.offset = channel.size();
+                }
+
+                // A chunk running past the declared length is rejected as a whole
+                if (session.offset == session.length && body.read() != -1) {
+                    channel.truncate(startOffset);
+                    session.offset = startOffset;
+                    throw new ValidationException("Chunk exceeds the declared upload length of " + session.length);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Upload {} interrupted at offset {}: {}", uploadId, session.offset, ex.getMessage());
+            throw new UncheckedIOException("Upload interrupted; resume from the current offset", ex);
+        } finally {
+            session.lock.unlock();
+        }
+
+        return toResponse(uploadId, session);
+    }
+
+    public ProblemResponse finalizeUpload(UUID uploadId, FinalizeUploadRequest request) {
+        UploadSession session = requireSession(uploadId);
+        if (!session.lock.tryLock()) {
+            throw new ConflictException("Upload " + uploadId + " is still being written or finalized");
+        }
+        try {
+            if (session.offset != session.length) {
+                throw new ValidationException(
+                    "Upload incomplete: received " + session.offset + " of " + session.length + " bytes");
+            }
+
+            CreateProblemRequest createRequest = CreateProblemRequest.builder()
+                .imageFile(new FileBackedMultipartFile("imageFile", session.fileName, session.contentType, session.file))
+                .description(request.getDescription())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .build();
+
+            // On failure the assembled file is kept, so finalize can be retried without re-uploading
+            ProblemResponse response = problemService.createProblem(createRequest, session.ipAddress);
+
+            remove(uploadId, session);
+            return response;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    public void cancel(UUID uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new ResourceNotFoundException("Upload session not found: " + uploadId);
+        }
+        session.lock.lock();
+        try {
+            remove(uploadId, session);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.resumable.cleanup-interval-ms:600000}")
+    public void purgeExpiredSessions() {
+        Instant now = Instant.now();
+        sessions.forEach((uploadId, session) -> {
+            if (session.expiresAt.isBefore(now) && session.lock.tryLock()) {
+                try {
+                    if (remove(uploadId, session)) {
+                        log.info("Expired upload session {} at {} of {} bytes", uploadId, session.offset, session.length);
+                    }
+                } finally {
+                    session.lock.unlock();
+                }
+            }
+        });
+    }
+
+    private synchronized boolean reserve(long length) {
+        if (sessions.size() >= maxSessions || reservedBytes + length > maxTotalBytes) {
+            return false;
+        }
+        reservedBytes += length;
+        return true;
+    }
+
+    private synchronized void release(long length) {
+        reservedBytes -= length;
+    }
+
+    // Called with the session lock held; false if another caller removed it first
+    private boolean remove(UUID uploadId, UploadSession session) {
+        if (!sessions.remove(uploadId, session)) {
+            return false;
+        }
+        deleteQuietly(session.file);
+        release(session.length);
+        return true;
+    }
+
+    private UploadSession requireSession(UUID uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || session.expiresAt.isBefore(Instant.now())) {
+            throw new ResourceNotFoundException("Upload session not found: " + uploadId);
+        }
+        return session;
+    }
+
+    private UploadSessionResponse toResponse(UUID uploadId, UploadSession session) {
+        return UploadSessionResponse.builder()
+            .uploadId(uploadId)
+            .offset(session.offset)
+            .length(session.length)
+            .expiresAt(session.expiresAt)
+            .build();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete upload file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private static final class UploadSession {
+        private final Path file;
+        private final long length;
+        private final String contentType;
+        private final String fileName;
+        private final String ipAddress;
+        private final Instant absoluteExpiry;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Only written under lock; volatile so HEAD sees progress without taking it
+        private volatile long offset;
+        // Moves forward with each chunk, up to absoluteExpiry
+        private volatile Instant expiresAt;
+
+        private UploadSession(
+                Path file,
+                long length,
+                String contentType,
+                String fileName,
+                String ipAddress,
+                Instant absoluteExpiry) {
+            this.file = file;
+            this.length = length;
+            this.contentType = contentType;
+            this.fileName = fileName;
+            this.ipAddress = ipAddress;
+            this.absoluteExpiry = absoluteExpiry;
+            this.expiresAt = absoluteExpiry;
+        }
+
+        private void touch(Instant now, Duration idleTimeout) {
+            Instant idleExpiry = now.plus(idleTimeout);
+            expiresAt = idleExpiry.isBefore(absoluteExpiry) ? idleExpiry : absoluteExpiry;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.safevoice.backend.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A RESOLVED or REJECTED problem moved to the cold tier by ProblemArchiveService. Rows are only ever
+// written by the archival SQL, never through JPA.
+@Entity
+@Immutable
+@Table(name = "problems_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedProblem {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String imageUrl;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "integer[]")
+    private int[] descriptionTokenIds;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Problem.ProblemStatus status;
+
+    @Column(nullable = false)
+    private Double aiModerationScore;
+
+    @Column(nullable = false)
+    private Boolean moderationPassed;
+
+    @Column(length = 45)
+    private String reporterIpAddress;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -5,7 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,7 +23,14 @@ import java.util.UUID;
 @Table(name = "officials", uniqueConstraints = {
     @UniqueConstraint(columnNames = "email"),
     @UniqueConstraint(columnNames = "official_id_number")
+}, indexes = {
+    // Admin listing: the verification queue and per-department views, newest first
+    @Index(name = "idx_officials_verified_active_created", columnList = "is_verified, is_active, created_at"),
+    @Index(name = "idx_officials_department_created", columnList = "department, created_at")
 })
+// Looked up by email on every login and official upload, and rarely written
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "officials")
+@NaturalIdCache(region = "officials-by-email")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,6 +41,7 @@ public class Official implements UserDetails {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -0,0 +1,63 @@
+package com.safevoice.backend.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private EventType eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime publishedAt;
+
+    // Set once max-attempts deliveries failed; the relay no longer picks the event up
+    @Column
+    private LocalDateTime deadLetteredAt;
+
+    public enum EventType {
+        PROBLEM_CREATED,
+        PROBLEM_STATUS_CHANGED,
+        PROBLEM_STATUSES_CHANGED,
+        PROBLEMS_ARCHIVED,
+        RESOLUTION_SUBMITTED
+    }
+}
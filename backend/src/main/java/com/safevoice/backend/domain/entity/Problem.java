@@ -6,7 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -35,6 +37,11 @@ public class Problem {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Sorted, normalized token ids of the description (see DescriptionMatcher); null on older rows
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "integer[]")
+    private int[] descriptionTokenIds;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
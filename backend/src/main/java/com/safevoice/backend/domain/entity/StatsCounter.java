@@ -0,0 +1,50 @@
+package com.safevoice.backend.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// One day/bucket cell of a statistics counter; written only through StatsCounterRepository's upserts
+@Entity
+@Table(name = "stats_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatsCounter {
+
+    public static final String PROBLEMS = "problems";
+    public static final String RESOLVE_SECONDS = "resolve_seconds";
+    public static final String RESOLUTIONS = "resolutions";
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private Long total;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(nullable = false, length = 50)
+        private String metric;
+
+        @Column(nullable = false)
+        private LocalDate day;
+
+        @Column(nullable = false, length = 50)
+        private String bucket;
+    }
+}
@@ -0,0 +1,18 @@
+package com.safevoice.backend.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// The columns of a problem the archival job needs to announce its removal from the hot tables
+public interface ArchivableProblem {
+
+    UUID getId();
+
+    String getStatus();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    LocalDateTime getCreatedAt();
+}
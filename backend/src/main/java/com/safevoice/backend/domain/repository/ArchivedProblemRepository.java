@@ -0,0 +1,68 @@
+package com.safevoice.backend.domain.repository;
+
+import com.safevoice.backend.domain.entity.ArchivedProblem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedProblemRepository extends JpaRepository<ArchivedProblem, UUID> {
+
+    @Query(value = "SELECT COUNT(*) FROM resolutions_archive WHERE problem_id = :problemId", nativeQuery = true)
+    long countResolutions(@Param("problemId") UUID problemId);
+
+    // Oldest archivable problems first (partial index idx_problems_archivable). Rows locked by a
+    // concurrent status update or resolution insert are skipped and picked up on a later run.
+    @Query(value = """
+        SELECT id, status, latitude, longitude, created_at AS createdAt
+        FROM problems
+        WHERE status IN ('RESOLVED', 'REJECTED') AND updated_at < :cutoff
+        ORDER BY updated_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<ArchivableProblem> lockArchivable(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Three steps, since resolutions reference problems in both tiers: copy the problems to the archive,
+    // move their resolutions, then delete the hot problem rows
+    @Modifying
+    @Query(value = """
+        INSERT INTO problems_archive (id, image_url, latitude, longitude, description, description_token_ids,
+                                      status, ai_moderation_score, moderation_passed, reporter_ip_address,
+                                      created_at, updated_at, archived_at)
+        SELECT id, image_url, latitude, longitude, description, description_token_ids,
+               status, ai_moderation_score, moderation_passed, reporter_ip_address,
+               created_at, updated_at, :archivedAt
+        FROM problems
+        WHERE id IN (:problemIds)
+        """, nativeQuery = true)
+    int copyProblems(@Param("problemIds") Collection<UUID> problemIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = """
+        WITH moved AS (
+            DELETE FROM resolutions WHERE problem_id IN (:problemIds) RETURNING *
+        )
+        INSERT INTO resolutions_archive (id, problem_id, official_id, resolved_image_url, official_description,
+                                         official_latitude, official_longitude, ai_similarity_score,
+                                         deepfake_detected, verification_reason, verification_status,
+                                         created_at, archived_at)
+        SELECT id, problem_id, official_id, resolved_image_url, official_description,
+               official_latitude, official_longitude, ai_similarity_score,
+               deepfake_detected, verification_reason, verification_status,
+               created_at, :archivedAt
+        FROM moved
+        """, nativeQuery = true)
+    int moveResolutions(@Param("problemIds") Collection<UUID> problemIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM problems WHERE id IN (:problemIds)", nativeQuery = true)
+    int deleteProblems(@Param("problemIds") Collection<UUID> problemIds);
+}
@@ -0,0 +1,103 @@
+package com.safevoice.backend.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Criteria queries for sparse fieldsets: only the requested attributes are selected, as a Tuple with
+// one element per attribute path in request order. "problem.imageUrl" joins through the association;
+// a collection attribute ("resolutions") selects its size.
+final class FieldProjections {
+
+    private FieldProjections() {
+    }
+
+    static <T> List<Tuple> find(
+            EntityManager entityManager,
+            Class<T> entityType,
+            List<String> attributePaths,
+            BiFunction<CriteriaBuilder, Root<T>, Predicate> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        query.multiselect(selections(cb, root, attributePaths)).where(filter.apply(cb, root));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    static <T> Page<Tuple> findPage(
+            EntityManager entityManager,
+            Class<T> entityType,
+            List<String> attributePaths,
+            BiFunction<CriteriaBuilder, Root<T>, Predicate> filter,
+            Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        query.multiselect(selections(cb, root, attributePaths))
+            .where(filter.apply(cb, root))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> content = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<T> countRoot = count.from(entityType);
+            count.select(cb.count(countRoot)).where(filter.apply(cb, countRoot));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    private static List<Selection<?>> selections(CriteriaBuilder cb, Root<?> root, List<String> attributePaths) {
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(attributePaths.size());
+        for (String attributePath : attributePaths) {
+            selections.add(expression(cb, root, joins, attributePath));
+        }
+        return selections;
+    }
+
+    private static Expression<?> expression(
+            CriteriaBuilder cb, Root<?> root, Map<String, From<?, ?>> joins, String attributePath) {
+        int dot = attributePath.lastIndexOf('.');
+        From<?, ?> from = root;
+        if (dot > 0) {
+            // One join per association, however many of its attributes are selected
+            from = joins.computeIfAbsent(attributePath.substring(0, dot), association -> {
+                From<?, ?> joined = root;
+                for (String step : association.split("\\.")) {
+                    joined = joined.join(step);
+                }
+                return joined;
+            });
+        }
+
+        String attribute = attributePath.substring(dot + 1);
+        Path<?> path = from.get(attribute);
+        if (path.getModel() instanceof PluralAttribute<?, ?, ?>) {
+            return cb.size(from.<Collection<?>>get(attribute));
+        }
+        return path;
+    }
+}
@@ -1,15 +1,55 @@
 package com.safevoice.backend.domain.repository;
 
 import com.safevoice.backend.domain.entity.Official;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface OfficialRepository extends JpaRepository<Official, UUID> {
-    Optional<Official> findByEmail(String email);
+public interface OfficialRepository extends JpaRepository<Official, UUID>, OfficialRepositoryCustom {
+
+    // Email is the natural id; officialIdNumber lookups are cached in the query cache instead,
+    // which Hibernate invalidates on any write to officials
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "officials-by-id-number")
+    })
     Optional<Official> findByOfficialIdNumber(String officialIdNumber);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "officials-by-id-number")
+    })
     boolean existsByOfficialIdNumber(String officialIdNumber);
+
+    // Null filters match everything
+    @Query(value = """
+        SELECT o.id AS id, o.email AS email, o.fullName AS fullName, o.officialIdNumber AS officialIdNumber,
+               o.department AS department, o.role AS role, o.isVerified AS isVerified,
+               o.isActive AS isActive, o.createdAt AS createdAt
+        FROM Official o
+        WHERE (:verified IS NULL OR o.isVerified = :verified)
+          AND (:active IS NULL OR o.isActive = :active)
+          AND (:department IS NULL OR o.department = :department)
+        """,
+        countQuery = """
+        SELECT COUNT(o) FROM Official o
+        WHERE (:verified IS NULL OR o.isVerified = :verified)
+          AND (:active IS NULL OR o.isActive = :active)
+          AND (:department IS NULL OR o.department = :department)
+        """)
+    Page<OfficialSummary> findSummaries(
+        @Param("verified") Boolean verified,
+        @Param("active") Boolean active,
+        @Param("department") String department,
+        Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package com.safevoice.backend.domain.repository;
+
+import com.safevoice.backend.domain.entity.Official;
+
+import java.util.Optional;
+
+public interface OfficialRepositoryCustom {
+
+    // Resolved through Hibernate's natural-id API so repeat lookups hit the second-level cache
+    Optional<Official> findByEmail(String email);
+}
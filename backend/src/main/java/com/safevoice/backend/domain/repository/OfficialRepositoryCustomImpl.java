@@ -0,0 +1,23 @@
+package com.safevoice.backend.domain.repository;
+
+import com.safevoice.backend.domain.entity.Official;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class OfficialRepositoryCustomImpl implements OfficialRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Official> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Official.class)
+            .loadOptional(email);
+    }
+}
@@ -0,0 +1,28 @@
+package com.safevoice.backend.domain.repository;
+
+import com.safevoice.backend.domain.entity.Official;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Interface projection of the columns shown in admin listings; never selects the password hash
+public interface OfficialSummary {
+
+    UUID getId();
+
+    String getEmail();
+
+    String getFullName();
+
+    String getOfficialIdNumber();
+
+    String getDepartment();
+
+    Official.OfficialRole getRole();
+
+    Boolean getIsVerified();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+}
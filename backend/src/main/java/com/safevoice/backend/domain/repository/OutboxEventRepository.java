@@ -0,0 +1,48 @@
+package com.safevoice.backend.domain.repository;
+
+import com.safevoice.backend.domain.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // SKIP LOCKED lets several relay instances drain the table without blocking each other. Dead-lettered
+    // events are outside idx_outbox_events_pending, so they are never scanned again.
+    @Query(value = """
+        SELECT * FROM outbox_events
+        WHERE published_at IS NULL AND dead_lettered_at IS NULL
+        ORDER BY created_at
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@Param("id") UUID id, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.deadLetteredAt = :deadLetteredAt WHERE e.id = :id")
+    int markDeadLettered(@Param("id") UUID id, @Param("deadLetteredAt") LocalDateTime deadLetteredAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.deadLetteredAt < :cutoff")
+    int deleteDeadLetteredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
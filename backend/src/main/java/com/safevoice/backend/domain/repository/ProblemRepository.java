@@ -4,12 +4,90 @@ import com.safevoice.backend.domain.entity.Problem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ProblemRepository extends JpaRepository<Problem, UUID> {
+public interface ProblemRepository extends JpaRepository<Problem, UUID>, ProblemRepositoryCustom {
     Page<Problem> findByStatus(Problem.ProblemStatus status, Pageable pageable);
     Page<Problem> findAll(Pageable pageable);
+
+    // Full-text search over the generated description_tsv column (GIN index, see V3 migration), best
+    // match first. Only the newest :candidates matches are ranked, so a page costs at most that many
+    // ts_rank_cd calls however common the terms are: for frequent terms Postgres walks the created_at
+    // index and stops after :candidates matches, for rare ones it takes the few GIN hits and sorts them.
+    // The keyset (afterRank, afterId) continues after the last hit of the previous page; the first page
+    // passes afterRank = +Infinity.
+    @Query(value = """
+        SELECT hits.id AS id, hits.rank AS rank FROM (
+            SELECT c.id AS id, ts_rank_cd(c.description_tsv, websearch_to_tsquery('english', :query)) AS rank
+            FROM (
+                SELECT p.id, p.description_tsv
+                FROM problems p
+                WHERE p.description_tsv @@ websearch_to_tsquery('english', :query)
+                  AND (CAST(:status AS varchar) IS NULL OR p.status = CAST(:status AS varchar))
+                ORDER BY p.created_at DESC, p.id
+                LIMIT :candidates
+            ) c
+        ) hits
+        WHERE hits.rank < CAST(:afterRank AS real)
+           OR (hits.rank = CAST(:afterRank AS real) AND hits.id > CAST(:afterId AS uuid))
+        ORDER BY hits.rank DESC, hits.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ProblemSearchHit> searchByDescription(
+        @Param("query") String query,
+        @Param("status") String status,
+        @Param("afterRank") float afterRank,
+        @Param("afterId") UUID afterId,
+        @Param("candidates") int candidates,
+        @Param("limit") int limit);
+
+    // Per-cell, per-status counts for one Web Mercator tile split into grid x grid cells. The bounding
+    // box (slightly padded) uses the lat/lon index; the exact tile test repeats MapTileService's
+    // projection so edge points land in the same tile as incremental updates put them. Read-write so it
+    // runs on the primary: MapTileService's patch/evict window assumes the query sees every change
+    // committed before it started, which a lagging replica doesn't.
+    @Transactional
+    @Query(value = """
+        SELECT CAST(floor((t.ty - :y) * :grid) AS integer) AS cy,
+               CAST(floor((t.tx - :x) * :grid) AS integer) AS cx,
+               t.status AS status,
+               COUNT(*) AS total
+        FROM (
+            SELECT p.status AS status,
+                   (p.longitude + 180) / 360 * :scale AS tx,
+                   (1 - ln(tan(pi() / 4 + radians(GREATEST(LEAST(p.latitude, 85.0511287798), -85.0511287798)) / 2)) / pi())
+                       / 2 * :scale AS ty
+            FROM problems p
+            WHERE p.latitude BETWEEN :south AND :north
+              AND p.longitude BETWEEN :west AND :east
+        ) t
+        WHERE floor(t.tx) = :x AND floor(t.ty) = :y
+        GROUP BY 1, 2, 3
+        """, nativeQuery = true)
+    List<TileCellCount> aggregateTile(
+        @Param("scale") double scale,
+        @Param("x") double x,
+        @Param("y") double y,
+        @Param("grid") double grid,
+        @Param("south") double south,
+        @Param("north") double north,
+        @Param("west") double west,
+        @Param("east") double east);
+
+    // Bulk JPQL update: bypasses @UpdateTimestamp, so updatedAt is set explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Problem p set p.status = :status, p.updatedAt = :updatedAt where p.id in :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") Problem.ProblemStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
 }
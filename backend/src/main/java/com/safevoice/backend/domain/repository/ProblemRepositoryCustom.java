@@ -0,0 +1,17 @@
+package com.safevoice.backend.domain.repository;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProblemRepositoryCustom {
+
+    // Sparse fieldsets: only the given Problem attribute paths are selected (see FieldProjections)
+    Page<Tuple> findAllFields(List<String> attributePaths, Pageable pageable);
+
+    Optional<Tuple> findFieldsById(UUID id, List<String> attributePaths);
+}
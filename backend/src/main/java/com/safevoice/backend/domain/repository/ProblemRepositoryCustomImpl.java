@@ -0,0 +1,32 @@
+package com.safevoice.backend.domain.repository;
+
+import com.safevoice.backend.domain.entity.Problem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class ProblemRepositoryCustomImpl implements ProblemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Tuple> findAllFields(List<String> attributePaths, Pageable pageable) {
+        return FieldProjections.findPage(entityManager, Problem.class, attributePaths, (cb, root) -> cb.conjunction(),
+            pageable);
+    }
+
+    @Override
+    public Optional<Tuple> findFieldsById(UUID id, List<String> attributePaths) {
+        return FieldProjections.find(entityManager, Problem.class, attributePaths,
+                (cb, root) -> cb.equal(root.get("id"), id))
+            .stream()
+            .findFirst();
+    }
+}
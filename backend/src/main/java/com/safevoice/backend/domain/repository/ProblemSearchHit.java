@@ -0,0 +1,11 @@
+package com.safevoice.backend.domain.repository;
+
+import java.util.UUID;
+
+// A full-text match and its ts_rank_cd score
+public interface ProblemSearchHit {
+
+    UUID getId();
+
+    Float getRank();
+}
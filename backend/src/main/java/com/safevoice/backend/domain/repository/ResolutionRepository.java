@@ -2,16 +2,49 @@ package com.safevoice.backend.domain.repository;
 
 import com.safevoice.backend.domain.entity.Resolution;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.safevoice.backend.domain.entity.Resolution.VerificationStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ResolutionRepository extends JpaRepository<Resolution, UUID> {
     List<Resolution> findByProblemId(UUID problemId);
-    Page<Resolution> findByVerificationStatusOrderByCreatedAtDesc(VerificationStatus verificationStatus, Pageable pageable);
+
+    // Verified resolutions of both tiers, newest first. Each side only reads the first :perTier rows of its
+    // (verification_status, created_at) index, so a page costs offset + limit index entries per tier.
+    @Query(value = """
+        SELECT * FROM (
+            (SELECT p.id AS problemId, r.id AS resolutionId, p.image_url AS originalImageUrl,
+                    r.resolved_image_url AS resolvedImageUrl, p.description AS originalDescription,
+                    r.official_description AS officialDescription, p.latitude AS problemLatitude,
+                    p.longitude AS problemLongitude, r.official_latitude AS officialLatitude,
+                    r.official_longitude AS officialLongitude, r.ai_similarity_score AS aiSimilarityScore,
+                    r.verification_reason AS verificationReason, r.created_at AS resolvedAt
+             FROM resolutions r JOIN problems p ON p.id = r.problem_id
+             WHERE r.verification_status = 'VERIFIED'
+             ORDER BY r.created_at DESC
+             LIMIT :perTier)
+            UNION ALL
+            (SELECT p.id, r.id, p.image_url, r.resolved_image_url, p.description, r.official_description,
+                    p.latitude, p.longitude, r.official_latitude, r.official_longitude, r.ai_similarity_score,
+                    r.verification_reason, r.created_at
+             FROM resolutions_archive r JOIN problems_archive p ON p.id = r.problem_id
+             WHERE r.verification_status = 'VERIFIED'
+             ORDER BY r.created_at DESC
+             LIMIT :perTier)
+        ) posts
+        ORDER BY resolvedAt DESC, resolutionId
+        LIMIT :limit OFFSET :offset
+        """, nativeQuery = true)
+    List<ResolvedPostRow> findVerifiedPosts(
+        @Param("perTier") long perTier, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = """
+        SELECT (SELECT COUNT(*) FROM resolutions WHERE verification_status = 'VERIFIED')
+             + (SELECT COUNT(*) FROM resolutions_archive WHERE verification_status = 'VERIFIED')
+        """, nativeQuery = true)
+    long countVerifiedPosts();
 }
@@ -0,0 +1,34 @@
+package com.safevoice.backend.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One entry of the resolved-posts feed, read from either the hot or the archive tables
+public interface ResolvedPostRow {
+
+    UUID getProblemId();
+
+    UUID getResolutionId();
+
+    String getOriginalImageUrl();
+
+    String getResolvedImageUrl();
+
+    String getOriginalDescription();
+
+    String getOfficialDescription();
+
+    Double getProblemLatitude();
+
+    Double getProblemLongitude();
+
+    Double getOfficialLatitude();
+
+    Double getOfficialLongitude();
+
+    Double getAiSimilarityScore();
+
+    String getVerificationReason();
+
+    LocalDateTime getResolvedAt();
+}
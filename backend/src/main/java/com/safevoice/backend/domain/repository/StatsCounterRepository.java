@@ -0,0 +1,80 @@
+package com.safevoice.backend.domain.repository;
+
+import com.safevoice.backend.domain.entity.StatsCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StatsCounterRepository extends JpaRepository<StatsCounter, StatsCounter.Key> {
+
+    // Single-statement upsert, so concurrent writers to the same cell queue on its row lock
+    // instead of losing updates
+    @Modifying
+    @Query(value = """
+        INSERT INTO stats_counters (metric, day, bucket, total)
+        VALUES (:metric, :day, :bucket, :delta)
+        ON CONFLICT (metric, day, bucket) DO UPDATE SET total = stats_counters.total + EXCLUDED.total
+        """, nativeQuery = true)
+    void increment(
+        @Param("metric") String metric,
+        @Param("day") LocalDate day,
+        @Param("bucket") String bucket,
+        @Param("delta") long delta);
+
+    @Query("""
+        SELECT c.id.metric AS metric, c.id.bucket AS bucket, SUM(c.total) AS total
+        FROM StatsCounter c
+        GROUP BY c.id.metric, c.id.bucket
+        """)
+    List<StatsCounterTotal> sumByMetricAndBucket();
+
+    @Query("SELECT c FROM StatsCounter c WHERE c.id.day >= :from ORDER BY c.id.day")
+    List<StatsCounter> findFromDay(@Param("from") LocalDate from);
+
+    // Transaction-scoped, so it is released at commit even though the connection goes back to the pool
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+
+    // Adds (counted from the tables - stored counter) to every cell that drifted. One statement reads
+    // the tables and the counters from the same snapshot, and increments always commit together with
+    // the row change they count, so the difference is exactly the drift; changes committed after the
+    // snapshot add their own increments on top. Writers are never blocked, and a cell is only touched
+    // when it is wrong. Archived problems and resolutions still count (see ProblemArchiveService).
+    // resolve_seconds floors each row before summing, like ProblemStatsService does per change.
+    @Modifying
+    @Query(value = """
+        INSERT INTO stats_counters (metric, day, bucket, total)
+        SELECT coalesce(e.metric, c.metric), coalesce(e.day, c.day), coalesce(e.bucket, c.bucket),
+               coalesce(e.total, 0) - coalesce(c.total, 0)
+        FROM (
+            SELECT 'problems' AS metric, CAST(created_at AS date) AS day, status AS bucket, COUNT(*) AS total
+            FROM (SELECT created_at, status FROM problems
+                  UNION ALL
+                  SELECT created_at, status FROM problems_archive) p
+            GROUP BY CAST(created_at AS date), status
+            UNION ALL
+            SELECT 'resolve_seconds', CAST(created_at AS date), status,
+                   CAST(SUM(FLOOR(EXTRACT(EPOCH FROM updated_at - created_at))) AS bigint)
+            FROM (SELECT created_at, updated_at, status FROM problems WHERE status = 'RESOLVED'
+                  UNION ALL
+                  SELECT created_at, updated_at, status FROM problems_archive WHERE status = 'RESOLVED') p
+            GROUP BY CAST(created_at AS date), status
+            UNION ALL
+            SELECT 'resolutions', CAST(created_at AS date), verification_status, COUNT(*)
+            FROM (SELECT created_at, verification_status FROM resolutions
+                  UNION ALL
+                  SELECT created_at, verification_status FROM resolutions_archive) r
+            GROUP BY CAST(created_at AS date), verification_status
+        ) e
+        FULL JOIN stats_counters c ON c.metric = e.metric AND c.day = e.day AND c.bucket = e.bucket
+        WHERE coalesce(e.total, 0) <> coalesce(c.total, 0)
+        ON CONFLICT (metric, day, bucket) DO UPDATE SET total = stats_counters.total + EXCLUDED.total
+        """, nativeQuery = true)
+    int correctDriftFromTables();
+}
@@ -0,0 +1,11 @@
+package com.safevoice.backend.domain.repository;
+
+// All-time sum of one counter bucket
+public interface StatsCounterTotal {
+
+    String getMetric();
+
+    String getBucket();
+
+    Long getTotal();
+}
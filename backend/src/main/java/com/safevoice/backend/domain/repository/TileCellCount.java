@@ -0,0 +1,13 @@
+package com.safevoice.backend.domain.repository;
+
+// Number of problems with one status in one grid cell of a map tile (cy = row from the top, cx = column)
+public interface TileCellCount {
+
+    Integer getCy();
+
+    Integer getCx();
+
+    String getStatus();
+
+    Long getTotal();
+}
@@ -1,14 +1,45 @@
 package com.safevoice.backend.infrastructure.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
 
+    // Built from the Boot builder so outgoing calls are recorded as http.client.requests
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return builder.build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public WebClient aiServiceWebClient(
+            WebClient.Builder builder,
+            @Value("${ai.service.timeout-seconds:30}") Integer timeoutSeconds,
+            @Value("${ai.service.max-connections:50}") Integer maxConnections,
+            @Value("${ai.service.connect-timeout-ms:5000}") Integer connectTimeoutMs) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("ai-service")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(Duration.ofSeconds(timeoutSeconds))
+            .metrics(true)
+            .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .responseTimeout(Duration.ofSeconds(timeoutSeconds));
+
+        return builder
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
     }
 }
@@ -0,0 +1,59 @@
+package com.safevoice.backend.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Smile (application/x-jackson-smile) and CBOR (application/cbor) responses for clients that ask for
+// them in Accept. Spring MVC registers both by default once the dataformat jars are present, but with
+// a plain mapper; these are rebuilt from Boot's builder so spring.jackson.* applies as it does to JSON.
+@Configuration
+public class MessageEncodingConfig implements WebMvcConfigurer {
+
+    // Prototype bean: every getObject() is a fresh builder with the spring.jackson.* settings applied
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders;
+
+    public MessageEncodingConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders) {
+        this.mapperBuilders = mapperBuilders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+            || converter instanceof MappingJackson2CborHttpMessageConverter);
+
+        // Behind the JSON converter, so requests without Accept or with */* keep getting JSON
+        int index = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                index = i + 1;
+                break;
+            }
+        }
+        converters.add(index, new MappingJackson2SmileHttpMessageConverter(smileMapper(mapperBuilders.getObject())));
+        converters.add(index + 1, new MappingJackson2CborHttpMessageConverter(cborMapper(mapperBuilders.getObject())));
+    }
+
+    // Smile back-references repeated field names by default; shared string values also dedupe the
+    // short values every feed row repeats (status, verification status)
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+            .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+            .build();
+    }
+
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+}
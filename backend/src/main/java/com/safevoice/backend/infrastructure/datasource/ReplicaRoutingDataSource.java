@@ -0,0 +1,103 @@
+package com.safevoice.backend.infrastructure.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * A client that committed a write within the read-your-writes window keeps reading from
+ * the primary, so it sees its own upload even while the replica is lagging.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only bound to the
+ * transaction after the transaction manager has asked for a connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long readYourWritesWindowNanos;
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(Duration readYourWritesWindow) {
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String clientKey = currentClientKey();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit(clientKey);
+            return Route.PRIMARY;
+        }
+
+        if (clientKey != null && wroteRecently(clientKey)) {
+            log.debug("Routing read for {} to primary (read-your-writes window)", clientKey);
+            return Route.PRIMARY;
+        }
+
+        return Route.REPLICA;
+    }
+
+    private void recordWriteOnCommit(String clientKey) {
+        if (clientKey == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordWrite(clientKey);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(clientKey);
+            }
+        });
+    }
+
+    private void recordWrite(String clientKey) {
+        long now = System.nanoTime();
+        lastWriteByClient.put(clientKey, now);
+
+        if (lastWriteByClient.size() > PURGE_THRESHOLD) {
+            lastWriteByClient.values().removeIf(writtenAt -> now - writtenAt > readYourWritesWindowNanos);
+        }
+    }
+
+    private boolean wroteRecently(String clientKey) {
+        Long writtenAt = lastWriteByClient.get(clientKey);
+        return writtenAt != null && System.nanoTime() - writtenAt <= readYourWritesWindowNanos;
+    }
+
+    private String currentClientKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
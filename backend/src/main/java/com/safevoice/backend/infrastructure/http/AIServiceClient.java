@@ -3,27 +3,26 @@ package com.safevoice.backend.infrastructure.http;
 import com.safevoice.backend.api.dto.AIModerationResponse;
 import com.safevoice.backend.api.dto.AIVerificationResponse;
 import com.safevoice.backend.infrastructure.exception.ExternalServiceException;
+import com.safevoice.backend.infrastructure.profiling.AIServiceCallEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
-import java.io.IOException;
+import java.time.Duration;
 
 @Slf4j
 @Service
 public class AIServiceClient {
 
-    private final RestTemplate restTemplate;
+    private final WebClient webClient;
 
     @Value("${ai.service.moderation-url}")
     private String moderationUrl;
@@ -34,81 +33,79 @@ public class AIServiceClient {
     @Value("${ai.service.timeout-seconds:30}")
     private Integer timeoutSeconds;
 
-    public AIServiceClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public AIServiceClient(@Qualifier("aiServiceWebClient") WebClient webClient) {
+        this.webClient = webClient;
     }
 
     public AIModerationResponse callModerationService(MultipartFile imageFile) {
-        try {
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new ByteArrayResource(imageFile.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return imageFile.getOriginalFilename();
-                }
-            });
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            log.info("Calling AI moderation service");
-            ResponseEntity<AIModerationResponse> response = restTemplate.postForEntity(
-                moderationUrl, requestEntity, AIModerationResponse.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                log.info("AI moderation completed. Confidence: {}", response.getBody().getFinalConfidence());
-                return response.getBody();
-            }
-
-            throw new ExternalServiceException("AI moderation service returned error status");
-
-        } catch (IOException e) {
-            log.error("Error reading image file for moderation", e);
-            throw new ExternalServiceException("Failed to process image for moderation", e);
-        } catch (RestClientException e) {
-            log.error("Error calling AI moderation service", e);
-            throw new ExternalServiceException("Failed to call AI moderation service", e);
-        }
+        return moderate(imageFile).block();
     }
 
     public AIVerificationResponse callVerificationService(MultipartFile originalImage, MultipartFile resolvedImage) {
-        try {
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("original", new ByteArrayResource(originalImage.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return originalImage.getOriginalFilename();
-                }
-            });
-            body.add("resolved", new ByteArrayResource(resolvedImage.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return resolvedImage.getOriginalFilename();
-                }
-            });
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            log.info("Calling AI verification service");
-            ResponseEntity<AIVerificationResponse> response = restTemplate.postForEntity(
-                verificationUrl, requestEntity, AIVerificationResponse.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                log.info("AI verification completed. Status: {}", response.getBody().getVerificationStatus());
-                return response.getBody();
-            }
-
-            throw new ExternalServiceException("AI verification service returned error status");
-
-        } catch (IOException e) {
-            log.error("Error reading image files for verification", e);
-            throw new ExternalServiceException("Failed to process images for verification", e);
-        } catch (RestClientException e) {
-            log.error("Error calling AI verification service", e);
-            throw new ExternalServiceException("Failed to call AI verification service", e);
-        }
+        return verify(originalImage, resolvedImage).block();
+    }
+
+    public Mono<AIModerationResponse> moderate(MultipartFile imageFile) {
+        return moderate(imageFile, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    public Mono<AIModerationResponse> moderate(MultipartFile imageFile, Duration deadline) {
+        // Parts are streamed from the multipart resource instead of being copied into a byte[]
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", imageFile.getResource());
+
+        return post(moderationUrl, body, AIModerationResponse.class, "moderation", deadline, imageFile.getSize())
+            .doOnNext(result -> log.info("AI moderation completed. Confidence: {}", result.getFinalConfidence()));
+    }
+
+    public Mono<AIVerificationResponse> verify(MultipartFile originalImage, MultipartFile resolvedImage) {
+        return verify(originalImage, resolvedImage, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    public Mono<AIVerificationResponse> verify(
+            MultipartFile originalImage,
+            MultipartFile resolvedImage,
+            Duration deadline) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("original", originalImage.getResource());
+        body.part("resolved", resolvedImage.getResource());
+
+        long payloadBytes = originalImage.getSize() + resolvedImage.getSize();
+        return post(verificationUrl, body, AIVerificationResponse.class, "verification", deadline, payloadBytes)
+            .doOnNext(result -> log.info("AI verification completed. Status: {}", result.getVerificationStatus()));
+    }
+
+    private <T> Mono<T> post(
+            String url,
+            MultipartBodyBuilder body,
+            Class<T> responseType,
+            String operation,
+            Duration deadline,
+            long payloadBytes) {
+        return Mono.defer(() -> {
+            AIServiceCallEvent event = new AIServiceCallEvent();
+            event.begin();
+
+            return webClient.post()
+                .uri(url)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToMono(responseType)
+                .switchIfEmpty(Mono.error(() ->
+                    new ExternalServiceException("AI " + operation + " service returned an empty response")))
+                .timeout(deadline)
+                .doOnSubscribe(subscription -> log.info("Calling AI {} service", operation))
+                .onErrorMap(ex -> !(ex instanceof ExternalServiceException), ex -> {
+                    log.error("Error calling AI {} service", operation, ex);
+                    return new ExternalServiceException("Failed to call AI " + operation + " service", ex);
+                })
+                .doFinally(signal -> {
+                    event.operation = operation;
+                    event.payloadBytes = payloadBytes;
+                    event.succeeded = signal == SignalType.ON_COMPLETE;
+                    event.commit();
+                });
+        });
     }
 }
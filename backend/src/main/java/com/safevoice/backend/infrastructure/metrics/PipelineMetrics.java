@@ -0,0 +1,83 @@
+package com.safevoice.backend.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.function.Supplier;
+
+@Component
+public class PipelineMetrics {
+
+    public static final String PROBLEM_PIPELINE = "problem";
+    public static final String RESOLUTION_PIPELINE = "resolution";
+
+    private static final String STAGE_TIMER = "safevoice.pipeline.stage";
+    private static final String MODERATION_COUNTER = "safevoice.moderation.outcome";
+    private static final String VERIFICATION_COUNTER = "safevoice.verification.outcome";
+
+    private final MeterRegistry registry;
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T time(String pipeline, String stage, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(stageTimer(pipeline, stage, outcome));
+        }
+    }
+
+    public void time(String pipeline, String stage, Runnable action) {
+        time(pipeline, stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> Mono<T> time(String pipeline, String stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return mono.doFinally(signal -> sample.stop(
+                stageTimer(pipeline, stage, signal == SignalType.ON_ERROR ? "error" : "success")));
+        });
+    }
+
+    public void recordModerationOutcome(String pipeline, String outcome) {
+        Counter.builder(MODERATION_COUNTER)
+            .description("AI moderation decisions per upload pipeline")
+            .tag("pipeline", pipeline)
+            .tag("outcome", outcome)
+            .register(registry)
+            .increment();
+    }
+
+    public void recordVerificationOutcome(String status, String reason) {
+        Counter.builder(VERIFICATION_COUNTER)
+            .description("Resolution verification decisions")
+            .tag("status", status)
+            .tag("reason", reason)
+            .register(registry)
+            .increment();
+    }
+
+    private Timer stageTimer(String pipeline, String stage, String outcome) {
+        return Timer.builder(STAGE_TIMER)
+            .description("Latency of each upload pipeline stage")
+            .tag("pipeline", pipeline)
+            .tag("stage", stage)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+    }
+}
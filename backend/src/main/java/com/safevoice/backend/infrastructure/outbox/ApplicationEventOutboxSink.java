@@ -0,0 +1,21 @@
+package com.safevoice.backend.infrastructure.outbox;
+
+import com.safevoice.backend.domain.entity.OutboxEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Hands relayed events to in-process @EventListener methods taking an OutboxEvent
+@Component
+public class ApplicationEventOutboxSink implements OutboxEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ApplicationEventOutboxSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) {
+        applicationEventPublisher.publishEvent(event);
+    }
+}
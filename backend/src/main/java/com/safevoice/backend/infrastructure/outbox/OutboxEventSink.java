@@ -0,0 +1,15 @@
+package com.safevoice.backend.infrastructure.outbox;
+
+import com.safevoice.backend.domain.entity.OutboxEvent;
+
+/**
+ * Destination for relayed outbox events. Deliveries run in the relay's batch transaction, which
+ * holds the events' row locks, each behind its own savepoint: a sink that throws has its database
+ * work rolled back and leaves the event unpublished for a later retry without affecting the other
+ * events. Once max-attempts is used up the event is dead-lettered and not delivered again.
+ * Delivery is at-least-once; sinks must tolerate seeing the same event id twice.
+ */
+public interface OutboxEventSink {
+
+    void deliver(OutboxEvent event);
+}
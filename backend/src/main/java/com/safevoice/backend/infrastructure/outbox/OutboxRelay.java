@@ -0,0 +1,178 @@
+package com.safevoice.backend.infrastructure.outbox;
+
+import com.safevoice.backend.domain.entity.OutboxEvent;
+import com.safevoice.backend.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter deadLettered;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private Integer batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private Integer maxAttempts;
+
+    @Value("${outbox.retention-hours:72}")
+    private Integer retentionHours;
+
+    // Kept longer than published events so they can be inspected and replayed by hand
+    @Value("${outbox.dead-letter-retention-hours:720}")
+    private Integer deadLetterRetentionHours;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            List<OutboxEventSink> sinks,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry registry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.published = Counter.builder("outbox.relay.events").tag("result", "published").register(registry);
+        this.failed = Counter.builder("outbox.relay.events").tag("result", "failed").register(registry);
+        this.deadLettered = Counter.builder("outbox.relay.events").tag("result", "dead_lettered").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        // Keep draining while full batches go through cleanly; stop early on any failure so a
+        // broken sink is retried on the next tick instead of spinning through its attempts
+        Batch batch;
+        do {
+            batch = relayBatch();
+        } while (batch.locked() == batchSize && batch.failures() == 0);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(tx -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events older than {}", deleted, cutoff);
+        }
+
+        LocalDateTime deadLetterCutoff = LocalDateTime.now().minusHours(deadLetterRetentionHours);
+        Integer expired = transactionTemplate.execute(tx ->
+            outboxEventRepository.deleteDeadLetteredBefore(deadLetterCutoff));
+        if (expired != null && expired > 0) {
+            log.info("Purged {} dead-lettered outbox events older than {}", expired, deadLetterCutoff);
+        }
+    }
+
+    // One transaction locks the batch and records every outcome. Each delivery runs behind a savepoint,
+    // so a sink that fails part-way through its database work only undoes its own statements. A sink
+    // that leaves the whole transaction rollback-only (a failing @Transactional it joined) ends the
+    // batch instead: the failure is counted in a transaction of its own, and the batch's earlier events
+    // are delivered again on the next run.
+    private Batch relayBatch() {
+        List<Failure> unrecorded = new ArrayList<>(1);
+        Batch batch = transactionTemplate.execute(tx -> {
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+            List<UUID> delivered = new ArrayList<>(events.size());
+            int failures = 0;
+            for (OutboxEvent event : events) {
+                // Events that ran out of attempts before dead-lettering existed, or under a higher limit
+                if (event.getAttempts() >= maxAttempts) {
+                    deadLetter(event, event.getAttempts());
+                    continue;
+                }
+                RuntimeException failure = deliver(event);
+                if (failure == null) {
+                    delivered.add(event.getId());
+                    continue;
+                }
+                failures++;
+                if (tx.isRollbackOnly()) {
+                    tx.setRollbackOnly();
+                    unrecorded.add(new Failure(event, failure));
+                    return new Batch(events.size(), failures);
+                }
+                recordFailure(event, failure);
+            }
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markPublished(delivered, LocalDateTime.now());
+                published.increment(delivered.size());
+                log.debug("Relayed {} outbox events", delivered.size());
+            }
+            return new Batch(events.size(), failures);
+        });
+
+        for (Failure failure : unrecorded) {
+            transactionTemplate.executeWithoutResult(tx -> recordFailure(failure.event(), failure.cause()));
+        }
+        return batch;
+    }
+
+    private RuntimeException deliver(OutboxEvent event) {
+        Session session = entityManager.unwrap(Session.class);
+        // Flushed first, so rolling back to the savepoint cannot undo what earlier sinks wrote
+        session.flush();
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        try {
+            for (OutboxEventSink sink : sinks) {
+                sink.deliver(event);
+            }
+            session.flush();
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+            return null;
+        } catch (RuntimeException ex) {
+            session.doWork(connection -> connection.rollback(savepoint));
+            // Entities the sink changed would otherwise be flushed again at commit
+            session.clear();
+            return ex;
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException failure) {
+        outboxEventRepository.recordFailure(event.getId(), failure.getMessage());
+        failed.increment();
+        int attempts = event.getAttempts() + 1;
+        log.warn("Outbox event {} ({}) delivery failed, attempt {}/{}: {}",
+            event.getId(), event.getEventType(), attempts, maxAttempts, failure.getMessage());
+        if (attempts >= maxAttempts) {
+            deadLetter(event, attempts);
+        }
+    }
+
+    private void deadLetter(OutboxEvent event, int attempts) {
+        outboxEventRepository.markDeadLettered(event.getId(), LocalDateTime.now());
+        deadLettered.increment();
+        log.error("Outbox event {} ({}) dead-lettered after {} failed attempts; it will not be retried",
+            event.getId(), event.getEventType(), attempts);
+    }
+
+    private record Batch(int locked, int failures) {
+    }
+
+    private record Failure(OutboxEvent event, RuntimeException cause) {
+    }
+}
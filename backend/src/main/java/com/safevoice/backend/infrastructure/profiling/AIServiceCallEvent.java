@@ -0,0 +1,27 @@
+package com.safevoice.backend.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.safevoice.AIServiceCall")
+@Label("AI Service Call")
+@Description("Round trip to the moderation or verification endpoint of the AI service")
+@Category({"SafeVoice", "External Calls"})
+@StackTrace(false)
+public class AIServiceCallEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
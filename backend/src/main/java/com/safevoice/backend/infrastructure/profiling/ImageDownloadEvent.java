@@ -0,0 +1,27 @@
+package com.safevoice.backend.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.safevoice.ImageDownload")
+@Label("Original Image Download")
+@Description("Download of the original problem image during resolution verification")
+@Category({"SafeVoice", "External Calls"})
+@StackTrace(false)
+public class ImageDownloadEvent extends Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,19 @@
+package com.safevoice.backend.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.safevoice.JwtVerification")
+@Label("JWT Verification")
+@Description("Bearer token parsing and signature check in the authentication filter")
+@Category({"SafeVoice", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Valid")
+    public boolean valid;
+}
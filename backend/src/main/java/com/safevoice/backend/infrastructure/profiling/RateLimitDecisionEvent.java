@@ -0,0 +1,23 @@
+package com.safevoice.backend.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.safevoice.RateLimitDecision")
+@Label("Rate Limit Decision")
+@Description("Token bucket lookup and consume for an upload request")
+@Category({"SafeVoice", "Security"})
+@StackTrace(false)
+public class RateLimitDecisionEvent extends Event {
+
+    @Label("Allowed")
+    public boolean allowed;
+
+    @Label("New Bucket")
+    @Description("True when this request created the bucket for its client")
+    public boolean newBucket;
+}
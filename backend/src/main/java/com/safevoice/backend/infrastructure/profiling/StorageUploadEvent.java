@@ -0,0 +1,27 @@
+package com.safevoice.backend.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.safevoice.StorageUpload")
+@Label("Storage Upload")
+@Description("Image upload to the object storage backend")
+@Category({"SafeVoice", "External Calls"})
+@StackTrace(false)
+public class StorageUploadEvent extends Event {
+
+    @Label("Folder")
+    public String folder;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
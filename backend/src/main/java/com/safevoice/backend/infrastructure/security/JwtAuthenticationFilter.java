@@ -1,5 +1,6 @@
 package com.safevoice.backend.infrastructure.security;
 
+import com.safevoice.backend.infrastructure.profiling.JwtVerificationEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,7 +31,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
+            if (StringUtils.hasText(jwt) && isValidToken(jwt)) {
                 String email = jwtTokenProvider.getEmailFromToken(jwt);
                 String role = jwtTokenProvider.getRoleFromToken(jwt);
 
@@ -50,6 +51,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean isValidToken(String jwt) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        boolean valid = jwtTokenProvider.validateToken(jwt);
+        event.valid = valid;
+        event.commit();
+        return valid;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
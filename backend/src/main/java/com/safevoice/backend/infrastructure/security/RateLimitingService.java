@@ -1,5 +1,6 @@
 package com.safevoice.backend.infrastructure.security;
 
+import com.safevoice.backend.infrastructure.profiling.RateLimitDecisionEvent;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +21,12 @@ public class RateLimitingService {
     private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
 
     public boolean isAllowed(String ipAddress) {
+        RateLimitDecisionEvent event = new RateLimitDecisionEvent();
+        event.begin();
 
+        boolean[] created = {false};
         Bucket bucket = cache.computeIfAbsent(ipAddress, key -> {
+            created[0] = true;
             Bandwidth limit = Bandwidth.builder()
                     .capacity(requestsPerMinute)
                     .refillIntervally(requestsPerMinute, Duration.ofMinutes(1))
@@ -34,6 +39,10 @@ public class RateLimitingService {
 
         boolean allowed = bucket.tryConsume(1);
 
+        event.allowed = allowed;
+        event.newBucket = created[0];
+        event.commit();
+
         if (!allowed) {
             log.warn("Rate limit exceeded for IP: {}", ipAddress);
         }
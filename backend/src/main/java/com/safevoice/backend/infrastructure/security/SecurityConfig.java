@@ -47,21 +47,35 @@ public class SecurityConfig {
 
                 // Public endpoints
                 .requestMatchers(HttpMethod.POST, "/api/problems").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/problems/uploads").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/problems/uploads/*/finalize").permitAll()
+                .requestMatchers(HttpMethod.HEAD, "/api/problems/uploads/*").permitAll()
+                .requestMatchers(HttpMethod.PATCH, "/api/problems/uploads/*").permitAll()
+                .requestMatchers(HttpMethod.DELETE, "/api/problems/uploads/*").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/problems/direct-uploads").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/problems/direct-uploads/*/finalize").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/problems").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/problems/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/stats").permitAll()
+                .requestMatchers(HttpMethod.PUT, "/api/storage/uploads/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/").permitAll()
                 .requestMatchers(HttpMethod.HEAD, "/").permitAll()
                 .requestMatchers(HttpMethod.GET, "/health").permitAll()
                 .requestMatchers(HttpMethod.HEAD, "/health").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
                 .requestMatchers("/api/auth/login").permitAll()
                 .requestMatchers("/api/auth/register").permitAll()
                 
                 // Official endpoints
                 .requestMatchers("/api/official/**").hasRole("OFFICIAL")
+                .requestMatchers(HttpMethod.PUT, "/api/problems/status").hasRole("OFFICIAL")
                 .requestMatchers(HttpMethod.PUT, "/api/problems/*/status").hasRole("OFFICIAL")
                 
                 // Admin endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // Includes /actuator/prometheus: pool state and latencies are not public
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // All other requests require authentication
                 .anyRequest().authenticated()
@@ -85,8 +99,10 @@ public class SecurityConfig {
             "http://127.0.0.1:5173",
             "http://127.0.0.1:3000"
         ));
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of(
+            "Idempotent-Replayed", "Location", "Upload-Offset", "Upload-Length", "Upload-Expires"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
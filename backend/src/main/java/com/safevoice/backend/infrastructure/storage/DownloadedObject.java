@@ -0,0 +1,57 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// A storage object available as a local file that closing deletes: a downloaded copy for remote
+// backends, a hard-link snapshot of the stored file for the local one.
+@Slf4j
+public class DownloadedObject implements AutoCloseable {
+
+    private final String objectKey;
+    private final String contentType;
+    private final Path path;
+    private final long size;
+    private final boolean temporary;
+
+    DownloadedObject(String objectKey, String contentType, Path path, long size, boolean temporary) {
+        this.objectKey = objectKey;
+        this.contentType = contentType;
+        this.path = path;
+        this.size = size;
+        this.temporary = temporary;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public MultipartFile asMultipartFile(String name) {
+        String fileName = objectKey.substring(objectKey.lastIndexOf('/') + 1);
+        return new FileBackedMultipartFile(name, fileName, contentType, path);
+    }
+
+    @Override
+    public void close() {
+        if (!temporary) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete downloaded object {}: {}", path, ex.getMessage());
+        }
+    }
+}
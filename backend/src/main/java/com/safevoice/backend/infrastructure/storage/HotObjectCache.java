@@ -0,0 +1,82 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Small LRU of whole image bodies, bounded by total bytes. Only objects up to max-object-bytes are
+// admitted: the feed's thumbnails are requested far more often than full images, and for bodies that
+// small a memory copy is cheaper than opening the file and setting up sendfile.
+@Component
+public class HotObjectCache {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private volatile long currentBytes;
+
+    @Value("${images.hot-cache.max-bytes:33554432}")
+    private Long maxBytes;
+
+    @Value("${images.hot-cache.max-object-bytes:262144}")
+    private Long maxObjectBytes;
+
+    public HotObjectCache(MeterRegistry registry) {
+        this.hits = Counter.builder("images.hot_cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("images.hot_cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("images.hot_cache.bytes", this, cache -> cache.currentBytes).register(registry);
+    }
+
+    public boolean admits(long size) {
+        return size <= maxObjectBytes && size <= maxBytes;
+    }
+
+    // The etag is part of the key, so an object whose content changed is never served stale
+    public byte[] get(String objectKey, String etag, Supplier<byte[]> loader) {
+        String key = objectKey + "#" + etag;
+        lock.lock();
+        try {
+            byte[] cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Loaded outside the lock; two concurrent misses both read the file, which is harmless
+        misses.increment();
+        byte[] loaded = loader.get();
+        if (admits(loaded.length)) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private void put(String key, byte[] value) {
+        lock.lock();
+        try {
+            byte[] previous = entries.put(key, value);
+            long size = currentBytes + value.length - (previous == null ? 0 : previous.length);
+            Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+            while (size > maxBytes && eldest.hasNext()) {
+                size -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+            currentBytes = size;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
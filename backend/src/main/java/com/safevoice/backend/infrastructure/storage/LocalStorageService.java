@@ -0,0 +1,394 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import com.safevoice.backend.infrastructure.exception.ConflictException;
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import com.safevoice.backend.infrastructure.profiling.StorageUploadEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Filesystem backend for development, perf tests and single-node installs. Uploaded images are
+// content-addressed: <folder>/<ab>/<cd>/<sha256>.<ext>, so identical images are stored once and a key
+// never changes content. Every write goes to .tmp first and is renamed or linked into place, so a
+// reader never sees a partial file. Objects are served by this application under /api/images/.
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "local")
+public class LocalStorageService implements StorageService, ServedObjectStore {
+
+    public static final String IMAGE_PATH = "/api/images/";
+    public static final String SIGNED_UPLOAD_PATH = "/api/storage/uploads/";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^[0-9a-f]{64}(\\.\\w+)?$");
+    private static final Map<String, String> EXTENSIONS = Map.of(
+        "image/jpeg", ".jpg",
+        "image/png", ".png",
+        "image/webp", ".webp",
+        "image/gif", ".gif");
+
+    @Value("${storage.local.root:./data/storage}")
+    private Path configuredRoot;
+
+    @Value("${storage.local.public-base-url:http://localhost:8080}")
+    private String publicBaseUrl;
+
+    // fsync before the rename; turn off only where losing recent uploads on a crash is acceptable
+    @Value("${storage.local.fsync:true}")
+    private Boolean fsync;
+
+    @Value("${storage.local.max-object-bytes:10485760}")
+    private Long maxObjectBytes;
+
+    @Value("${storage.local.signed-upload-ttl-minutes:15}")
+    private Long signedUploadTtlMinutes;
+
+    private Path root;
+    private Path tempDir;
+    // Signed upload URLs are only checked by this process, so a per-start key is enough
+    private final byte[] signingKey = new byte[32];
+
+    @PostConstruct
+    void init() throws IOException {
+        root = configuredRoot.toAbsolutePath().normalize();
+        tempDir = root.resolve(".tmp");
+        Files.createDirectories(tempDir);
+        // Partial writes from a previous run were never renamed into place
+        try (Stream<Path> leftovers = Files.list(tempDir)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+        new SecureRandom().nextBytes(signingKey);
+        log.info("Local storage at {}", root);
+    }
+
+    @Override
+    public String uploadImage(MultipartFile file, String folderPrefix) {
+        StorageUploadEvent event = new StorageUploadEvent();
+        event.begin();
+        try (InputStream in = file.getInputStream()) {
+            String key = storeContentAddressed(in, folderPrefix);
+            event.succeeded = true;
+            return publicUrl(key);
+        } catch (IOException ex) {
+            log.error("Error storing file locally", ex);
+            throw new UncheckedIOException("Failed to store file", ex);
+        } finally {
+            event.folder = folderPrefix;
+            event.bytes = file.getSize();
+            event.commit();
+        }
+    }
+
+    @Override
+    public String createSignedUploadUrl(String objectKey) {
+        resolve(objectKey);
+        long expires = Instant.now().plus(Duration.ofMinutes(signedUploadTtlMinutes)).getEpochSecond();
+        return publicBaseUrl + SIGNED_UPLOAD_PATH + objectKey
+            + "?expires=" + expires + "&signature=" + sign(objectKey, expires);
+    }
+
+    // Target of the URLs from createSignedUploadUrl; the object keeps the key it was signed for. A key can
+    // only be written once, so a URL replayed after finalize started can't swap the bytes being moderated.
+    public void acceptSignedUpload(String objectKey, long expires, String signature, InputStream body) {
+        boolean valid = signature != null && MessageDigest.isEqual(
+            sign(objectKey, expires).getBytes(StandardCharsets.US_ASCII),
+            signature.getBytes(StandardCharsets.US_ASCII));
+        if (!valid || Instant.ofEpochSecond(expires).isBefore(Instant.now())) {
+            throw new ValidationException("Upload URL is invalid or has expired");
+        }
+
+        Path target = resolve(objectKey);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(tempDir, "upload-", ".part");
+            writeAndDigest(body, temp);
+            Files.createDirectories(target.getParent());
+            linkOrCopy(temp, target);
+        } catch (FileAlreadyExistsException ex) {
+            throw new ConflictException("An object was already uploaded to this URL");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store upload", ex);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    @Override
+    public DownloadedObject downloadObject(String objectKey, long maxBytes) {
+        Path path = resolve(objectKey);
+        try {
+            long size = Files.size(path);
+            if (size > maxBytes) {
+                throw new ValidationException("Image file size exceeds " + (maxBytes / (1024 * 1024)) + "MB limit");
+            }
+            // Stored files are never rewritten in place (only created by rename or link), so a hard link
+            // is a stable snapshot for the caller without copying the bytes
+            Path snapshot = tempDir.resolve("download-" + UUID.randomUUID() + ".part");
+            linkOrCopy(path, snapshot);
+            return new DownloadedObject(objectKey, detectContentType(snapshot), snapshot, size, true);
+        } catch (NoSuchFileException ex) {
+            throw new ResourceNotFoundException("Object not found in storage: " + objectKey);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read " + objectKey, ex);
+        }
+    }
+
+    @Override
+    public String promoteObject(String sourceKey, String folderPrefix) {
+        // Copied rather than moved so the source survives until the caller has recorded the new URL;
+        // promoting the same bytes again lands on the same key
+        try (InputStream in = Files.newInputStream(resolve(sourceKey))) {
+            return publicUrl(storeContentAddressed(in, folderPrefix));
+        } catch (NoSuchFileException ex) {
+            throw new ResourceNotFoundException("Object not found in storage: " + sourceKey);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to promote " + sourceKey, ex);
+        }
+    }
+
+    @Override
+    public void deleteObject(String objectKey) {
+        try {
+            Files.deleteIfExists(resolve(objectKey));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to delete " + objectKey, ex);
+        }
+    }
+
+    @Override
+    public List<String> listObjectNames(String folder, int limit) {
+        Path directory = resolve(folder);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries
+                .filter(Files::isRegularFile)
+                .map(path -> path.getFileName().toString())
+                .sorted()
+                .limit(limit)
+                .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to list " + folder, ex);
+        }
+    }
+
+    @Override
+    public Optional<String> externalUrl(String objectKey) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<StoredObject> findObject(String objectKey) {
+        Path path = resolve(objectKey);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            String name = path.getFileName().toString();
+            boolean contentAddressed = CONTENT_ADDRESSED_NAME.matcher(name).matches();
+            String etag = contentAddressed
+                ? name.substring(0, 64)
+                : Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis());
+            return Optional.of(StoredObject.builder()
+                .objectKey(objectKey)
+                .contentType(detectContentType(path))
+                .size(attributes.size())
+                .lastModified(attributes.lastModifiedTime().toInstant())
+                .etag(etag)
+                .immutable(contentAddressed)
+                .localPath(path)
+                .build());
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read " + objectKey, ex);
+        }
+    }
+
+    // FileChannel.transferTo lets the kernel copy straight from the page cache when target is a socket
+    @Override
+    public long transferTo(String objectKey, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(objectKey), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, channel.size());
+            long sent = position;
+            while (sent < end) {
+                long transferred = channel.transferTo(sent, end - sent, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                sent += transferred;
+            }
+            return sent - position;
+        } catch (NoSuchFileException ex) {
+            throw new ResourceNotFoundException("Object not found in storage: " + objectKey);
+        }
+    }
+
+    private String storeContentAddressed(InputStream in, String folderPrefix) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            String digest = writeAndDigest(in, temp);
+            String key = contentAddressedKey(folderPrefix, digest, detectContentType(temp));
+            moveIntoPlace(temp, resolve(key));
+            return key;
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private String writeAndDigest(InputStream in, Path temp) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+        long total = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxObjectBytes) {
+                    throw new ValidationException("Object exceeds the " + maxObjectBytes + " byte limit");
+                }
+                digest.update(buffer, 0, read);
+                wrapped.clear().limit(read);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+            }
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String contentAddressedKey(String folderPrefix, String digest, String contentType) {
+        return folderPrefix + "/" + digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest
+            + EXTENSIONS.getOrDefault(contentType, "");
+    }
+
+    // Content-addressed targets that already exist hold the same bytes, so the source is simply dropped
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        if (Files.exists(target)) {
+            Files.delete(source);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Fails with FileAlreadyExistsException instead of replacing target
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException ex) {
+            Files.copy(source, target);
+        }
+    }
+
+    // Keys come from URLs: anything resolving outside the root (or into .tmp) is treated as missing
+    private Path resolve(String objectKey) {
+        Path path = root.resolve(objectKey).normalize();
+        if (!path.startsWith(root) || path.equals(root) || path.startsWith(tempDir)) {
+            throw new ResourceNotFoundException("Object not found in storage: " + objectKey);
+        }
+        return path;
+    }
+
+    private String publicUrl(String objectKey) {
+        return publicBaseUrl + IMAGE_PATH + objectKey;
+    }
+
+    private String sign(String objectKey, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingKey, "HmacSHA256"));
+            byte[] signature = mac.doFinal((objectKey + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 not available", ex);
+        }
+    }
+
+    // Trusts the bytes rather than a client-declared type
+    private static String detectContentType(Path path) throws IOException {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(path)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (read >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "image/png";
+        }
+        if (read >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "image/gif";
+        }
+        if (read >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+}
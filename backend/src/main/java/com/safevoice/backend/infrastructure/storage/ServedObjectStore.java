@@ -0,0 +1,16 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+// Backends whose objects this application serves itself under /api/images/ (storage.backend=local).
+// Backends with their own public URLs don't implement it; see StorageService.externalUrl.
+public interface ServedObjectStore {
+
+    // Metadata for the object; empty if missing
+    Optional<StoredObject> findObject(String objectKey);
+
+    // Writes count bytes of the object starting at position to target
+    long transferTo(String objectKey, long position, long count, WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Optional;
+
+// Object storage for problem and resolution images. The implementation is chosen with
+// storage.backend: "supabase" (default) or "local".
+public interface StorageService {
+
+    // Stores the file under folderPrefix and returns its public URL
+    String uploadImage(MultipartFile file, String folderPrefix);
+
+    // URL the client can PUT the object to without credentials, valid for a limited time
+    String createSignedUploadUrl(String objectKey);
+
+    DownloadedObject downloadObject(String objectKey, long maxBytes);
+
+    // Copies an object (e.g. out of quarantine) under folderPrefix and returns its public URL. The source
+    // is left in place for the caller to delete; promoting the same source again is safe.
+    String promoteObject(String sourceKey, String folderPrefix);
+
+    void deleteObject(String objectKey);
+
+    // Names, relative to folder, of up to limit objects directly under it, in name order
+    List<String> listObjectNames(String folder, int limit);
+
+    // Where clients should fetch the object when the backend serves it itself (e.g. a CDN or public
+    // bucket URL); empty when this application serves it
+    Optional<String> externalUrl(String objectKey);
+}
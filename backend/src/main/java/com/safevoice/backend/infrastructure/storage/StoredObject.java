@@ -0,0 +1,26 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredObject {
+    private String objectKey;
+    private String contentType;
+    private long size;
+    private Instant lastModified;
+    // Stable for the object's content: the digest for content-addressed keys
+    private String etag;
+    // Content-addressed keys never change content, so responses can be cached forever
+    private boolean immutable;
+    // Set when the object is a plain file on this machine, so it can be handed to sendfile
+    private Path localPath;
+}
@@ -1,25 +1,41 @@
 package com.safevoice.backend.infrastructure.storage;
 
+import com.safevoice.backend.infrastructure.exception.ExternalServiceException;
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import com.safevoice.backend.infrastructure.profiling.StorageUploadEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class SupabaseStorageService {
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "supabase", matchIfMissing = true)
+public class SupabaseStorageService implements StorageService {
     private static final Pattern UNSAFE_FILENAME_CHARS = Pattern.compile("[^a-zA-Z0-9._-]");
 
     @Value("${supabase.url}")
@@ -33,7 +49,10 @@ public class SupabaseStorageService {
 
     private final RestTemplate restTemplate;
 
+    @Override
     public String uploadImage(MultipartFile file, String folderPrefix) {
+        StorageUploadEvent event = new StorageUploadEvent();
+        event.begin();
         try {
             String safeName = sanitizeFileName(file.getOriginalFilename());
             String fileName = folderPrefix + "/" + UUID.randomUUID() + "_" + safeName;
@@ -54,15 +73,161 @@ public class SupabaseStorageService {
             }
 
             // Construct the public URL for accessing the uploaded image
-            String publicUrl = supabaseUrl + "/storage/v1/object/public/" + bucketName + "/" + fileName;
+            String publicUrl = publicUrl(fileName);
             log.info("Image uploaded successfully: {}", publicUrl);
+            event.succeeded = true;
             return publicUrl;
         } catch (IOException ex) {
             log.error("Error uploading file to Supabase", ex);
             throw new RuntimeException("Failed to upload file to Supabase", ex);
+        } finally {
+            event.folder = folderPrefix;
+            event.bytes = file.getSize();
+            event.commit();
         }
     }
 
+    @Override
+    public String createSignedUploadUrl(String objectKey) {
+        String signUrl = supabaseUrl + "/storage/v1/object/upload/sign/" + bucketName + "/" + objectKey;
+        try {
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                signUrl, HttpMethod.POST, new HttpEntity<>(serviceHeaders()),
+                new ParameterizedTypeReference<Map<String, Object>>() {});
+            Object relativeUrl = response.getBody() == null ? null : response.getBody().get("url");
+            if (relativeUrl == null) {
+                throw new ExternalServiceException("Storage returned no signed upload URL");
+            }
+            return supabaseUrl + "/storage/v1" + relativeUrl;
+        } catch (RestClientException ex) {
+            log.error("Failed to sign upload for {}", objectKey, ex);
+            throw new ExternalServiceException("Failed to create signed upload URL", ex);
+        }
+    }
+
+    // Streams a (private) object into a temp file, refusing anything larger than maxBytes
+    @Override
+    public DownloadedObject downloadObject(String objectKey, long maxBytes) {
+        String downloadUrl = supabaseUrl + "/storage/v1/object/authenticated/" + bucketName + "/" + objectKey;
+        try {
+            return restTemplate.execute(downloadUrl, HttpMethod.GET,
+                request -> request.getHeaders().setBearerAuth(serviceKey),
+                response -> {
+                    if (response.getHeaders().getContentLength() > maxBytes) {
+                        throw new ValidationException("Image file size exceeds " + (maxBytes / (1024 * 1024)) + "MB limit");
+                    }
+                    MediaType mediaType = response.getHeaders().getContentType();
+                    String contentType = mediaType == null ? null : mediaType.getType() + "/" + mediaType.getSubtype();
+
+                    Path file = Files.createTempFile("safevoice-object-", ".tmp");
+                    try (InputStream body = response.getBody(); OutputStream out = Files.newOutputStream(file)) {
+                        long size = copyLimited(body, out, maxBytes);
+                        return new DownloadedObject(objectKey, contentType, file, size, true);
+                    } catch (IOException | RuntimeException ex) {
+                        Files.deleteIfExists(file);
+                        throw ex;
+                    }
+                });
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.BadRequest ex) {
+            // Supabase reports a missing object as 400 with a not_found body on some versions
+            throw new ResourceNotFoundException("Object not found in storage: " + objectKey);
+        } catch (RestClientException ex) {
+            log.error("Failed to download {} from storage", objectKey, ex);
+            throw new ExternalServiceException("Failed to download object from storage", ex);
+        }
+    }
+
+    // Server-side rename within the bucket, keeping the object name
+    @Override
+    public String promoteObject(String sourceKey, String folderPrefix) {
+        String destinationKey = folderPrefix + "/" + sourceKey.substring(sourceKey.lastIndexOf('/') + 1);
+        HttpHeaders headers = serviceHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        // A retried promote copies the same source over its earlier copy
+        headers.set("x-upsert", "true");
+        Map<String, String> body = Map.of(
+            "bucketId", bucketName,
+            "sourceKey", sourceKey,
+            "destinationKey", destinationKey);
+        try {
+            restTemplate.exchange(supabaseUrl + "/storage/v1/object/copy", HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+            return publicUrl(destinationKey);
+        } catch (RestClientException ex) {
+            log.error("Failed to copy {} to {}", sourceKey, destinationKey, ex);
+            throw new ExternalServiceException("Failed to copy object in storage", ex);
+        }
+    }
+
+    @Override
+    public void deleteObject(String objectKey) {
+        try {
+            restTemplate.exchange(supabaseUrl + "/storage/v1/object/" + bucketName + "/" + objectKey,
+                HttpMethod.DELETE, new HttpEntity<>(serviceHeaders()), String.class);
+        } catch (HttpClientErrorException.NotFound ex) {
+            log.debug("Object {} already deleted", objectKey);
+        } catch (RestClientException ex) {
+            log.error("Failed to delete {} from storage", objectKey, ex);
+            throw new ExternalServiceException("Failed to delete object from storage", ex);
+        }
+    }
+
+    @Override
+    public List<String> listObjectNames(String folder, int limit) {
+        HttpHeaders headers = serviceHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<String, Object> body = Map.of(
+            "prefix", folder,
+            "limit", limit,
+            "offset", 0,
+            "sortBy", Map.of("column", "name", "order", "asc"));
+        try {
+            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                supabaseUrl + "/storage/v1/object/list/" + bucketName, HttpMethod.POST,
+                new HttpEntity<>(body, headers), new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+            if (response.getBody() == null) {
+                return List.of();
+            }
+            return response.getBody().stream()
+                .map(entry -> (String) entry.get("name"))
+                .filter(name -> name != null)
+                .toList();
+        } catch (RestClientException ex) {
+            log.error("Failed to list {} in storage", folder, ex);
+            throw new ExternalServiceException("Failed to list objects in storage", ex);
+        }
+    }
+
+    // Images are served by Supabase from their public URLs
+    @Override
+    public Optional<String> externalUrl(String objectKey) {
+        return Optional.of(publicUrl(objectKey));
+    }
+
+    private String publicUrl(String objectKey) {
+        return supabaseUrl + "/storage/v1/object/public/" + bucketName + "/" + objectKey;
+    }
+
+    private HttpHeaders serviceHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(serviceKey);
+        return headers;
+    }
+
+    private static long copyLimited(InputStream in, OutputStream out, long maxBytes) throws IOException {
+        byte[] buffer = new byte[16 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxBytes) {
+                throw new ValidationException("Image file size exceeds " + (maxBytes / (1024 * 1024)) + "MB limit");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
     private String sanitizeFileName(String originalFilename) {
         String value = (originalFilename == null || originalFilename.isBlank()) ? "upload" : originalFilename.trim();
         value = value.replace("\\", "_").replace("/", "_");
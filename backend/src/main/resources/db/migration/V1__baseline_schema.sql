@@ -0,0 +1,61 @@
+-- Baseline of the schema previously generated by Hibernate (ddl-auto: update). IF NOT EXISTS lets it
+-- run against databases that Hibernate already created.
+
+CREATE TABLE IF NOT EXISTS problems (
+    id                    UUID             NOT NULL PRIMARY KEY,
+    image_url             VARCHAR(255)     NOT NULL,
+    latitude              DOUBLE PRECISION NOT NULL,
+    longitude             DOUBLE PRECISION NOT NULL,
+    description           TEXT,
+    description_token_ids INTEGER[],
+    status                VARCHAR(255)     NOT NULL,
+    ai_moderation_score   DOUBLE PRECISION NOT NULL,
+    moderation_passed     BOOLEAN          NOT NULL,
+    reporter_ip_address   VARCHAR(45),
+    created_at            TIMESTAMP(6)     NOT NULL,
+    updated_at            TIMESTAMP(6)     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS resolutions (
+    id                   UUID             NOT NULL PRIMARY KEY,
+    problem_id           UUID             NOT NULL REFERENCES problems (id),
+    official_id          UUID             NOT NULL,
+    resolved_image_url   VARCHAR(255)     NOT NULL,
+    official_description TEXT,
+    official_latitude    DOUBLE PRECISION,
+    official_longitude   DOUBLE PRECISION,
+    ai_similarity_score  DOUBLE PRECISION NOT NULL,
+    deepfake_detected    BOOLEAN          NOT NULL,
+    verification_reason  TEXT,
+    verification_status  VARCHAR(255)     NOT NULL,
+    created_at           TIMESTAMP(6)     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS officials (
+    id                 UUID         NOT NULL PRIMARY KEY,
+    email              VARCHAR(255) NOT NULL UNIQUE,
+    password_hash      VARCHAR(255) NOT NULL,
+    full_name          VARCHAR(255) NOT NULL,
+    official_id_number VARCHAR(255) NOT NULL UNIQUE,
+    department         VARCHAR(255) NOT NULL,
+    role               VARCHAR(255) NOT NULL,
+    is_verified        BOOLEAN      NOT NULL,
+    is_active          BOOLEAN      NOT NULL,
+    id_proof_url       TEXT,
+    created_at         TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id             UUID         NOT NULL PRIMARY KEY,
+    aggregate_type VARCHAR(50)  NOT NULL,
+    aggregate_id   UUID,
+    event_type     VARCHAR(50)  NOT NULL,
+    payload        TEXT         NOT NULL,
+    attempts       INTEGER      NOT NULL,
+    last_error     TEXT,
+    created_at     TIMESTAMP(6) NOT NULL,
+    published_at   TIMESTAMP(6)
+);
+
+-- Added to the entity after the first deployments
+ALTER TABLE problems ADD COLUMN IF NOT EXISTS description_token_ids INTEGER[];
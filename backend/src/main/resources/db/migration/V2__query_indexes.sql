@@ -0,0 +1,33 @@
+-- One index per repository query path; the EXPLAIN check in backend-benchmarks
+-- (com.safevoice.benchmarks.schema.QueryPlanCheck) asserts each query uses one.
+--
+-- Built CONCURRENTLY so a database that already holds data keeps taking writes while they build; the
+-- script therefore runs outside a transaction (V2__query_indexes.sql.conf). A build that fails leaves
+-- an INVALID index that IF NOT EXISTS would skip: drop it before repairing and re-running.
+
+-- Feed: ProblemRepository.findAll(pageable) ordered by created_at DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_problems_created_at ON problems (created_at DESC);
+
+-- Status-filtered feed: findByStatus ordered by created_at DESC; also answers the page count
+-- as an index-only scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_problems_status_created_at ON problems (status, created_at DESC);
+
+-- ResolutionRepository.findByProblemId, and the FK side of deletes on problems
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_resolutions_problem_id ON resolutions (problem_id);
+
+-- Resolved-posts feed: findByVerificationStatusOrderByCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_resolutions_verification_status_created_at
+    ON resolutions (verification_status, created_at DESC);
+
+-- Admin officials listing (OfficialRepository.findSummaries)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_officials_verified_active_created
+    ON officials (is_verified, is_active, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_officials_department_created ON officials (department, created_at);
+
+-- Outbox relay: only unpublished rows are ever polled, so the partial index stays small
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_unpublished
+    ON outbox_events (created_at) WHERE published_at IS NULL;
+
+-- Outbox cleanup: deletePublishedBefore
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_published_at
+    ON outbox_events (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,14 @@
+-- Full-text search over problem descriptions (GET /api/problems/search). The generated column is kept
+-- up to date by Postgres on every insert/update, so the application never writes it.
+--
+-- Cost on an existing database: adding a STORED generated column rewrites the whole problems table
+-- (and rebuilds its indexes) under an ACCESS EXCLUSIVE lock, so reads and writes of problems wait for
+-- the full rewrite plus the GIN build below, both proportional to the table size, and the rewrite
+-- needs about the table's size again in free disk while both copies exist. Apply it in a maintenance
+-- window on a large table. Later updates also pay for re-tokenizing the description, but only when
+-- the row is rewritten anyway.
+ALTER TABLE problems
+    ADD COLUMN IF NOT EXISTS description_tsv TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('english', coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_problems_description_tsv ON problems USING GIN (description_tsv);
@@ -0,0 +1,12 @@
+-- Counters behind GET /api/stats, updated in the same transaction as the change they count and
+-- checked periodically against problems/resolutions (ProblemStatsService.reconcile).
+--   metric 'problems':        problems created on day, currently in status bucket
+--   metric 'resolve_seconds': sum of (resolved at - created at) of those in bucket RESOLVED
+--   metric 'resolutions':     resolutions submitted on day, per verification status bucket
+CREATE TABLE IF NOT EXISTS stats_counters (
+    metric VARCHAR(50) NOT NULL,
+    day    DATE        NOT NULL,
+    bucket VARCHAR(50) NOT NULL,
+    total  BIGINT      NOT NULL,
+    PRIMARY KEY (metric, day, bucket)
+);
@@ -0,0 +1,3 @@
+-- Map tile aggregation (ProblemRepository.aggregateTile): a latitude range scan with the longitude
+-- and status checks answered from the index itself. Built CONCURRENTLY outside a transaction, see V2.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_problems_lat_lon ON problems (latitude, longitude) INCLUDE (status);
@@ -0,0 +1,37 @@
+-- Cold tier for problems that have been RESOLVED or REJECTED for a while (ProblemArchiveService).
+-- Same columns as the hot tables plus archived_at; description_tsv is not carried over since
+-- archived problems are not searched. The index on the live problems table is built CONCURRENTLY in V7.
+
+CREATE TABLE IF NOT EXISTS problems_archive (
+    id                    UUID             NOT NULL PRIMARY KEY,
+    image_url             VARCHAR(255)     NOT NULL,
+    latitude              DOUBLE PRECISION NOT NULL,
+    longitude             DOUBLE PRECISION NOT NULL,
+    description           TEXT,
+    description_token_ids INTEGER[],
+    status                VARCHAR(255)     NOT NULL,
+    ai_moderation_score   DOUBLE PRECISION NOT NULL,
+    moderation_passed     BOOLEAN          NOT NULL,
+    reporter_ip_address   VARCHAR(45),
+    created_at            TIMESTAMP(6)     NOT NULL,
+    updated_at            TIMESTAMP(6)     NOT NULL,
+    archived_at           TIMESTAMP(6)     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS resolutions_archive (
+    id                   UUID             NOT NULL PRIMARY KEY,
+    problem_id           UUID             NOT NULL REFERENCES problems_archive (id),
+    official_id          UUID             NOT NULL,
+    resolved_image_url   VARCHAR(255)     NOT NULL,
+    official_description TEXT,
+    official_latitude    DOUBLE PRECISION,
+    official_longitude   DOUBLE PRECISION,
+    ai_similarity_score  DOUBLE PRECISION NOT NULL,
+    deepfake_detected    BOOLEAN          NOT NULL,
+    verification_reason  TEXT,
+    verification_status  VARCHAR(255)     NOT NULL,
+    created_at           TIMESTAMP(6)     NOT NULL,
+    archived_at          TIMESTAMP(6)     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_resolutions_archive_problem_id ON resolutions_archive (problem_id);
@@ -0,0 +1,4 @@
+-- Archival candidates (ArchivedProblemRepository.lockArchivable), oldest first. Built CONCURRENTLY
+-- outside a transaction, see V2.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_problems_archivable ON problems (updated_at)
+    WHERE status IN ('RESOLVED', 'REJECTED');
@@ -0,0 +1,12 @@
+-- Outbox events that used up outbox.relay.max-attempts are dead-lettered instead of staying queued.
+-- Indexes are built CONCURRENTLY outside a transaction, see V2.
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS dead_lettered_at TIMESTAMP(6);
+
+-- Replaces idx_outbox_events_unpublished: dead-lettered rows drop out of the relay's scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_pending
+    ON outbox_events (created_at) WHERE published_at IS NULL AND dead_lettered_at IS NULL;
+DROP INDEX CONCURRENTLY IF EXISTS idx_outbox_events_unpublished;
+
+-- Dead-letter cleanup: deleteDeadLetteredBefore
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_dead_lettered_at
+    ON outbox_events (dead_lettered_at) WHERE dead_lettered_at IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Archive side of the resolved-posts feed (ResolutionRepository.findVerifiedPosts), mirroring
+-- idx_resolutions_verification_status_created_at from V2. Built CONCURRENTLY outside a transaction, see V2.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_resolutions_archive_verification_status_created_at
+    ON resolutions_archive (verification_status, created_at DESC);
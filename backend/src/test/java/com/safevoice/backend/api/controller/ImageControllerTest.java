@@ -0,0 +1,276 @@
+package com.safevoice.backend.api.controller;
+
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.storage.HotObjectCache;
+import com.safevoice.backend.infrastructure.storage.ServedObjectStore;
+import com.safevoice.backend.infrastructure.storage.StorageService;
+import com.safevoice.backend.infrastructure.storage.StoredObject;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageControllerTest {
+
+    private static final String KEY = "problems/ab/cd/abcd.jpg";
+    private static final String ETAG = "\"abcd\"";
+    private static final byte[] BODY = "0123456789".getBytes();
+
+    private final StorageService storageService = mock(StorageService.class);
+    private final ServedObjectStore store = mock(ServedObjectStore.class);
+    private final HotObjectCache hotObjectCache = new HotObjectCache(new SimpleMeterRegistry());
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/images/" + KEY);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private ImageController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(hotObjectCache, "maxBytes", 1024L);
+        ReflectionTestUtils.setField(hotObjectCache, "maxObjectBytes", 1024L);
+        controller = controller(Optional.of(store));
+
+        when(storageService.externalUrl(anyString())).thenReturn(Optional.empty());
+        when(store.findObject(KEY)).thenReturn(Optional.of(StoredObject.builder()
+            .objectKey(KEY)
+            .contentType("image/jpeg")
+            .size(BODY.length)
+            .lastModified(Instant.parse("2026-01-01T00:00:00Z"))
+            .etag("abcd")
+            .immutable(true)
+            .localPath(Path.of("/data/storage", KEY))
+            .build()));
+        when(store.transferTo(eq(KEY), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            int position = (int) invocation.<Long>getArgument(1).longValue();
+            int count = (int) Math.min(invocation.<Long>getArgument(2), BODY.length - position);
+            invocation.<WritableByteChannel>getArgument(3).write(ByteBuffer.wrap(BODY, position, count));
+            return (long) count;
+        });
+    }
+
+    @Test
+    void servesTheWholeObjectWithValidators() throws Exception {
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG);
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    void wildcardIfNoneMatchIsNotModified() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void staleIfNoneMatchGetsTheBody() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(3);
+        assertThat(response.getContentAsString()).isEqualTo("234");
+    }
+
+    @Test
+    void suffixRangeServesTheTail() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void rangeIsHonouredWhenIfRangeMatches() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("01");
+    }
+
+    @Test
+    void rangeIsIgnoredWhenIfRangeIsStale() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    void multipleOrMalformedRangesGetTheWholeBody() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+        get();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/api/images/" + KEY);
+        malformed.addHeader(HttpHeaders.RANGE, "pages=1");
+        MockHttpServletResponse malformedResponse = new MockHttpServletResponse();
+        controller.getImage("/" + KEY, malformed, malformedResponse);
+        assertThat(malformedResponse.getStatus()).isEqualTo(200);
+        assertThat(malformedResponse.getContentAsByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws Exception {
+        request.setMethod("HEAD");
+
+        get();
+
+        assertThat(response.getContentLengthLong()).isEqualTo(BODY.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        verify(store, never()).transferTo(anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void smallObjectsAreReadOnceAndThenServedFromTheHotCache() throws Exception {
+        get();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        controller.getImage("/" + KEY, new MockHttpServletRequest("GET", "/api/images/" + KEY), second);
+
+        assertThat(second.getContentAsByteArray()).isEqualTo(BODY);
+        verify(store).transferTo(eq(KEY), eq(0L), eq((long) BODY.length), any());
+    }
+
+    @Test
+    void largeObjectsAreHandedToSendfileWhenTheConnectorSupportsIt() throws Exception {
+        ReflectionTestUtils.setField(hotObjectCache, "maxObjectBytes", 4L);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+
+        get();
+
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+            .isEqualTo(Path.of("/data/storage", KEY).toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(2L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(5L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        verify(store, never()).transferTo(anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void largeObjectsAreStreamedWithoutSendfile() throws Exception {
+        ReflectionTestUtils.setField(hotObjectCache, "maxObjectBytes", 4L);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+
+        get();
+
+        assertThat(response.getContentAsString()).isEqualTo("234");
+        verify(store).transferTo(eq(KEY), eq(2L), eq(3L), any());
+    }
+
+    @Test
+    void quarantinedAndTraversingKeysAreNotFound() {
+        assertThatThrownBy(() -> controller.getImage("/quarantine/upload-1", request, response))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> controller.getImage("/problems/../quarantine/upload-1", request, response))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void missingObjectIsNotFound() {
+        when(store.findObject("problems/missing.jpg")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> controller.getImage("/problems/missing.jpg", request, response))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void externallyServedObjectsAreRedirected() throws Exception {
+        when(storageService.externalUrl(KEY)).thenReturn(Optional.of("https://cdn.example.com/" + KEY));
+
+        get();
+
+        assertThat(response.getRedirectedUrl()).isEqualTo("https://cdn.example.com/" + KEY);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("public, max-age=86400");
+        verify(store, never()).findObject(anyString());
+    }
+
+    @Test
+    void withoutAServedObjectStoreLocalKeysAreNotFound() {
+        ImageController remoteOnly = controller(Optional.empty());
+
+        assertThatThrownBy(() -> remoteOnly.getImage("/" + KEY, request, response))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ImageController controller(Optional<ServedObjectStore> servedObjectStore) {
+        ImageController imageController = new ImageController(storageService, servedObjectStore, hotObjectCache);
+        ReflectionTestUtils.setField(imageController, "quarantinePrefix", "quarantine");
+        ReflectionTestUtils.setField(imageController, "redirectMaxAgeSeconds", 86400L);
+        return imageController;
+    }
+
+    private void get() throws Exception {
+        controller.getImage("/" + KEY, request, response);
+    }
+}
@@ -0,0 +1,74 @@
+package com.safevoice.backend.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DescriptionMatcherTest {
+
+    @Test
+    void stemLinesUpInflectedForms() {
+        assertThat(stem("potholes")).isEqualTo(stem("pothole")).isEqualTo("pothol");
+        assertThat(stem("fixed")).isEqualTo(stem("fix")).isEqualTo("fix");
+        assertThat(stem("cleaning")).isEqualTo(stem("cleaned")).isEqualTo("clean");
+        assertThat(stem("resurfaced")).isEqualTo(stem("resurface")).isEqualTo("resurfac");
+        assertThat(stem("running")).isEqualTo("run");
+        assertThat(stem("cities")).isEqualTo("city");
+        assertThat(stem("glasses")).isEqualTo("glass");
+        assertThat(stem("boxes")).isEqualTo("box");
+    }
+
+    @Test
+    void stemLeavesShortWordsAndNonPluralEndingsAlone() {
+        assertThat(stem("bus")).isEqualTo("bus");
+        assertThat(stem("status")).isEqualTo("status");
+        assertThat(stem("fill")).isEqualTo("fill");
+        assertThat(stem("b42")).isEqualTo("b42");
+    }
+
+    @Test
+    void tokenIdsOfEmptyOrStopwordOnlyTextAreEmpty() {
+        assertThat(DescriptionMatcher.tokenIds(null)).isEmpty();
+        assertThat(DescriptionMatcher.tokenIds("   ")).isEmpty();
+        assertThat(DescriptionMatcher.tokenIds("the a of it, is on")).isEmpty();
+    }
+
+    @Test
+    void tokenIdsIgnoreCaseAccentsStopwordsAndPunctuation() {
+        assertThat(DescriptionMatcher.tokenIds("Potholes near the SCHOOL!"))
+            .isEqualTo(DescriptionMatcher.tokenIds("pothole school"));
+        assertThat(DescriptionMatcher.tokenIds("Café"))
+            .isEqualTo(DescriptionMatcher.tokenIds("cafe"));
+    }
+
+    @Test
+    void tokenIdsAreSortedAndDistinct() {
+        int[] ids = DescriptionMatcher.tokenIds("pothole potholes streetlight pothole drain streetlights");
+
+        assertThat(ids).hasSize(3).isSorted();
+    }
+
+    @Test
+    void jaccardIsIntersectionOverUnion() {
+        assertThat(DescriptionMatcher.jaccard(new int[] {1, 2, 3}, new int[] {2, 3, 4})).isCloseTo(0.5, within(1e-9));
+        assertThat(DescriptionMatcher.jaccard(new int[] {-5, 7}, new int[] {-5, 7})).isEqualTo(1.0);
+        assertThat(DescriptionMatcher.jaccard(new int[] {1}, new int[] {2})).isEqualTo(0.0);
+        assertThat(DescriptionMatcher.jaccard(new int[0], new int[0])).isEqualTo(0.0);
+    }
+
+    @Test
+    void isMatchedComparesAgainstTheThreshold() {
+        int[] problem = DescriptionMatcher.tokenIds("Large pothole on Main Street");
+
+        assertThat(DescriptionMatcher.isMatched(problem, "Filled the pothole on main street", 0.5)).isTrue();
+        assertThat(DescriptionMatcher.isMatched(problem, "Replaced a broken streetlight bulb", 0.5)).isFalse();
+        assertThat(DescriptionMatcher.isMatched(null, "pothole", 0.0)).isFalse();
+        assertThat(DescriptionMatcher.isMatched(problem, "the", 0.0)).isFalse();
+    }
+
+    private static String stem(String word) {
+        char[] token = word.toCharArray();
+        return new String(token, 0, DescriptionMatcher.stem(token, token.length));
+    }
+}
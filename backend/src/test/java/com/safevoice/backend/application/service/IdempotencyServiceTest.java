@@ -0,0 +1,195 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.infrastructure.exception.ConflictException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AtomicInteger runs = new AtomicInteger();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService();
+        ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+        ReflectionTestUtils.setField(service, "waitTimeoutSeconds", 5L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void retryWithSameKeyReplaysTheStoredResult() {
+        IdempotencyService.Result<String> first = service.execute("problems", "key-1", "fp", this::run);
+        IdempotencyService.Result<String> retry = service.execute("problems", "key-1", "fp", this::run);
+
+        assertThat(first.isReplayed()).isFalse();
+        assertThat(retry.isReplayed()).isTrue();
+        assertThat(retry.getValue()).isEqualTo(first.getValue());
+        assertThat(retry.headers().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keysAreScoped() {
+        service.execute("problems", "key-1", "fp", this::run);
+        IdempotencyService.Result<String> other = service.execute("resolutions", "key-1", "fp", this::run);
+
+        assertThat(other.isReplayed()).isFalse();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void requestsWithoutKeyAlwaysRun() {
+        service.execute("problems", null, "fp", this::run);
+        IdempotencyService.Result<String> second = service.execute("problems", null, "fp", this::run);
+
+        assertThat(second.isReplayed()).isFalse();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void blankOrOverlongKeysAreRejected() {
+        assertThatThrownBy(() -> service.execute("problems", " ", "fp", this::run))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.execute("problems", "k".repeat(256), "fp", this::run))
+            .isInstanceOf(ValidationException.class);
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void reusingKeyForDifferentRequestIsRejected() {
+        service.execute("problems", "key-1", "fp-a", this::run);
+
+        assertThatThrownBy(() -> service.execute("problems", "key-1", "fp-b", this::run))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("different request");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void retryWaitsForTheInFlightRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyService.Result<String>> first = CompletableFuture.supplyAsync(
+            () -> service.execute("problems", "key-1", "fp", () -> {
+                started.countDown();
+                await(release);
+                return run();
+            }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<IdempotencyService.Result<String>> retry = CompletableFuture.supplyAsync(
+            () -> service.execute("problems", "key-1", "fp", this::run));
+        release.countDown();
+
+        assertThat(retry.get(5, TimeUnit.SECONDS).isReplayed()).isTrue();
+        assertThat(retry.get().getValue()).isEqualTo(first.get(5, TimeUnit.SECONDS).getValue());
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void retryGivesUpWhileTheFirstRequestIsStillRunning() throws Exception {
+        ReflectionTestUtils.setField(service, "waitTimeoutSeconds", 0L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyService.Result<String>> first = CompletableFuture.supplyAsync(
+            () -> service.execute("problems", "key-1", "fp", () -> {
+                started.countDown();
+                await(release);
+                return run();
+            }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> service.execute("problems", "key-1", "fp", this::run))
+                .isInstanceOf(ConflictException.class);
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS).isReplayed()).isFalse();
+    }
+
+    @Test
+    void failedAttemptIsForgottenSoTheClientCanRetry() {
+        assertThatThrownBy(() -> service.execute("problems", "key-1", "fp", () -> {
+            throw new IllegalStateException("storage down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyService.Result<String> retry = service.execute("problems", "key-1", "fp", this::run);
+
+        assertThat(retry.isReplayed()).isFalse();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void overCapacityEvictsTheOldestCompletedKeys() {
+        ReflectionTestUtils.setField(service, "maxEntries", 2);
+        service.execute("problems", "a", "fp", this::run);
+        service.execute("problems", "b", "fp", this::run);
+        service.execute("problems", "c", "fp", this::run);
+
+        assertThat(service.execute("problems", "b", "fp", this::run).isReplayed()).isTrue();
+        assertThat(service.execute("problems", "c", "fp", this::run).isReplayed()).isTrue();
+        assertThat(service.execute("problems", "a", "fp", this::run).isReplayed()).isFalse();
+        assertThat(runs).hasValue(4);
+    }
+
+    @Test
+    void expiredKeysRunAgain() {
+        ReflectionTestUtils.setField(service, "ttlMinutes", 0L);
+        service.execute("problems", "key-1", "fp", this::run);
+
+        sleep(1);
+        service.purgeExpired();
+
+        assertThat(service.execute("problems", "key-1", "fp", this::run).isReplayed()).isFalse();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void fingerprintDependsOnEveryPartAndItsPosition() {
+        assertThat(IdempotencyService.fingerprint("a", 1.0, null))
+            .isEqualTo(IdempotencyService.fingerprint("a", 1.0, null))
+            .isNotEqualTo(IdempotencyService.fingerprint("a", 1.0, "x"))
+            .isNotEqualTo(IdempotencyService.fingerprint("a1", ".0", null));
+    }
+
+    private String run() {
+        return "response-" + runs.incrementAndGet();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
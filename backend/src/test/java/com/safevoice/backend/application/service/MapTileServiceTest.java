@@ -0,0 +1,248 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.MapTileResponse;
+import com.safevoice.backend.application.event.ProblemChangePayload;
+import com.safevoice.backend.application.event.ProblemsArchivedPayload;
+import com.safevoice.backend.domain.entity.OutboxEvent;
+import com.safevoice.backend.domain.entity.Problem.ProblemStatus;
+import com.safevoice.backend.domain.repository.ProblemRepository;
+import com.safevoice.backend.domain.repository.TileCellCount;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.AdditionalMatchers.gt;
+import static org.mockito.AdditionalMatchers.lt;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MapTileServiceTest {
+
+    private static final double MAX_LATITUDE = 85.0511287798;
+    // Lower Manhattan; tile 10/301/385, at x 301.51 and y 385.05, so row 0, col 2 of a 4x4 grid
+    private static final double LATITUDE = 40.7;
+    private static final double LONGITUDE = -74.0;
+
+    private final ProblemRepository problemRepository = mock(ProblemRepository.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MapTileService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MapTileService(problemRepository, outboxService, registry);
+        ReflectionTestUtils.setField(service, "gridSize", 4);
+        ReflectionTestUtils.setField(service, "maxTiles", 2);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(service, "maxTransactionMillis", 10_000L);
+        when(problemRepository.aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble())).thenReturn(List.of());
+    }
+
+    @Test
+    void rejectsTilesOutsideTheGrid() {
+        assertThatThrownBy(() -> service.getTile(21, 0, 0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.getTile(-1, 0, 0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.getTile(2, 4, 0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.getTile(2, 0, -1)).isInstanceOf(ValidationException.class);
+        verifyNoInteractions(problemRepository);
+    }
+
+    @Test
+    void tileBoundsFollowWebMercator() {
+        MapTileResponse world = service.getTile(0, 0, 0);
+        assertThat(world.getNorth()).isCloseTo(MAX_LATITUDE, within(1e-9));
+        assertThat(world.getSouth()).isCloseTo(-MAX_LATITUDE, within(1e-9));
+        assertThat(world.getWest()).isEqualTo(-180.0);
+        assertThat(world.getEast()).isEqualTo(180.0);
+
+        MapTileResponse northEast = service.getTile(1, 1, 0);
+        assertThat(northEast.getNorth()).isCloseTo(MAX_LATITUDE, within(1e-9));
+        assertThat(northEast.getSouth()).isCloseTo(0.0, within(1e-9));
+        assertThat(northEast.getWest()).isEqualTo(0.0);
+        assertThat(northEast.getEast()).isEqualTo(180.0);
+
+        // The query receives the tile's scale, position and grid, and a bounding box padded past the edges
+        verify(problemRepository).aggregateTile(eq(2.0), eq(1.0), eq(0.0), eq(4.0),
+            lt(0.0), gt(MAX_LATITUDE), lt(0.0), gt(180.0));
+    }
+
+    @Test
+    void groupsCountsIntoCellsAndServesRepeatsFromTheCache() {
+        List<TileCellCount> rows = List.of(
+            row(0, 2, "OPEN", 3),
+            row(0, 2, "RESOLVED", 1),
+            row(3, 1, "OPEN", 2),
+            // Rows on the tile edge can round to one past the grid and are clamped into it
+            row(4, -1, "REJECTED", 1));
+        when(problemRepository.aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble())).thenReturn(rows);
+
+        MapTileResponse tile = service.getTile(10, 301, 385);
+
+        assertThat(tile.getGridSize()).isEqualTo(4);
+        assertThat(tile.getCells())
+            .extracting(MapTileResponse.Cell::getRow, MapTileResponse.Cell::getCol,
+                MapTileResponse.Cell::getTotal, MapTileResponse.Cell::getCounts)
+            .containsExactly(
+                tuple(0, 2, 4L, Map.of(ProblemStatus.OPEN, 3L, ProblemStatus.RESOLVED, 1L)),
+                tuple(3, 0, 1L, Map.of(ProblemStatus.REJECTED, 1L)),
+                tuple(3, 1, 2L, Map.of(ProblemStatus.OPEN, 2L)));
+
+        assertThat(service.getTile(10, 301, 385).getCells()).hasSize(3);
+        verify(problemRepository, times(1)).aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+        assertThat(registry.get("map.tiles.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("map.tiles.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void changesCommittedAfterTheQueryArePatchedIntoEveryCachedZoom() {
+        service.getTile(10, 301, 385);
+        service.getTile(0, 0, 0);
+
+        LocalDateTime later = LocalDateTime.now().plusSeconds(1);
+        publish(OutboxEvent.EventType.PROBLEM_CREATED, change(null, ProblemStatus.OPEN, later));
+        publish(OutboxEvent.EventType.PROBLEM_STATUS_CHANGED, change(ProblemStatus.OPEN, ProblemStatus.RESOLVED, later));
+        publish(OutboxEvent.EventType.PROBLEM_CREATED, change(null, ProblemStatus.OPEN, later));
+
+        MapTileResponse tile = service.getTile(10, 301, 385);
+        assertThat(tile.getCells()).singleElement().satisfies(cell -> {
+            assertThat(cell.getRow()).isEqualTo(0);
+            assertThat(cell.getCol()).isEqualTo(2);
+            assertThat(cell.getCounts()).containsExactlyInAnyOrderEntriesOf(
+                Map.of(ProblemStatus.OPEN, 1L, ProblemStatus.RESOLVED, 1L));
+        });
+        // At zoom 0 the point is at x 0.29, y 0.38 of the world tile
+        assertThat(service.getTile(0, 0, 0).getCells()).singleElement().satisfies(cell -> {
+            assertThat(cell.getRow()).isEqualTo(1);
+            assertThat(cell.getCol()).isEqualTo(1);
+            assertThat(cell.getTotal()).isEqualTo(2L);
+        });
+
+        publish(OutboxEvent.EventType.PROBLEMS_ARCHIVED, archived(change(ProblemStatus.RESOLVED, null, later)));
+        assertThat(service.getTile(10, 301, 385).getCells()).singleElement()
+            .satisfies(cell -> assertThat(cell.getCounts()).containsExactly(Map.entry(ProblemStatus.OPEN, 1L)));
+
+        verify(problemRepository, times(2)).aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void changesThatMayOverlapTheQueryEvictTheTile() {
+        service.getTile(10, 301, 385);
+
+        // Before the query finished, but its transaction may still have been open when the query started
+        publish(OutboxEvent.EventType.PROBLEM_CREATED,
+            change(null, ProblemStatus.OPEN, LocalDateTime.now().minusSeconds(1)));
+        service.getTile(10, 301, 385);
+
+        verify(problemRepository, times(2)).aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void changesCommittedLongBeforeTheQueryAreIgnored() {
+        service.getTile(10, 301, 385);
+
+        publish(OutboxEvent.EventType.PROBLEM_CREATED,
+            change(null, ProblemStatus.OPEN, LocalDateTime.now().minusMinutes(1)));
+        MapTileResponse tile = service.getTile(10, 301, 385);
+
+        assertThat(tile.getCells()).isEmpty();
+        verify(problemRepository, times(1)).aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void changesWithoutALocationAreIgnored() {
+        service.getTile(10, 301, 385);
+
+        ProblemChangePayload change = change(null, ProblemStatus.OPEN, LocalDateTime.now().minusSeconds(1));
+        change.setLatitude(null);
+        publish(OutboxEvent.EventType.PROBLEM_CREATED, change);
+        service.getTile(10, 301, 385);
+
+        verify(problemRepository, times(1)).aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedTileWhenFull() {
+        service.getTile(1, 0, 0);
+        service.getTile(1, 1, 0);
+        service.getTile(1, 0, 0);
+        service.getTile(1, 1, 1);
+
+        // 1/1/0 was the least recently used, so it is loaded again while 1/0/0 is still cached
+        service.getTile(1, 0, 0);
+        service.getTile(1, 1, 0);
+
+        verify(problemRepository, times(1)).aggregateTile(eq(2.0), eq(0.0), eq(0.0), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+        verify(problemRepository, times(2)).aggregateTile(eq(2.0), eq(1.0), eq(0.0), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+        assertThat(registry.get("map.tiles.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void expiredTilesAreLoadedAgain() {
+        ReflectionTestUtils.setField(service, "ttlSeconds", 0L);
+
+        service.getTile(3, 2, 2);
+        service.getTile(3, 2, 2);
+
+        verify(problemRepository, times(2)).aggregateTile(anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+            anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    private void publish(OutboxEvent.EventType type, Object payload) {
+        OutboxEvent event = OutboxEvent.builder()
+            .id(UUID.randomUUID())
+            .eventType(type)
+            .payload(UUID.randomUUID().toString())
+            .build();
+        when(outboxService.readPayload(eq(event), eq(payload.getClass()))).thenAnswer(invocation -> payload);
+        service.onOutboxEvent(event);
+    }
+
+    private static ProblemChangePayload change(ProblemStatus previous, ProblemStatus status, LocalDateTime occurredAt) {
+        return ProblemChangePayload.builder()
+            .problemId(UUID.randomUUID())
+            .previousStatus(previous)
+            .status(status)
+            .latitude(LATITUDE)
+            .longitude(LONGITUDE)
+            .occurredAt(occurredAt)
+            .build();
+    }
+
+    private static ProblemsArchivedPayload archived(ProblemChangePayload change) {
+        return ProblemsArchivedPayload.builder().changes(List.of(change)).build();
+    }
+
+    private static TileCellCount row(int cy, int cx, String status, long total) {
+        TileCellCount row = mock(TileCellCount.class);
+        when(row.getCy()).thenReturn(cy);
+        when(row.getCx()).thenReturn(cx);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+}
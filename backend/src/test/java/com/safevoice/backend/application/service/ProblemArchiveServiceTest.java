@@ -0,0 +1,134 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.application.event.ProblemChangePayload;
+import com.safevoice.backend.domain.entity.Problem.ProblemStatus;
+import com.safevoice.backend.domain.repository.ArchivableProblem;
+import com.safevoice.backend.domain.repository.ArchivedProblemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProblemArchiveServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 9, 1, 9, 0);
+
+    private final ArchivedProblemRepository repository = mock(ArchivedProblemRepository.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ProblemArchiveService service =
+        new ProblemArchiveService(repository, outboxService, new TransactionTemplate(transactionManager));
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        ReflectionTestUtils.setField(service, "minAgeDays", 180);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "maxBatchesPerRun", 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copiesProblemsMovesResolutionsThenDeletesAndAnnouncesTheBatch() {
+        ArchivableProblem resolved = candidate("RESOLVED", 40.7, -74.0);
+        ArchivableProblem rejected = candidate("REJECTED", 40.8, -73.9);
+        List<UUID> ids = List.of(resolved.getId(), rejected.getId());
+        when(repository.lockArchivable(any(), eq(2))).thenReturn(List.of(resolved, rejected), List.of());
+        when(repository.copyProblems(eq(ids), any())).thenReturn(2);
+
+        LocalDateTime before = LocalDateTime.now();
+        service.archive();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> archivedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        InOrder inOrder = inOrder(repository, outboxService);
+        inOrder.verify(repository).lockArchivable(cutoff.capture(), eq(2));
+        inOrder.verify(repository).copyProblems(eq(ids), archivedAt.capture());
+        inOrder.verify(repository).moveResolutions(ids, archivedAt.getValue());
+        inOrder.verify(repository).deleteProblems(ids);
+        ArgumentCaptor<List<ProblemChangePayload>> changes = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(outboxService).recordProblemsArchived(changes.capture(), eq(archivedAt.getValue()));
+
+        assertThat(cutoff.getValue()).isBetween(before.minusDays(180), LocalDateTime.now().minusDays(180));
+        assertThat(changes.getValue())
+            .extracting(ProblemChangePayload::getProblemId, ProblemChangePayload::getPreviousStatus,
+                ProblemChangePayload::getLatitude, ProblemChangePayload::getLongitude,
+                ProblemChangePayload::getCreatedAt, ProblemChangePayload::getOccurredAt)
+            .containsExactly(
+                tuple(resolved.getId(), ProblemStatus.RESOLVED, 40.7, -74.0, CREATED_AT, archivedAt.getValue()),
+                tuple(rejected.getId(), ProblemStatus.REJECTED, 40.8, -73.9, CREATED_AT, archivedAt.getValue()));
+    }
+
+    @Test
+    void runsEachBatchInItsOwnTransactionUntilOneComesBackShort() {
+        List<ArchivableProblem> full = List.of(candidate("RESOLVED", 1.0, 1.0), candidate("RESOLVED", 1.0, 1.0));
+        List<ArchivableProblem> rest = List.of(candidate("REJECTED", 1.0, 1.0));
+        when(repository.lockArchivable(any(), eq(2))).thenReturn(full, rest);
+        when(repository.copyProblems(anyCollection(), any())).thenReturn(2, 1);
+
+        service.archive();
+
+        verify(repository, times(2)).lockArchivable(any(), anyInt());
+        verify(repository, times(2)).deleteProblems(anyCollection());
+        verify(outboxService, times(2)).recordProblemsArchived(anyList(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void stopsAfterMaxBatchesPerRun() {
+        ReflectionTestUtils.setField(service, "maxBatchesPerRun", 3);
+        List<ArchivableProblem> full = List.of(candidate("RESOLVED", 1.0, 1.0), candidate("RESOLVED", 1.0, 1.0));
+        when(repository.lockArchivable(any(), eq(2))).thenReturn(full);
+        when(repository.copyProblems(anyCollection(), any())).thenReturn(2);
+
+        service.archive();
+
+        verify(repository, times(3)).lockArchivable(any(), anyInt());
+        verify(repository, times(3)).deleteProblems(anyCollection());
+    }
+
+    @Test
+    void writesNothingWhenNoProblemIsOldEnough() {
+        when(repository.lockArchivable(any(), eq(2))).thenReturn(List.of());
+
+        service.archive();
+
+        verify(repository, never()).copyProblems(anyCollection(), any());
+        verify(repository, never()).moveResolutions(anyCollection(), any());
+        verify(repository, never()).deleteProblems(anyCollection());
+        verify(outboxService, never()).recordProblemsArchived(anyList(), any());
+    }
+
+    private static ArchivableProblem candidate(String status, double latitude, double longitude) {
+        ArchivableProblem candidate = mock(ArchivableProblem.class);
+        UUID id = UUID.randomUUID();
+        when(candidate.getId()).thenReturn(id);
+        when(candidate.getStatus()).thenReturn(status);
+        when(candidate.getLatitude()).thenReturn(latitude);
+        when(candidate.getLongitude()).thenReturn(longitude);
+        when(candidate.getCreatedAt()).thenReturn(CREATED_AT);
+        return candidate;
+    }
+}
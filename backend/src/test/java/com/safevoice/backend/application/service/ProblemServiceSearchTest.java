@@ -0,0 +1,143 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.ProblemSearchResponse;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Problem.ProblemStatus;
+import com.safevoice.backend.domain.repository.ArchivedProblemRepository;
+import com.safevoice.backend.domain.repository.ProblemRepository;
+import com.safevoice.backend.domain.repository.ProblemSearchHit;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import com.safevoice.backend.infrastructure.http.AIServiceClient;
+import com.safevoice.backend.infrastructure.image.ImageProcessingService;
+import com.safevoice.backend.infrastructure.metrics.PipelineMetrics;
+import com.safevoice.backend.infrastructure.storage.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProblemServiceSearchTest {
+
+    private final ProblemRepository problemRepository = mock(ProblemRepository.class);
+    private final ProblemService service = new ProblemService(
+        problemRepository,
+        mock(ArchivedProblemRepository.class),
+        mock(StorageService.class),
+        mock(ImageProcessingService.class),
+        mock(AIServiceClient.class),
+        mock(TransactionTemplate.class),
+        mock(OutboxService.class),
+        mock(ProblemStatsService.class),
+        mock(PipelineMetrics.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxSearchCandidates", 1000);
+    }
+
+    @Test
+    void firstPageStartsAboveEveryRankAndFetchesOneExtraHit() {
+        when(problemRepository.searchByDescription(any(), any(), anyFloat(), any(), anyInt(), anyInt()))
+            .thenReturn(List.of());
+
+        ProblemSearchResponse response = service.searchProblems("pothole", null, null, 20);
+
+        verify(problemRepository).searchByDescription(
+            eq("pothole"), isNull(), eq(Float.POSITIVE_INFINITY), eq(new UUID(0L, 0L)), eq(1000), eq(21));
+        assertThat(response.getContent()).isEmpty();
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastHitOfThePage() {
+        Problem first = problem();
+        Problem second = problem();
+        Problem extra = problem();
+        List<ProblemSearchHit> hits = List.of(
+            hit(first.getId(), 0.9f), hit(second.getId(), 0.123456f), hit(extra.getId(), 0.1f));
+        when(problemRepository.searchByDescription(
+                eq("pothole"), eq("OPEN"), eq(Float.POSITIVE_INFINITY), any(), eq(1000), eq(3)))
+            .thenReturn(hits);
+        when(problemRepository.findAllById(anyList())).thenReturn(List.of(second, first));
+
+        ProblemSearchResponse page = service.searchProblems("pothole", ProblemStatus.OPEN, null, 2);
+
+        // Hits keep their rank order even though findAllById returns them in another order
+        assertThat(page.getContent()).extracting(ProblemResponse::getId).containsExactly(first.getId(), second.getId());
+        assertThat(page.getNextCursor()).isNotNull().doesNotContain("=", "+", "/");
+
+        service.searchProblems("pothole", ProblemStatus.OPEN, page.getNextCursor(), 2);
+
+        // The cursor carries the exact float rank and id of the last hit returned
+        verify(problemRepository).searchByDescription("pothole", "OPEN", 0.123456f, second.getId(), 1000, 3);
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        Problem only = problem();
+        List<ProblemSearchHit> hits = List.of(hit(only.getId(), 0.5f));
+        when(problemRepository.searchByDescription(any(), any(), anyFloat(), any(), anyInt(), anyInt()))
+            .thenReturn(hits);
+        when(problemRepository.findAllById(anyList())).thenReturn(List.of(only));
+
+        ProblemSearchResponse response = service.searchProblems("pothole", null, null, 2);
+
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        for (String cursor : List.of(
+                "!!!",
+                encode("0.5"),
+                encode("high|" + UUID.randomUUID()),
+                encode("0.5|not-a-uuid"))) {
+            assertThatThrownBy(() -> service.searchProblems("pothole", null, cursor, 20))
+                .as(cursor)
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid search cursor");
+        }
+        verifyNoInteractions(problemRepository);
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ProblemSearchHit hit(UUID id, float rank) {
+        ProblemSearchHit hit = mock(ProblemSearchHit.class);
+        when(hit.getId()).thenReturn(id);
+        when(hit.getRank()).thenReturn(rank);
+        return hit;
+    }
+
+    private static Problem problem() {
+        return Problem.builder()
+            .id(UUID.randomUUID())
+            .imageUrl("https://example.com/problem.jpg")
+            .latitude(40.7)
+            .longitude(-74.0)
+            .description("Deep pothole")
+            .build();
+    }
+}
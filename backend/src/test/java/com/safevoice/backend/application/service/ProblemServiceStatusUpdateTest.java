@@ -0,0 +1,150 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.BulkUpdateProblemStatusResponse;
+import com.safevoice.backend.api.dto.BulkUpdateProblemStatusResponse.Outcome;
+import com.safevoice.backend.application.event.ProblemChangePayload;
+import com.safevoice.backend.domain.entity.Problem;
+import com.safevoice.backend.domain.entity.Problem.ProblemStatus;
+import com.safevoice.backend.domain.repository.ArchivedProblemRepository;
+import com.safevoice.backend.domain.repository.ProblemRepository;
+import com.safevoice.backend.infrastructure.http.AIServiceClient;
+import com.safevoice.backend.infrastructure.image.ImageProcessingService;
+import com.safevoice.backend.infrastructure.metrics.PipelineMetrics;
+import com.safevoice.backend.infrastructure.storage.StorageService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProblemServiceStatusUpdateTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 1, 9, 0);
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final ProblemRepository problemRepository = mock(ProblemRepository.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final ProblemStatsService problemStatsService = mock(ProblemStatsService.class);
+    private final ProblemService service = new ProblemService(
+        problemRepository,
+        mock(ArchivedProblemRepository.class),
+        mock(StorageService.class),
+        mock(ImageProcessingService.class),
+        mock(AIServiceClient.class),
+        mock(TransactionTemplate.class),
+        outboxService,
+        problemStatsService,
+        mock(PipelineMetrics.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsAnOutcomePerItemInRequestOrderAndWritesOneUpdatePerTargetStatus() {
+        Problem open = problem(ProblemStatus.OPEN);
+        Problem unchanged = problem(ProblemStatus.OPEN);
+        Problem underReview = problem(ProblemStatus.UNDER_REVIEW);
+        Problem resolved = problem(ProblemStatus.RESOLVED);
+        UUID missing = UUID.randomUUID();
+        when(problemRepository.findAllById(anyCollection()))
+            .thenReturn(List.of(open, unchanged, underReview, resolved));
+
+        Map<UUID, ProblemStatus> updates = new LinkedHashMap<>();
+        updates.put(open.getId(), ProblemStatus.RESOLVED);
+        updates.put(missing, ProblemStatus.RESOLVED);
+        updates.put(unchanged.getId(), ProblemStatus.OPEN);
+        updates.put(underReview.getId(), ProblemStatus.RESOLVED);
+        updates.put(resolved.getId(), ProblemStatus.REJECTED);
+
+        BulkUpdateProblemStatusResponse response = service.updateProblemStatuses(updates);
+
+        assertThat(response.getUpdated()).isEqualTo(3);
+        assertThat(response.getUnchanged()).isEqualTo(1);
+        assertThat(response.getNotFound()).isEqualTo(1);
+        assertThat(response.getResults())
+            .extracting(
+                BulkUpdateProblemStatusResponse.ItemResult::getId,
+                BulkUpdateProblemStatusResponse.ItemResult::getOutcome,
+                BulkUpdateProblemStatusResponse.ItemResult::getPreviousStatus,
+                BulkUpdateProblemStatusResponse.ItemResult::getStatus)
+            .containsExactly(
+                tuple(open.getId(), Outcome.UPDATED, ProblemStatus.OPEN, ProblemStatus.RESOLVED),
+                tuple(missing, Outcome.NOT_FOUND, null, null),
+                tuple(unchanged.getId(), Outcome.UNCHANGED, ProblemStatus.OPEN, ProblemStatus.OPEN),
+                tuple(underReview.getId(), Outcome.UPDATED, ProblemStatus.UNDER_REVIEW, ProblemStatus.RESOLVED),
+                tuple(resolved.getId(), Outcome.UPDATED, ProblemStatus.RESOLVED, ProblemStatus.REJECTED));
+
+        verify(problemRepository).updateStatus(eq(List.of(open.getId(), underReview.getId())),
+            eq(ProblemStatus.RESOLVED), any(LocalDateTime.class));
+        verify(problemRepository).updateStatus(eq(List.of(resolved.getId())),
+            eq(ProblemStatus.REJECTED), any(LocalDateTime.class));
+
+        ArgumentCaptor<List<ProblemChangePayload>> changes = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).recordProblemStatusesChanged(changes.capture(), any(LocalDateTime.class));
+        assertThat(changes.getValue())
+            .extracting(ProblemChangePayload::getProblemId, ProblemChangePayload::getPreviousStatus,
+                ProblemChangePayload::getStatus)
+            .containsExactly(
+                tuple(open.getId(), ProblemStatus.OPEN, ProblemStatus.RESOLVED),
+                tuple(underReview.getId(), ProblemStatus.UNDER_REVIEW, ProblemStatus.RESOLVED),
+                tuple(resolved.getId(), ProblemStatus.RESOLVED, ProblemStatus.REJECTED));
+
+        ArgumentCaptor<List<ProblemStatsService.StatusChange>> statusChanges = ArgumentCaptor.forClass(List.class);
+        verify(problemStatsService).recordStatusChanges(statusChanges.capture());
+        assertThat(statusChanges.getValue())
+            .extracting(ProblemStatsService.StatusChange::previousStatus, ProblemStatsService.StatusChange::newStatus,
+                ProblemStatsService.StatusChange::createdAt, ProblemStatsService.StatusChange::previousUpdatedAt)
+            .containsExactly(
+                tuple(ProblemStatus.OPEN, ProblemStatus.RESOLVED, CREATED_AT, UPDATED_AT),
+                tuple(ProblemStatus.UNDER_REVIEW, ProblemStatus.RESOLVED, CREATED_AT, UPDATED_AT),
+                tuple(ProblemStatus.RESOLVED, ProblemStatus.REJECTED, CREATED_AT, UPDATED_AT));
+        // The loaded entities are not modified, so no row-by-row UPDATE is flushed
+        assertThat(open.getStatus()).isEqualTo(ProblemStatus.OPEN);
+    }
+
+    @Test
+    void nothingIsWrittenWhenNoStatusChanges() {
+        Problem open = problem(ProblemStatus.OPEN);
+        UUID missing = UUID.randomUUID();
+        when(problemRepository.findAllById(anyCollection())).thenReturn(List.of(open));
+
+        Map<UUID, ProblemStatus> updates = new LinkedHashMap<>();
+        updates.put(open.getId(), ProblemStatus.OPEN);
+        updates.put(missing, ProblemStatus.REJECTED);
+
+        BulkUpdateProblemStatusResponse response = service.updateProblemStatuses(updates);
+
+        assertThat(response.getUpdated()).isZero();
+        assertThat(response.getUnchanged()).isEqualTo(1);
+        assertThat(response.getNotFound()).isEqualTo(1);
+        verify(problemRepository, never()).updateStatus(anyCollection(), any(), any());
+        verify(outboxService, never()).recordProblemStatusesChanged(anyList(), any());
+        verifyNoInteractions(problemStatsService);
+    }
+
+    private static Problem problem(ProblemStatus status) {
+        return Problem.builder()
+            .id(UUID.randomUUID())
+            .imageUrl("https://example.com/problem.jpg")
+            .latitude(40.7)
+            .longitude(-74.0)
+            .status(status)
+            .createdAt(CREATED_AT)
+            .updatedAt(UPDATED_AT)
+            .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.application.service.ProblemStatsService.StatusChange;
+import com.safevoice.backend.domain.entity.Problem.ProblemStatus;
+import com.safevoice.backend.domain.entity.StatsCounter;
+import com.safevoice.backend.domain.repository.StatsCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class ProblemStatsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+    private static final LocalDateTime REPORTED = DAY.atTime(9, 0);
+
+    private final StatsCounterRepository repository = mock(StatsCounterRepository.class);
+    private final ProblemStatsService service = new ProblemStatsService(
+        repository, mock(TransactionTemplate.class), mock(AsyncTaskExecutor.class));
+
+    @Test
+    void resolvingMovesTheProblemBetweenBucketsAndAddsTimeToResolve() {
+        service.recordStatusChanges(List.of(
+            new StatusChange(REPORTED, ProblemStatus.OPEN, REPORTED, ProblemStatus.RESOLVED, REPORTED.plusHours(2))));
+
+        verify(repository).increment(StatsCounter.PROBLEMS, DAY, "OPEN", -1);
+        verify(repository).increment(StatsCounter.PROBLEMS, DAY, "RESOLVED", 1);
+        verify(repository).increment(StatsCounter.RESOLVE_SECONDS, DAY, "RESOLVED", 7200);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void reopeningSubtractsTheTimeRecordedWhenItWasResolved() {
+        // previousUpdatedAt is when it was resolved; changedAt must not be used
+        service.recordStatusChanges(List.of(new StatusChange(
+            REPORTED, ProblemStatus.RESOLVED, REPORTED.plusMinutes(30), ProblemStatus.UNDER_REVIEW, REPORTED.plusDays(3))));
+
+        verify(repository).increment(StatsCounter.PROBLEMS, DAY, "RESOLVED", -1);
+        verify(repository).increment(StatsCounter.PROBLEMS, DAY, "UNDER_REVIEW", 1);
+        verify(repository).increment(StatsCounter.RESOLVE_SECONDS, DAY, "RESOLVED", -1800);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void timeToResolveIsCountedFromTheStoredMicrosecondValues() {
+        // Stored as 09:00:00.000000 and 09:00:01.000000, so one second although 0.9999992s apart in memory
+        LocalDateTime reported = REPORTED.plusNanos(400);
+        LocalDateTime resolved = REPORTED.plusSeconds(1).minusNanos(400);
+        service.recordStatusChanges(List.of(
+            new StatusChange(reported, ProblemStatus.OPEN, reported, ProblemStatus.RESOLVED, resolved)));
+
+        verify(repository).increment(StatsCounter.RESOLVE_SECONDS, DAY, "RESOLVED", 1);
+    }
+
+    @Test
+    void timeToResolveIsFlooredToWholeSeconds() {
+        service.recordStatusChanges(List.of(new StatusChange(
+            REPORTED, ProblemStatus.OPEN, REPORTED, ProblemStatus.RESOLVED, REPORTED.plusSeconds(59).plusNanos(999_999_000))));
+
+        verify(repository).increment(StatsCounter.RESOLVE_SECONDS, DAY, "RESOLVED", 59);
+    }
+
+    @Test
+    void changesToTheSameCellAreSummedAndZeroDeltasSkipped() {
+        LocalDate otherDay = DAY.plusDays(1);
+        service.recordStatusChanges(List.of(
+            new StatusChange(REPORTED, ProblemStatus.OPEN, REPORTED, ProblemStatus.REJECTED, REPORTED.plusHours(1)),
+            new StatusChange(REPORTED, ProblemStatus.REJECTED, REPORTED, ProblemStatus.OPEN, REPORTED.plusHours(1)),
+            new StatusChange(REPORTED, ProblemStatus.OPEN, REPORTED, ProblemStatus.UNDER_REVIEW, REPORTED.plusHours(1)),
+            new StatusChange(otherDay.atStartOfDay(), ProblemStatus.OPEN, otherDay.atStartOfDay(),
+                ProblemStatus.UNDER_REVIEW, otherDay.atTime(1, 0))));
+
+        verify(repository).increment(StatsCounter.PROBLEMS, DAY, "OPEN", -1);
+        verify(repository).increment(StatsCounter.PROBLEMS, DAY, "UNDER_REVIEW", 1);
+        verify(repository).increment(StatsCounter.PROBLEMS, otherDay, "OPEN", -1);
+        verify(repository).increment(StatsCounter.PROBLEMS, otherDay, "UNDER_REVIEW", 1);
+        verify(repository, never()).increment(anyString(), eq(DAY), eq("REJECTED"), anyLong());
+        verify(repository, never()).increment(eq(StatsCounter.RESOLVE_SECONDS), eq(DAY), anyString(), anyLong());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void cellsAreUpsertedInMetricDayBucketOrder() {
+        LocalDate earlierDay = DAY.minusDays(1);
+        service.recordStatusChanges(List.of(
+            new StatusChange(REPORTED, ProblemStatus.UNDER_REVIEW, REPORTED, ProblemStatus.RESOLVED, REPORTED.plusHours(1)),
+            new StatusChange(earlierDay.atStartOfDay(), ProblemStatus.RESOLVED, earlierDay.atTime(0, 10),
+                ProblemStatus.OPEN, REPORTED)));
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).increment(StatsCounter.PROBLEMS, earlierDay, "OPEN", 1);
+        order.verify(repository).increment(StatsCounter.PROBLEMS, earlierDay, "RESOLVED", -1);
+        order.verify(repository).increment(StatsCounter.PROBLEMS, DAY, "RESOLVED", 1);
+        order.verify(repository).increment(StatsCounter.PROBLEMS, DAY, "UNDER_REVIEW", -1);
+        order.verify(repository).increment(StatsCounter.RESOLVE_SECONDS, earlierDay, "RESOLVED", -600);
+        order.verify(repository).increment(StatsCounter.RESOLVE_SECONDS, DAY, "RESOLVED", 3600);
+        order.verifyNoMoreInteractions();
+    }
+}
@@ -0,0 +1,66 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.ProblemField;
+import com.safevoice.backend.domain.entity.Problem.ProblemStatus;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SparseFieldsTest {
+
+    @Test
+    void parseKeepsRequestedOrderAndDropsRepeats() {
+        List<ProblemField> fields = SparseFields.parse("status, id ,status,resolutionCount", ProblemField.values());
+
+        assertThat(fields).containsExactly(ProblemField.STATUS, ProblemField.ID, ProblemField.RESOLUTION_COUNT);
+    }
+
+    @Test
+    void parseRejectsUnknownFieldsWithTheAllowedList() {
+        assertThatThrownBy(() -> SparseFields.parse("id,reporterIpAddress", ProblemField.values()))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageStartingWith("Unknown field 'reporterIpAddress'; allowed fields: id, imageUrl, latitude")
+            .hasMessageEndingWith("updatedAt, resolutionCount");
+    }
+
+    @Test
+    void parseRejectsEmptyNames() {
+        assertThatThrownBy(() -> SparseFields.parse("id,,status", ProblemField.values()))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageStartingWith("Unknown field ''");
+    }
+
+    @Test
+    void attributePathsMapFieldsToEntityAttributes() {
+        assertThat(SparseFields.attributePaths(List.of(ProblemField.RESOLUTION_COUNT, ProblemField.ID)))
+            .containsExactly("resolutions", "id");
+    }
+
+    @Test
+    void toRowPairsTupleElementsWithFieldsInOrder() {
+        UUID id = UUID.randomUUID();
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get(0)).thenReturn(ProblemStatus.OPEN);
+        when(tuple.get(1)).thenReturn(id);
+        when(tuple.get(2)).thenReturn(null);
+
+        Map<String, Object> row = SparseFields.toRow(tuple,
+            List.of(ProblemField.STATUS, ProblemField.ID, ProblemField.DESCRIPTION));
+
+        // Null values are kept so every requested field appears in the response
+        assertThat(row).containsExactly(
+            entry("status", ProblemStatus.OPEN),
+            entry("id", id),
+            entry("description", null));
+    }
+}
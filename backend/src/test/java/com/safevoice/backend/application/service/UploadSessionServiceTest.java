@@ -0,0 +1,286 @@
+package com.safevoice.backend.application.service;
+
+import com.safevoice.backend.api.dto.CreateProblemRequest;
+import com.safevoice.backend.api.dto.CreateUploadSessionRequest;
+import com.safevoice.backend.api.dto.FinalizeUploadRequest;
+import com.safevoice.backend.api.dto.ProblemResponse;
+import com.safevoice.backend.api.dto.UploadSessionResponse;
+import com.safevoice.backend.infrastructure.exception.ConflictException;
+import com.safevoice.backend.infrastructure.exception.ExternalServiceException;
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import com.safevoice.backend.infrastructure.image.ImageProcessingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UploadSessionServiceTest {
+
+    private static final String IP = "203.0.113.7";
+
+    @TempDir
+    Path tempDir;
+
+    private final ProblemService problemService = mock(ProblemService.class);
+    private final ImageProcessingService imageProcessingService = mock(ImageProcessingService.class);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private UploadSessionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(imageProcessingService.isValidImageFormat(anyString())).thenReturn(true);
+        service = new UploadSessionService(problemService, imageProcessingService);
+        ReflectionTestUtils.setField(service, "tempDir", tempDir);
+        ReflectionTestUtils.setField(service, "maxBytes", 1024L);
+        ReflectionTestUtils.setField(service, "sessionTtlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "idleTimeoutMinutes", 30L);
+        ReflectionTestUtils.setField(service, "maxSessions", 10);
+        ReflectionTestUtils.setField(service, "maxTotalBytes", 4096L);
+        service.prepareTempDir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void chunksAppendAtTheCurrentOffsetAndFinalizeHandsOverTheAssembledFile() {
+        UUID uploadId = create(6).getUploadId();
+
+        assertThat(service.appendChunk(uploadId, 0, bytes("abc")).getOffset()).isEqualTo(3);
+        assertThat(service.getSession(uploadId).getOffset()).isEqualTo(3);
+        assertThat(service.appendChunk(uploadId, 3, bytes("def")).getOffset()).isEqualTo(6);
+
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        ProblemResponse created = ProblemResponse.builder().description("pothole").build();
+        when(problemService.createProblem(any(CreateProblemRequest.class), eq(IP))).thenAnswer(invocation -> {
+            received.set(invocation.<CreateProblemRequest>getArgument(0).getImageFile().getBytes());
+            return created;
+        });
+
+        assertThat(service.finalizeUpload(uploadId, finalizeRequest())).isSameAs(created);
+        assertThat(received.get()).isEqualTo("abcdef".getBytes());
+        assertThat(partFiles()).isZero();
+        assertThatThrownBy(() -> service.getSession(uploadId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void chunkAtTheWrongOffsetIsRejected() {
+        UUID uploadId = create(6).getUploadId();
+        service.appendChunk(uploadId, 0, bytes("abc"));
+
+        assertThatThrownBy(() -> service.appendChunk(uploadId, 0, bytes("abc")))
+            .isInstanceOf(ConflictException.class);
+        assertThat(service.getSession(uploadId).getOffset()).isEqualTo(3);
+    }
+
+    @Test
+    void chunkRunningPastTheDeclaredLengthIsRejectedAsAWhole() {
+        UUID uploadId = create(6).getUploadId();
+        service.appendChunk(uploadId, 0, bytes("ab"));
+
+        assertThatThrownBy(() -> service.appendChunk(uploadId, 2, bytes("cdefgh")))
+            .isInstanceOf(ValidationException.class);
+        assertThat(service.getSession(uploadId).getOffset()).isEqualTo(2);
+        assertThat(service.appendChunk(uploadId, 2, bytes("cdef")).getOffset()).isEqualTo(6);
+    }
+
+    @Test
+    void interruptedChunkKeepsTheBytesThatArrived() {
+        UUID uploadId = create(6).getUploadId();
+        // Two bytes arrive, then the connection drops
+        InputStream dropped = new InputStream() {
+            private boolean sent;
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (sent) {
+                    throw new IOException("connection reset");
+                }
+                sent = true;
+                buffer[offset] = 'a';
+                buffer[offset + 1] = 'b';
+                return 2;
+            }
+        };
+
+        assertThatThrownBy(() -> service.appendChunk(uploadId, 0, dropped))
+            .isInstanceOf(UncheckedIOException.class);
+        assertThat(service.getSession(uploadId).getOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void finalizeBeforeAllBytesArrivedIsRejectedAndKeepsTheSession() {
+        UUID uploadId = create(6).getUploadId();
+        service.appendChunk(uploadId, 0, bytes("abc"));
+
+        assertThatThrownBy(() -> service.finalizeUpload(uploadId, finalizeRequest()))
+            .isInstanceOf(ValidationException.class);
+        verify(problemService, never()).createProblem(any(), any());
+        assertThat(service.getSession(uploadId).getOffset()).isEqualTo(3);
+    }
+
+    @Test
+    void failedFinalizeKeepsTheAssembledFileForARetry() {
+        UUID uploadId = create(3).getUploadId();
+        service.appendChunk(uploadId, 0, bytes("abc"));
+        when(problemService.createProblem(any(), eq(IP)))
+            .thenThrow(new ExternalServiceException("moderation down"))
+            .thenReturn(ProblemResponse.builder().build());
+
+        assertThatThrownBy(() -> service.finalizeUpload(uploadId, finalizeRequest()))
+            .isInstanceOf(ExternalServiceException.class);
+        assertThat(service.getSession(uploadId).getOffset()).isEqualTo(3);
+
+        service.finalizeUpload(uploadId, finalizeRequest());
+        assertThat(partFiles()).isZero();
+    }
+
+    @Test
+    void secondWriterIsRejectedWhileAChunkIsInProgress() throws Exception {
+        UUID uploadId = create(6).getUploadId();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slow = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                reading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+        Future<UploadSessionResponse> first = executor.submit(() -> service.appendChunk(uploadId, 0, slow));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> service.appendChunk(uploadId, 0, bytes("abc")))
+                .isInstanceOf(ConflictException.class);
+            assertThatThrownBy(() -> service.finalizeUpload(uploadId, finalizeRequest()))
+                .isInstanceOf(ConflictException.class);
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS).getOffset()).isZero();
+    }
+
+    @Test
+    void oversizedOrUnsupportedUploadsAreRejected() {
+        assertThatThrownBy(() -> create(2048)).isInstanceOf(ValidationException.class);
+
+        when(imageProcessingService.isValidImageFormat("application/pdf")).thenReturn(false);
+        assertThatThrownBy(() -> service.createSession(CreateUploadSessionRequest.builder()
+                .length(10L).contentType("application/pdf").build(), IP))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void sessionCountIsCapped() {
+        ReflectionTestUtils.setField(service, "maxSessions", 2);
+        create(10);
+        UUID second = create(10).getUploadId();
+
+        assertThatThrownBy(() -> create(10)).isInstanceOf(ExternalServiceException.class);
+
+        service.cancel(second);
+        assertThat(create(10).getUploadId()).isNotNull();
+    }
+
+    @Test
+    void declaredBytesAreCappedAndReleasedWhenASessionEnds() {
+        ReflectionTestUtils.setField(service, "maxTotalBytes", 1000L);
+        UUID first = create(600).getUploadId();
+
+        assertThatThrownBy(() -> create(600)).isInstanceOf(ExternalServiceException.class);
+
+        service.cancel(first);
+        assertThat(create(600).getUploadId()).isNotNull();
+        assertThat(partFiles()).isEqualTo(1);
+    }
+
+    @Test
+    void idleSessionsExpireAndFreeTheirReservation() throws Exception {
+        ReflectionTestUtils.setField(service, "maxSessions", 1);
+        ReflectionTestUtils.setField(service, "idleTimeoutMinutes", 0L);
+        UUID idle = create(10).getUploadId();
+        Thread.sleep(5);
+
+        assertThatThrownBy(() -> service.getSession(idle)).isInstanceOf(ResourceNotFoundException.class);
+        // The cap is hit, so creating purges the expired session first
+        assertThat(create(10).getUploadId()).isNotEqualTo(idle);
+        assertThat(partFiles()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledSessionIsGone() {
+        UUID uploadId = create(6).getUploadId();
+        service.cancel(uploadId);
+
+        assertThatThrownBy(() -> service.getSession(uploadId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.cancel(uploadId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(partFiles()).isZero();
+    }
+
+    private UploadSessionResponse create(long length) {
+        return service.createSession(CreateUploadSessionRequest.builder()
+            .length(length)
+            .contentType("image/jpeg")
+            .fileName("photo.jpg")
+            .build(), IP);
+    }
+
+    private static FinalizeUploadRequest finalizeRequest() {
+        return FinalizeUploadRequest.builder()
+            .description("Pothole on Main Street")
+            .latitude(40.7)
+            .longitude(-74.0)
+            .build();
+    }
+
+    private static InputStream bytes(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+
+    private long partFiles() {
+        try (var files = Files.list(tempDir)) {
+            return files.filter(path -> path.toString().endsWith(".part")).count();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
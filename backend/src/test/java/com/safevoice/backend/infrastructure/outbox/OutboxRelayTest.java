@@ -0,0 +1,226 @@
+package com.safevoice.backend.infrastructure.outbox;
+
+import com.safevoice.backend.domain.entity.OutboxEvent;
+import com.safevoice.backend.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final Session session = mock(Session.class);
+    private final Connection connection = mock(Connection.class);
+    private final Savepoint savepoint = mock(Savepoint.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Status> transactions = new ArrayList<>();
+    private final List<UUID> delivered = new ArrayList<>();
+    private final Set<UUID> failing = new HashSet<>();
+    private final Set<UUID> poisoning = new HashSet<>();
+    private OutboxRelay relay;
+
+    // A sink failing inside a @Transactional it joined marks the whole transaction rollback-only
+    private static class Status extends SimpleTransactionStatus {
+        boolean globalRollbackOnly;
+
+        @Override
+        public boolean isGlobalRollbackOnly() {
+            return globalRollbackOnly;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            Status status = new Status();
+            transactions.add(status);
+            return status;
+        });
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        doAnswer(invocation -> invocation.<ReturningWork<?>>getArgument(0).execute(connection))
+            .when(session).doReturningWork(any());
+        doAnswer(invocation -> {
+            invocation.<Work>getArgument(0).execute(connection);
+            return null;
+        }).when(session).doWork(any());
+
+        OutboxEventSink sink = event -> {
+            if (poisoning.contains(event.getId())) {
+                transactions.get(transactions.size() - 1).globalRollbackOnly = true;
+                throw new IllegalStateException("sink transaction failed");
+            }
+            if (failing.contains(event.getId())) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            delivered.add(event.getId());
+        };
+        relay = new OutboxRelay(repository, List.of(sink), new TransactionTemplate(transactionManager), registry);
+        ReflectionTestUtils.setField(relay, "entityManager", entityManager);
+        ReflectionTestUtils.setField(relay, "batchSize", 3);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(relay, "retentionHours", 72);
+        ReflectionTestUtils.setField(relay, "deadLetterRetentionHours", 720);
+    }
+
+    @Test
+    void deliversABatchInOneTransactionWithASavepointPerEvent() throws Exception {
+        OutboxEvent first = event(0);
+        OutboxEvent second = event(0);
+        when(repository.lockNextBatch(3)).thenReturn(List.of(first, second));
+
+        relay.relay();
+
+        assertThat(delivered).containsExactly(first.getId(), second.getId());
+        assertThat(transactions).hasSize(1);
+        verify(connection, times(2)).releaseSavepoint(savepoint);
+        verify(connection, never()).rollback(any(Savepoint.class));
+        verify(repository).markPublished(eq(List.of(first.getId(), second.getId())), any(LocalDateTime.class));
+        assertThat(count("published")).isEqualTo(2.0);
+    }
+
+    @Test
+    void keepsDrainingWhileBatchesAreFullAndClean() {
+        List<OutboxEvent> full = List.of(event(0), event(0), event(0));
+        List<OutboxEvent> rest = List.of(event(0));
+        when(repository.lockNextBatch(3)).thenReturn(full, rest);
+
+        relay.relay();
+
+        assertThat(delivered).hasSize(4);
+        verify(repository, times(2)).lockNextBatch(3);
+        verify(repository, times(2)).markPublished(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void aFailingDeliveryRollsBackToItsSavepointAndTheRestOfTheBatchIsPublished() throws Exception {
+        OutboxEvent first = event(0);
+        OutboxEvent broken = event(1);
+        OutboxEvent third = event(0);
+        failing.add(broken.getId());
+        when(repository.lockNextBatch(3)).thenReturn(List.of(first, broken, third));
+
+        relay.relay();
+
+        verify(connection).rollback(savepoint);
+        verify(session).clear();
+        verify(repository).recordFailure(broken.getId(), "sink unavailable");
+        verify(repository, never()).markDeadLettered(any(), any());
+        verify(repository).markPublished(eq(List.of(first.getId(), third.getId())), any(LocalDateTime.class));
+        // The failure is counted in the batch transaction, which commits normally
+        assertThat(transactions).singleElement().satisfies(tx -> assertThat(tx.isRollbackOnly()).isFalse());
+        // A full batch with a failure ends the run instead of retrying straight away
+        verify(repository, times(1)).lockNextBatch(anyInt());
+        assertThat(count("failed")).isEqualTo(1.0);
+        assertThat(count("published")).isEqualTo(2.0);
+    }
+
+    @Test
+    void theLastFailedAttemptDeadLettersTheEvent() {
+        OutboxEvent broken = event(MAX_ATTEMPTS - 1);
+        failing.add(broken.getId());
+        when(repository.lockNextBatch(3)).thenReturn(List.of(broken));
+
+        relay.relay();
+
+        verify(repository).recordFailure(broken.getId(), "sink unavailable");
+        verify(repository).markDeadLettered(eq(broken.getId()), any(LocalDateTime.class));
+        verify(repository, never()).markPublished(anyCollection(), any());
+        assertThat(count("dead_lettered")).isEqualTo(1.0);
+    }
+
+    @Test
+    void eventsThatAlreadyUsedUpTheirAttemptsAreDeadLetteredWithoutDelivery() {
+        OutboxEvent exhausted = event(MAX_ATTEMPTS);
+        when(repository.lockNextBatch(3)).thenReturn(List.of(exhausted));
+
+        relay.relay();
+
+        assertThat(delivered).isEmpty();
+        verify(repository).markDeadLettered(eq(exhausted.getId()), any(LocalDateTime.class));
+        verify(repository, never()).recordFailure(any(), any());
+        assertThat(count("dead_lettered")).isEqualTo(1.0);
+    }
+
+    @Test
+    void aSinkThatPoisonsTheTransactionEndsTheBatchAndIsCountedSeparately() {
+        OutboxEvent first = event(0);
+        OutboxEvent poison = event(1);
+        OutboxEvent third = event(0);
+        poisoning.add(poison.getId());
+        when(repository.lockNextBatch(3)).thenReturn(List.of(first, poison, third));
+
+        relay.relay();
+
+        // The batch rolls back quietly; first is delivered again on the next run, third was never tried
+        assertThat(delivered).containsExactly(first.getId());
+        verify(repository, never()).markPublished(anyCollection(), any());
+        assertThat(transactions).hasSize(2);
+        assertThat(transactions.get(0).isLocalRollbackOnly()).isTrue();
+        assertThat(transactions.get(1).isRollbackOnly()).isFalse();
+        verify(repository).recordFailure(poison.getId(), "sink transaction failed");
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void purgeDeletesPublishedAndExpiredDeadLetteredEvents() {
+        LocalDateTime before = LocalDateTime.now();
+
+        relay.purge();
+
+        ArgumentCaptor<LocalDateTime> published = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> deadLettered = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deletePublishedBefore(published.capture());
+        verify(repository).deleteDeadLetteredBefore(deadLettered.capture());
+        assertThat(published.getValue()).isBetween(before.minusHours(72), LocalDateTime.now().minusHours(72));
+        assertThat(deadLettered.getValue()).isBetween(before.minusHours(720), LocalDateTime.now().minusHours(720));
+    }
+
+    private double count(String result) {
+        return registry.get("outbox.relay.events").tag("result", result).counter().count();
+    }
+
+    private static OutboxEvent event(int attempts) {
+        return OutboxEvent.builder()
+            .id(UUID.randomUUID())
+            .aggregateType("problem")
+            .eventType(OutboxEvent.EventType.PROBLEM_CREATED)
+            .payload("{}")
+            .attempts(attempts)
+            .build();
+    }
+}
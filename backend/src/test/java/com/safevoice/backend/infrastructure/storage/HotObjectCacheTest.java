@@ -0,0 +1,88 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotObjectCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private HotObjectCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new HotObjectCache(registry);
+        ReflectionTestUtils.setField(cache, "maxBytes", 10L);
+        ReflectionTestUtils.setField(cache, "maxObjectBytes", 6L);
+    }
+
+    @Test
+    void admitsOnlySmallObjects() {
+        assertThat(cache.admits(6)).isTrue();
+        assertThat(cache.admits(7)).isFalse();
+    }
+
+    @Test
+    void secondGetIsServedFromMemory() {
+        byte[] first = cache.get("a.jpg", "etag-1", loader(4));
+        byte[] second = cache.get("a.jpg", "etag-1", loader(4));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1.0);
+        assertThat(requests("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void changedEtagIsLoadedAgain() {
+        cache.get("a.jpg", "etag-1", loader(4));
+        cache.get("a.jpg", "etag-2", loader(4));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedToStayWithinMaxBytes() {
+        cache.get("a.jpg", "1", loader(4));
+        cache.get("b.jpg", "1", loader(4));
+        // a becomes the most recently used, so adding c evicts b
+        cache.get("a.jpg", "1", loader(4));
+        cache.get("c.jpg", "1", loader(4));
+        assertThat(loads).hasValue(3);
+
+        cache.get("a.jpg", "1", loader(4));
+        cache.get("c.jpg", "1", loader(4));
+        assertThat(loads).hasValue(3);
+
+        cache.get("b.jpg", "1", loader(4));
+        assertThat(loads).hasValue(4);
+        assertThat(registry.get("images.hot_cache.bytes").gauge().value()).isLessThanOrEqualTo(10.0);
+    }
+
+    @Test
+    void bodiesTooLargeToAdmitAreReturnedButNotKept() {
+        cache.get("big.jpg", "1", loader(8));
+        cache.get("big.jpg", "1", loader(8));
+
+        assertThat(loads).hasValue(2);
+        assertThat(registry.get("images.hot_cache.bytes").gauge().value()).isZero();
+    }
+
+    private Supplier<byte[]> loader(int size) {
+        return () -> {
+            loads.incrementAndGet();
+            return new byte[size];
+        };
+    }
+
+    private double requests(String result) {
+        return registry.get("images.hot_cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,208 @@
+package com.safevoice.backend.infrastructure.storage;
+
+import com.safevoice.backend.infrastructure.exception.ConflictException;
+import com.safevoice.backend.infrastructure.exception.ResourceNotFoundException;
+import com.safevoice.backend.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageServiceTest {
+
+    private static final String BASE_URL = "http://storage.test";
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 1, 2, 3, 4, 5, 6};
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new LocalStorageService();
+        ReflectionTestUtils.setField(storage, "configuredRoot", root);
+        ReflectionTestUtils.setField(storage, "publicBaseUrl", BASE_URL);
+        ReflectionTestUtils.setField(storage, "fsync", false);
+        ReflectionTestUtils.setField(storage, "maxObjectBytes", 1024L);
+        ReflectionTestUtils.setField(storage, "signedUploadTtlMinutes", 15L);
+        storage.init();
+    }
+
+    @Test
+    void uploadsAreStoredUnderTheirContentDigest() throws Exception {
+        String digest = sha256(JPEG);
+
+        String url = storage.uploadImage(new MockMultipartFile("file", "a.jpg", "image/jpeg", JPEG), "problems");
+
+        String key = "problems/" + digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest + ".jpg";
+        assertThat(url).isEqualTo(BASE_URL + LocalStorageService.IMAGE_PATH + key);
+        assertThat(storage.findObject(key)).hasValueSatisfying(object -> {
+            assertThat(object.getEtag()).isEqualTo(digest);
+            assertThat(object.isImmutable()).isTrue();
+            assertThat(object.getContentType()).isEqualTo("image/jpeg");
+            assertThat(object.getSize()).isEqualTo(JPEG.length);
+        });
+    }
+
+    @Test
+    void identicalUploadsShareOneObject() {
+        String first = storage.uploadImage(new MockMultipartFile("file", "a.jpg", "image/jpeg", JPEG), "problems");
+        String second = storage.uploadImage(new MockMultipartFile("file", "b.jpg", "image/png", JPEG), "problems");
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void signedUrlAcceptsOneUploadForItsKey() {
+        String url = storage.createSignedUploadUrl("quarantine/upload-1");
+        assertThat(url).startsWith(BASE_URL + LocalStorageService.SIGNED_UPLOAD_PATH + "quarantine/upload-1?");
+
+        put("quarantine/upload-1", url, JPEG);
+
+        assertThat(storage.findObject("quarantine/upload-1")).hasValueSatisfying(object -> {
+            assertThat(object.isImmutable()).isFalse();
+            assertThat(object.getSize()).isEqualTo(JPEG.length);
+        });
+        // Replaying the URL must not swap the bytes awaiting moderation
+        assertThatThrownBy(() -> put("quarantine/upload-1", url, new byte[] {9, 9, 9}))
+            .isInstanceOf(ConflictException.class);
+        assertThat(storage.findObject("quarantine/upload-1")).get()
+            .extracting(StoredObject::getSize).isEqualTo((long) JPEG.length);
+    }
+
+    @Test
+    void signedUrlIsBoundToItsKeyAndSignature() {
+        String url = storage.createSignedUploadUrl("quarantine/upload-1");
+        MultiValueMap<String, String> query = UriComponentsBuilder.fromUriString(url).build().getQueryParams();
+        long expires = Long.parseLong(query.getFirst("expires"));
+
+        assertThatThrownBy(() -> put("quarantine/upload-2", url, JPEG)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> storage.acceptSignedUpload("quarantine/upload-1", expires + 1,
+                query.getFirst("signature"), new ByteArrayInputStream(JPEG)))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> storage.acceptSignedUpload("quarantine/upload-1", expires, null,
+                new ByteArrayInputStream(JPEG)))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void expiredSignedUrlIsRejected() {
+        ReflectionTestUtils.setField(storage, "signedUploadTtlMinutes", -1L);
+        String url = storage.createSignedUploadUrl("quarantine/upload-1");
+
+        assertThatThrownBy(() -> put("quarantine/upload-1", url, JPEG)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void signedUploadOverTheSizeLimitIsRejected() {
+        String url = storage.createSignedUploadUrl("quarantine/upload-1");
+
+        assertThatThrownBy(() -> put("quarantine/upload-1", url, new byte[2048])).isInstanceOf(ValidationException.class);
+        assertThat(storage.findObject("quarantine/upload-1")).isEmpty();
+    }
+
+    @Test
+    void keysOutsideTheRootOrInsideTheTempDirAreNotFound() {
+        assertThatThrownBy(() -> storage.createSignedUploadUrl("../outside"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> storage.findObject("quarantine/../../outside"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> storage.findObject(".tmp/upload-1.part"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> storage.deleteObject(""))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> storage.downloadObject("/etc/passwd", 1024))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void downloadIsASnapshotRemovedOnClose() throws Exception {
+        put("quarantine/upload-1", storage.createSignedUploadUrl("quarantine/upload-1"), JPEG);
+
+        try (DownloadedObject download = storage.downloadObject("quarantine/upload-1", 1024)) {
+            assertThat(download.getContentType()).isEqualTo("image/jpeg");
+            storage.deleteObject("quarantine/upload-1");
+            assertThat(download.asMultipartFile("imageFile").getBytes()).isEqualTo(JPEG);
+            assertThat(tempFiles()).isEqualTo(1);
+        }
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    void downloadOverTheLimitIsRejected() {
+        put("quarantine/upload-1", storage.createSignedUploadUrl("quarantine/upload-1"), JPEG);
+
+        assertThatThrownBy(() -> storage.downloadObject("quarantine/upload-1", JPEG.length - 1))
+            .isInstanceOf(ValidationException.class);
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    void promoteCopiesToTheContentAddressedKeyAndKeepsTheSource() {
+        put("quarantine/upload-1", storage.createSignedUploadUrl("quarantine/upload-1"), JPEG);
+
+        String promoted = storage.promoteObject("quarantine/upload-1", "problems");
+        String again = storage.promoteObject("quarantine/upload-1", "problems");
+
+        assertThat(promoted).isEqualTo(again)
+            .isEqualTo(storage.uploadImage(new MockMultipartFile("file", "a.jpg", "image/jpeg", JPEG), "problems"));
+        assertThat(storage.findObject("quarantine/upload-1")).isPresent();
+        assertThatThrownBy(() -> storage.promoteObject("quarantine/missing", "problems"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void transferToCopiesTheRequestedRange() throws Exception {
+        String url = storage.uploadImage(new MockMultipartFile("file", "a.jpg", "image/jpeg", JPEG), "problems");
+        String key = url.substring((BASE_URL + LocalStorageService.IMAGE_PATH).length());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long sent = storage.transferTo(key, 2, 3, Channels.newChannel(out));
+
+        assertThat(sent).isEqualTo(3);
+        assertThat(out.toByteArray()).containsExactly(JPEG[2], JPEG[3], JPEG[4]);
+    }
+
+    @Test
+    void listObjectNamesReturnsFilesInNameOrder() {
+        put("quarantine/b", storage.createSignedUploadUrl("quarantine/b"), JPEG);
+        put("quarantine/a", storage.createSignedUploadUrl("quarantine/a"), JPEG);
+
+        assertThat(storage.listObjectNames("quarantine", 10)).containsExactly("a", "b");
+        assertThat(storage.listObjectNames("quarantine", 1)).containsExactly("a");
+        assertThat(storage.listObjectNames("missing", 10)).isEmpty();
+    }
+
+    private void put(String objectKey, String signedUrl, byte[] body) {
+        MultiValueMap<String, String> query = UriComponentsBuilder.fromUriString(signedUrl).build().getQueryParams();
+        storage.acceptSignedUpload(objectKey, Long.parseLong(query.getFirst("expires")), query.getFirst("signature"),
+            new ByteArrayInputStream(body));
+    }
+
+    private long tempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve(".tmp"))) {
+            return files.count();
+        }
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useMemo } from 'react';
 import { Navigate } from 'react-router-dom';
 import { problemService, officialService } from '../services/api';
 import '../styles/Dashboard.css';
@@ -13,6 +13,11 @@ function OfficialDashboard() {
   const [resolutionDescription, setResolutionDescription] = useState('');
   const [officialLatitude, setOfficialLatitude] = useState('');
   const [officialLongitude, setOfficialLongitude] = useState('');
+  // Same key while the submission is unchanged, so a retry after a dropped response is not duplicated
+  const submissionKey = useMemo(
+    () => crypto.randomUUID(),
+    [selectedProblem, resolutionImage, resolutionDescription, officialLatitude, officialLongitude]
+  );
 
   const isLoggedIn = localStorage.getItem('accessToken');
 
@@ -69,7 +74,8 @@ function OfficialDashboard() {
         resolutionImage,
         resolutionDescription,
         officialLatitude,
-        officialLongitude
+        officialLongitude,
+        submissionKey
       );
 
       const status = response.data?.verificationStatus;
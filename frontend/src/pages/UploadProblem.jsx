@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useMemo, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { problemService } from '../services/api';
 import '../styles/UploadProblem.css';
@@ -18,6 +18,8 @@ function UploadProblem() {
     latitude: '',
     longitude: '',
   });
+  // One key per version of the form: retrying an unchanged submission replays the first result
+  const submissionKey = useMemo(() => crypto.randomUUID(), [formData]);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
   const [loading, setLoading] = useState(false);
@@ -79,7 +81,7 @@ function UploadProblem() {
       form.append('latitude', formData.latitude);
       form.append('longitude', formData.longitude);
 
-      await problemService.createProblem(form);
+      await problemService.createProblem(form, submissionKey);
 
       setSuccess('Issue reported successfully! Thank you for your contribution.');
       setFormData({ imageFile: null, description: '', latitude: '', longitude: '' });
@@ -1,9 +1,39 @@
 import apiClient from './apiClient';
 
+const withIdempotencyKey = (headers, idempotencyKey) =>
+  idempotencyKey ? { ...headers, 'Idempotency-Key': idempotencyKey } : headers;
+
 export const problemService = {
-  createProblem: (formData) => {
+  // Reuse the same idempotencyKey when retrying one submission so the backend
+  // returns the first result instead of creating a duplicate issue
+  createProblem: (formData, idempotencyKey) => {
     return apiClient.post('/api/problems', formData, {
-      headers: { 'Content-Type': 'multipart/form-data' },
+      headers: withIdempotencyKey({ 'Content-Type': 'multipart/form-data' }, idempotencyKey),
+    });
+  },
+
+  // Sends the image straight to storage with a signed URL, then asks the backend to moderate and
+  // publish it; retrying the finalize call for the same upload returns the first result
+  createProblemDirect: async (imageFile, description, latitude, longitude) => {
+    const { data: upload } = await apiClient.post('/api/problems/direct-uploads', {
+      length: imageFile.size,
+      contentType: imageFile.type,
+      fileName: imageFile.name,
+    });
+
+    const stored = await fetch(upload.uploadUrl, {
+      method: upload.uploadMethod,
+      headers: { 'Content-Type': upload.contentType },
+      body: imageFile,
+    });
+    if (!stored.ok) {
+      throw new Error(`Image upload failed with status ${stored.status}`);
+    }
+
+    return apiClient.post(`/api/problems/direct-uploads/${upload.uploadId}/finalize`, {
+      description,
+      latitude,
+      longitude,
     });
   },
 
@@ -44,7 +74,7 @@ export const authService = {
 };
 
 export const officialService = {
-  uploadResolution: (problemId, imageFile, description, latitude, longitude) => {
+  uploadResolution: (problemId, imageFile, description, latitude, longitude, idempotencyKey) => {
     const formData = new FormData();
     formData.append('problemId', problemId);
     formData.append('resolvedImageFile', imageFile);
@@ -53,7 +83,7 @@ export const officialService = {
     formData.append('longitude', longitude);
 
     return apiClient.post('/api/official/resolutions', formData, {
-      headers: { 'Content-Type': 'multipart/form-data' },
+      headers: withIdempotencyKey({ 'Content-Type': 'multipart/form-data' }, idempotencyKey),
     });
   },
 };